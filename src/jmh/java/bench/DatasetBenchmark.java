@@ -0,0 +1,27 @@
+package bench;
+
+import graph.model.CSRGraph;
+import org.openjdk.jmh.annotations.Param;
+import util.io.JSONParser;
+
+/**
+ * Pipeline benchmarks on the JSON datasets under data/.
+ * Run from the project root so the relative paths resolve.
+ */
+public class DatasetBenchmark extends PipelineBenchmark {
+
+    @Param({
+            "data/small/small_cyclic_1.json",
+            "data/medium/medium_multiple_scc.json",
+            "data/medium/medium_cyclic_dense.json",
+            "data/large/large_sparse_dag.json",
+            "data/large/large_cyclic_dense.json",
+            "data/large/large_mixed_scc.json"
+    })
+    public String file;
+
+    @Override
+    protected CSRGraph load() {
+        return JSONParser.loadCSRGraph(file);
+    }
+}
@@ -0,0 +1,78 @@
+package bench;
+
+import graph.model.CSRGraph;
+import graph.topo.IncrementalTopoOrder;
+import graph.topo.TopoResult;
+import graph.topo.TopoSort;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import util.metrics.Metrics;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maintaining a topological order over a stream of edge insertions:
+ * {@link IncrementalTopoOrder} against rerunning {@link TopoSort#kahn} on the graph so far.
+ *
+ * <p>The stream is a random DAG (edges respect a hidden random permutation) inserted in
+ * random order, so the structure starts from an unrelated order and must repair it.
+ * Rerunning Kahn after each of 1M insertions is quadratic and does not finish in any
+ * useful time, so the baseline sorts every {@code recomputeEvery} insertions; its
+ * per-insertion cost is the measured time times {@code recomputeEvery} over {@code edges}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class IncrementalTopoBenchmark {
+
+    @Param({"100000"})
+    public int n;
+
+    @Param({"1000000"})
+    public int edges;
+
+    @Param({"10000"})
+    public int recomputeEvery;
+
+    private int[] from, to;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom rnd = new SplittableRandom(42);
+        int[] rank = new int[n];
+        for (int i = 0; i < n; i++) rank[i] = i;
+        for (int i = n - 1; i > 0; i--) {
+            int j = rnd.nextInt(i + 1);
+            int t = rank[i]; rank[i] = rank[j]; rank[j] = t;
+        }
+        from = new int[edges];
+        to = new int[edges];
+        for (int k = 0; k < edges; k++) {
+            int a = rnd.nextInt(n), b = rnd.nextInt(n);
+            while (b == a) b = rnd.nextInt(n);
+            if (rank[a] > rank[b]) { int t = a; a = b; b = t; }
+            from[k] = a;
+            to[k] = b;
+        }
+    }
+
+    @Benchmark
+    public TopoResult incremental() {
+        IncrementalTopoOrder t = new IncrementalTopoOrder(n, Metrics.disabled());
+        for (int k = 0; k < edges; k++) t.addEdge(from[k], to[k]);
+        return t.toTopoResult();
+    }
+
+    @Benchmark
+    public void recompute(Blackhole bh) {
+        CSRGraph.Builder b = new CSRGraph.Builder(n, true);
+        for (int k = 0; k < edges; k++) {
+            b.addEdge(from[k], to[k], 1);
+            if ((k + 1) % recomputeEvery == 0) bh.consume(TopoSort.kahn(b.build(), Metrics.disabled()));
+        }
+    }
+}
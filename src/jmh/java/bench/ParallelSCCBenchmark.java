@@ -0,0 +1,52 @@
+package bench;
+
+import graph.model.CSRGraph;
+import graph.scc.SCCParallel;
+import graph.scc.SCCResult;
+import graph.scc.SCCTarjan;
+import org.openjdk.jmh.annotations.*;
+import util.dataGen.GraphFamilies.Family;
+import util.dataGen.GraphFamilies.Scale;
+import util.dataGen.StreamingGenerator;
+import util.metrics.Metrics;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scaling of {@link SCCParallel} with the number of worker threads,
+ * against single-threaded Tarjan as the baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParallelSCCBenchmark {
+
+    @Param({"planted-scc", "uniform"})
+    public String family;
+
+    @Param({"1000000"})
+    public int n;
+
+    @Param({"1", "2", "4", "8", "16", "32"})
+    public int threads;
+
+    private CSRGraph graph;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = StreamingGenerator.build(Family.parse(family).model(new Scale(n, 4), 42), 42);
+    }
+
+    @Benchmark
+    public SCCResult parallel() {
+        return new SCCParallel(graph, threads, SCCParallel.DEFAULT_SEQUENTIAL_THRESHOLD, Metrics.disabled()).run();
+    }
+
+    @Benchmark
+    public SCCResult tarjanBaseline() {
+        return new SCCTarjan(graph, Metrics.disabled()).run();
+    }
+}
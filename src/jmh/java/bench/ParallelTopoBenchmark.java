@@ -0,0 +1,54 @@
+package bench;
+
+import graph.model.CSRGraph;
+import graph.topo.LevelTopoResult;
+import graph.topo.ParallelTopoSort;
+import graph.topo.TopoResult;
+import graph.topo.TopoSort;
+import org.openjdk.jmh.annotations.*;
+import util.dataGen.GraphFamilies.Family;
+import util.dataGen.GraphFamilies.Scale;
+import util.dataGen.StreamingGenerator;
+import util.metrics.Metrics;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scaling of {@link ParallelTopoSort} with the number of worker threads,
+ * against sequential Kahn as the baseline. {@code layered} gives wide levels,
+ * {@code uniform-dag} mostly narrow ones.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParallelTopoBenchmark {
+
+    @Param({"layered", "uniform-dag"})
+    public String family;
+
+    @Param({"1000000"})
+    public int n;
+
+    @Param({"1", "2", "4", "8", "16", "32"})
+    public int threads;
+
+    private CSRGraph graph;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = StreamingGenerator.build(Family.parse(family).model(new Scale(n, 4), 42), 42);
+    }
+
+    @Benchmark
+    public LevelTopoResult parallel() {
+        return ParallelTopoSort.levels(graph, threads, Metrics.disabled());
+    }
+
+    @Benchmark
+    public TopoResult kahnBaseline() {
+        return TopoSort.kahn(graph, Metrics.disabled());
+    }
+}
@@ -0,0 +1,87 @@
+package bench;
+
+import graph.dagsp.DAGLongestPath;
+import graph.dagsp.DAGParallelPaths;
+import graph.dagsp.DAGShortestPaths;
+import graph.dagsp.PathResult;
+import graph.model.CSRGraph;
+import graph.scc.CondensationGraph;
+import graph.scc.SCCKosaraju;
+import graph.scc.SCCResult;
+import graph.topo.TopoResult;
+import graph.topo.TopoSort;
+import org.openjdk.jmh.annotations.*;
+import util.metrics.Metrics;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of every pipeline stage. Subclasses decide where the input graph comes from.
+ *
+ * <p>{@code instrumented} toggles between a live {@link Metrics} and {@link Metrics#disabled()},
+ * which shows the cost of the counters themselves.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xss8m"})
+public abstract class PipelineBenchmark {
+
+    @Param({"false", "true"})
+    public boolean instrumented;
+
+    protected CSRGraph graph;
+    protected SCCResult scc;
+    protected CSRGraph dag;
+
+    /** @return the graph to benchmark */
+    protected abstract CSRGraph load();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = load();
+        scc = new SCCKosaraju(graph).run();
+        dag = CondensationGraph.buildCSR(graph, scc);
+    }
+
+    private Metrics metrics() {
+        return instrumented ? new Metrics() : Metrics.disabled();
+    }
+
+    @Benchmark
+    public SCCResult sccKosaraju() {
+        return new SCCKosaraju(graph, SCCKosaraju.Mode.ITERATIVE, metrics()).run();
+    }
+
+    @Benchmark
+    public CSRGraph condensation() {
+        return CondensationGraph.buildCSR(graph, scc, CondensationGraph.WeightPolicy.FIRST, false);
+    }
+
+    @Benchmark
+    public CSRGraph condensationParallel() {
+        return CondensationGraph.buildCSR(graph, scc, CondensationGraph.WeightPolicy.FIRST, true);
+    }
+
+    @Benchmark
+    public TopoResult topoSort() {
+        return TopoSort.kahn(dag, metrics());
+    }
+
+    @Benchmark
+    public PathResult dagShortest() {
+        return DAGShortestPaths.computeShortest(dag, 0, metrics());
+    }
+
+    @Benchmark
+    public PathResult dagLongest() {
+        return DAGLongestPath.computeLongest(dag, 0, metrics());
+    }
+
+    @Benchmark
+    public PathResult dagShortestParallel() {
+        return DAGParallelPaths.computeShortest(dag, 0, metrics());
+    }
+}
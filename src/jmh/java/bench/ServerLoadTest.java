@@ -0,0 +1,128 @@
+package bench;
+
+import App.AnalysisServer;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Closed-loop load test of {@link AnalysisServer}. It uploads one graph, then
+ * {@code --concurrency} clients each send queries back to back until
+ * {@code --requests} in total have completed. It reports throughput and latency
+ * percentiles (p50, p99, p999).
+ *
+ * <p>Without {@code --url} an in-process server on a free port is started. Queries rotate
+ * over the paths given in {@code --query} (comma-separated, {@code {h}} is the handle).
+ * The first {@code --warmup} requests are not measured.
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar bench.ServerLoadTest --graph data/large/large_mixed_scc.json \
+ *      --concurrency 64 --requests 200000
+ * java -cp target/benchmarks.jar bench.ServerLoadTest --url http://127.0.0.1:8080 \
+ *      --query "/graphs/{h}/shortest?source=0,/graphs/{h}/reaches?u=0&amp;v=5"
+ * </pre>
+ */
+public class ServerLoadTest {
+
+    public static void main(String[] args) throws Exception {
+        String url = null;
+        Path graph = Path.of("data/large/large_mixed_scc.json");
+        int concurrency = 32, requests = 100_000, warmup = 10_000;
+        String queries = "/graphs/{h}/scc,/graphs/{h}/topo,/graphs/{h}/shortest?source=0,"
+                + "/graphs/{h}/longest?source=0,/graphs/{h}/stats";
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--url" -> url = args[++i];
+                case "--graph" -> graph = Path.of(args[++i]);
+                case "--concurrency" -> concurrency = Integer.parseInt(args[++i]);
+                case "--requests" -> requests = Integer.parseInt(args[++i]);
+                case "--warmup" -> warmup = Integer.parseInt(args[++i]);
+                case "--query" -> queries = args[++i];
+                default -> throw new IllegalArgumentException("Unknown argument: " + args[i]);
+            }
+        }
+
+        AnalysisServer server = null;
+        if (url == null) {
+            AnalysisServer.useNoDelay();
+            server = new AnalysisServer(0, AnalysisServer.DEFAULT_MAX_GRAPHS, AnalysisServer.DEFAULT_MAX_RESULTS);
+            server.start();
+            url = "http://127.0.0.1:" + server.getPort();
+        }
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        try {
+            // the client keeps its own executor: the workers below block on send()
+            HttpClient http = HttpClient.newHttpClient();
+            HttpResponse<String> up = http.send(HttpRequest.newBuilder(URI.create(url + "/graphs"))
+                    .POST(HttpRequest.BodyPublishers.ofFile(graph)).build(), HttpResponse.BodyHandlers.ofString());
+            Matcher m = Pattern.compile("\"handle\":\"(\\w+)\"").matcher(up.body());
+            if (up.statusCode() != 201 || !m.find()) throw new IllegalStateException("Upload failed: " + up.body());
+            String handle = m.group(1), base = url;
+            URI[] uris = Arrays.stream(queries.split(","))
+                    .map(q -> URI.create(base + q.trim().replace("{h}", handle)))
+                    .toArray(URI[]::new);
+
+            run(http, clients, uris, concurrency, warmup, null);
+            long[] latency = new long[requests];
+            long start = System.nanoTime();
+            int errors = run(http, clients, uris, concurrency, requests, latency);
+            long wall = System.nanoTime() - start;
+
+            Arrays.sort(latency);
+            System.out.printf(Locale.ROOT, "%s, %d clients, %d requests, %d errors%n",
+                    graph.getFileName(), concurrency, requests, errors);
+            System.out.printf(Locale.ROOT, "throughput %.0f req/s%n", requests / (wall / 1e9));
+            System.out.printf(Locale.ROOT, "p50 %.3f ms, p99 %.3f ms, p999 %.3f ms, max %.3f ms%n",
+                    percentile(latency, 0.50), percentile(latency, 0.99), percentile(latency, 0.999),
+                    latency[latency.length - 1] / 1e6);
+        } finally {
+            clients.shutdownNow();
+            if (server != null) server.stop();
+        }
+    }
+
+    /**
+     * Each client takes the next request index until {@code total} are issued.
+     * @param latency per-request latency in ns, or null for warmup
+     * @return number of failed or non-200 requests
+     */
+    private static int run(HttpClient http, ExecutorService clients, URI[] uris, int concurrency, int total,
+                           long[] latency) throws Exception {
+        AtomicInteger next = new AtomicInteger(), errors = new AtomicInteger();
+        Future<?>[] workers = new Future<?>[concurrency];
+        for (int c = 0; c < concurrency; c++) {
+            workers[c] = clients.submit(() -> {
+                for (int i; (i = next.getAndIncrement()) < total; ) {
+                    HttpRequest req = HttpRequest.newBuilder(uris[i % uris.length]).GET().build();
+                    long t = System.nanoTime();
+                    try {
+                        HttpResponse<Void> res = http.send(req, HttpResponse.BodyHandlers.discarding());
+                        if (res.statusCode() != 200) errors.incrementAndGet();
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    }
+                    if (latency != null) latency[i] = System.nanoTime() - t;
+                }
+                return null;
+            });
+        }
+        for (Future<?> w : workers) w.get();
+        return errors.get();
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        int idx = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(idx, sorted.length - 1))] / 1e6;
+    }
+}
@@ -0,0 +1,28 @@
+package bench;
+
+import graph.model.CSRGraph;
+import org.openjdk.jmh.annotations.Param;
+import util.dataGen.GraphFamilies.Family;
+import util.dataGen.GraphFamilies.Scale;
+import util.dataGen.StreamingGenerator;
+
+/**
+ * Pipeline benchmarks on seeded synthetic graphs of varying size, density and shape,
+ * built from the same {@link Family} models as the scaling report.
+ */
+public class SyntheticBenchmark extends PipelineBenchmark {
+
+    @Param({"uniform", "uniform-dag", "chain", "layered", "planted-scc", "rmat"})
+    public String family;
+
+    @Param({"10000", "1000000"})
+    public int n;
+
+    @Param({"2", "8"})
+    public int degree;
+
+    @Override
+    protected CSRGraph load() {
+        return StreamingGenerator.build(Family.parse(family).model(new Scale(n, degree), 42), 42);
+    }
+}
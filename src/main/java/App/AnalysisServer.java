@@ -0,0 +1,390 @@
+package App;
+
+import com.google.gson.Gson;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import graph.analysis.AnalysisContext;
+import graph.dagsp.PathResult;
+import graph.model.CSRGraph;
+import graph.scc.SCCEngine;
+import graph.scc.SCCResult;
+import util.io.StreamingGraphLoader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local HTTP analysis service on the JDK's built-in {@link HttpServer}.
+ *
+ * <p>A client uploads a graph once and gets a handle back; later queries on the handle
+ * reuse its {@link AnalysisContext}, so SCCs, condensation and topological order are
+ * computed at most once per graph. Rendered responses are also cached per handle. Both
+ * levels are LRU-bounded: at most {@code maxGraphs} handles, each with at most
+ * {@code maxResults} cached responses. Queries on an evicted handle get 404.
+ *
+ * <pre>
+ * POST   /graphs[?engine=TARJAN&amp;trim=true]   body: graph JSON  -&gt; {"handle": ..., "vertices": ..., "edges": ...}
+ * GET    /graphs/{h}/scc                       components, topologically numbered
+ * GET    /graphs/{h}/topo                      topological order of the condensation
+ * GET    /graphs/{h}/shortest?source=v         distances over components from v's component
+ * GET    /graphs/{h}/longest?source=v
+ * GET    /graphs/{h}/reaches?u=a&amp;v=b
+ * GET    /graphs/{h}/stats                     sizes of the graph and its condensation
+ * DELETE /graphs/{h}
+ * GET    /stats                                cache counters
+ * </pre>
+ *
+ * <p>Requests run on virtual threads when the JDK has them (21+), otherwise on a fixed
+ * pool of {@code 4 * cores} platform threads. {@link #main} disables Nagle's algorithm
+ * before it starts the server; code that embeds the server should call {@link #useNoDelay()}
+ * first, or run with {@code -Dsun.net.httpserver.nodelay=true}.
+ */
+public class AnalysisServer {
+
+    public static final int DEFAULT_PORT = 8080;
+    public static final int DEFAULT_MAX_GRAPHS = 64;
+    public static final int DEFAULT_MAX_RESULTS = 256;
+
+    private static final Gson gson = new Gson();
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Lru<String, Session> sessions;
+    private final int maxResults;
+    private final AtomicLong nextHandle = new AtomicLong();
+    private final AtomicLong resultHits = new AtomicLong(), resultMisses = new AtomicLong();
+
+    /** One uploaded graph: its analysis context and its rendered responses. */
+    private static final class Session {
+        final AnalysisContext ctx;
+        final Lru<String, String> results;
+
+        Session(AnalysisContext ctx, int maxResults) {
+            this.ctx = ctx;
+            this.results = new Lru<>(maxResults);
+        }
+    }
+
+    /** Access-ordered map that drops its eldest entry beyond {@code max}; callers synchronize. */
+    private static final class Lru<K, V> extends LinkedHashMap<K, V> {
+        private final int max;
+        long evictions;
+
+        Lru(int max) {
+            super(16, 0.75f, true);
+            if (max < 1) throw new IllegalArgumentException("Cache size must be positive: " + max);
+            this.max = max;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+            if (size() > max) {
+                evictions++;
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /** Thrown for requests that cannot be served; carries the HTTP status. */
+    private static final class HttpError extends RuntimeException {
+        final int status;
+
+        HttpError(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+
+    /**
+     * @param port TCP port on the loopback interface; 0 picks a free one
+     * @param maxGraphs handles kept before the least recently used is evicted
+     * @param maxResults cached responses kept per handle
+     */
+    public AnalysisServer(int port, int maxGraphs, int maxResults) throws IOException {
+        this.sessions = new Lru<>(maxGraphs);
+        this.maxResults = maxResults;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        this.executor = newExecutor();
+        server.setExecutor(executor);
+        server.createContext("/graphs", this::handle);
+        server.createContext("/stats", this::handle);
+    }
+
+    /**
+     * Virtual-thread-per-task executor, looked up reflectively so the code still
+     * compiles and runs on Java 17.
+     */
+    static ExecutorService newExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(4 * Runtime.getRuntime().availableProcessors());
+        }
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    /** @return the bound port, useful when constructed with port 0 */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange ex) throws IOException {
+        int status = 200;
+        String body;
+        try {
+            String[] parts = ex.getRequestURI().getPath().replaceAll("^/+|/+$", "").split("/");
+            Map<String, String> query = query(ex.getRequestURI().getRawQuery());
+            String method = ex.getRequestMethod();
+            if (parts.length == 1 && parts[0].equals("stats")) {
+                body = gson.toJson(stats());
+            } else if (!parts[0].equals("graphs")) {
+                throw new HttpError(404, "No such endpoint: " + ex.getRequestURI().getPath());
+            } else if (parts.length == 1 && method.equals("POST")) {
+                status = 201;
+                try (InputStream in = ex.getRequestBody()) {
+                    body = gson.toJson(upload(in, query));
+                }
+            } else if (parts.length == 2 && method.equals("DELETE")) {
+                synchronized (sessions) {
+                    if (sessions.remove(parts[1]) == null) throw new HttpError(404, "Unknown handle: " + parts[1]);
+                }
+                body = "{}";
+            } else if (parts.length == 3 && method.equals("GET")) {
+                body = query(parts[1], parts[2], query);
+            } else {
+                throw new HttpError(404, "No such endpoint: " + method + " " + ex.getRequestURI().getPath());
+            }
+        } catch (HttpError e) {
+            status = e.status;
+            body = error(e.getMessage());
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | NoSuchElementException e) {
+            status = 400;
+            body = error(e.getMessage());
+        } catch (IOException e) {
+            status = 400;
+            body = error("Unreadable graph: " + e.getMessage());
+        } catch (RuntimeException e) {
+            status = 500;
+            body = error(e.toString());
+        }
+
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        ex.getResponseHeaders().set("Content-Type", "application/json");
+        ex.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = ex.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static String error(String message) {
+        return gson.toJson(Map.of("error", String.valueOf(message)));
+    }
+
+    private Map<String, Object> upload(InputStream in, Map<String, String> query) throws IOException {
+        SCCEngine engine = SCCEngine.valueOf(query.getOrDefault("engine", "KOSARAJU").toUpperCase(Locale.ROOT));
+        boolean trim = Boolean.parseBoolean(query.getOrDefault("trim", "false"));
+        CSRGraph g = StreamingGraphLoader.loadCSRGraph(in);
+        String handle = Long.toString(nextHandle.incrementAndGet(), 36);
+        synchronized (sessions) {
+            sessions.put(handle, new Session(AnalysisContext.of(g, engine, trim), maxResults));
+        }
+        Map<String, Object> res = new LinkedHashMap<>();
+        res.put("handle", handle);
+        res.put("vertices", g.size());
+        res.put("edges", g.getEdgeCount());
+        return res;
+    }
+
+    /** Serves one query, rendering it at most once per handle while it stays cached. */
+    private String query(String handle, String op, Map<String, String> query) {
+        Session s;
+        synchronized (sessions) {
+            s = sessions.get(handle);
+        }
+        if (s == null) throw new HttpError(404, "Unknown or evicted handle: " + handle);
+
+        String key = op + "?" + new TreeMap<>(query);
+        synchronized (s.results) {
+            String cached = s.results.get(key);
+            if (cached != null) {
+                resultHits.incrementAndGet();
+                return cached;
+            }
+        }
+        resultMisses.incrementAndGet();
+        // computed outside the lock: the context itself makes sure each stage runs once
+        String body = gson.toJson(render(s.ctx, op, query));
+        synchronized (s.results) {
+            s.results.put(key, body);
+        }
+        return body;
+    }
+
+    private static Object render(AnalysisContext ctx, String op, Map<String, String> query) {
+        return switch (op) {
+            case "scc" -> Map.of("count", ctx.scc().size(), "components", ctx.scc().getComponents());
+            case "topo" -> Map.of("order", ctx.topoOrder().getOrder());
+            case "shortest" -> paths(ctx, vertex(ctx, query, "source"), true);
+            case "longest" -> paths(ctx, vertex(ctx, query, "source"), false);
+            case "reaches" -> Map.of("reaches",
+                    ctx.reachability().reaches(vertex(ctx, query, "u"), vertex(ctx, query, "v")));
+            case "stats" -> stats(ctx);
+            default -> throw new HttpError(404, "Unknown query: " + op);
+        };
+    }
+
+    private static int vertex(AnalysisContext ctx, Map<String, String> query, String name) {
+        String value = query.get(name);
+        if (value == null) throw new IllegalArgumentException("Missing parameter: " + name);
+        int v = Integer.parseInt(value);
+        if (v < 0 || v >= ctx.graph().size())
+            throw new IllegalArgumentException(name + " out of range: " + v);
+        return v;
+    }
+
+    private static Map<String, Object> paths(AnalysisContext ctx, int source, boolean shortest) {
+        int comp = ctx.scc().getCompOfVertex()[source];
+        PathResult r = shortest ? ctx.shortestFrom(comp) : ctx.longestFrom(comp);
+        int unreached = shortest ? Integer.MAX_VALUE : Integer.MIN_VALUE;
+        Integer[] dist = new Integer[r.getDist().length];
+        for (int c = 0; c < dist.length; c++) dist[c] = r.getDist()[c] == unreached ? null : r.getDist()[c];
+        Map<String, Object> res = new LinkedHashMap<>();
+        res.put("source", source);
+        res.put("sourceComponent", comp);
+        res.put("dist", dist);
+        res.put("timeNs", r.getTimeNs());
+        return res;
+    }
+
+    private static Map<String, Object> stats(AnalysisContext ctx) {
+        SCCResult scc = ctx.scc();
+        CSRGraph dag = ctx.condensation();
+        int sources = 0, sinks = 0;
+        int[] indeg = new int[dag.size()];
+        for (int u = 0; u < dag.size(); u++)
+            for (int i = 0; i < dag.outDegree(u); i++) indeg[dag.target(u, i)]++;
+        for (int u = 0; u < dag.size(); u++) {
+            if (indeg[u] == 0) sources++;
+            if (dag.outDegree(u) == 0) sinks++;
+        }
+        Map<String, Object> res = new LinkedHashMap<>();
+        res.put("vertices", ctx.graph().size());
+        res.put("edges", ctx.graph().getEdgeCount());
+        res.put("components", scc.size());
+        res.put("largestComponent", scc.largestComponentSize());
+        res.put("dagEdges", dag.getEdgeCount());
+        res.put("dagSources", sources);
+        res.put("dagSinks", sinks);
+        return res;
+    }
+
+    private Map<String, Object> stats() {
+        Map<String, Object> res = new LinkedHashMap<>();
+        synchronized (sessions) {
+            res.put("graphs", sessions.size());
+            res.put("graphEvictions", sessions.evictions);
+        }
+        res.put("resultHits", resultHits.get());
+        res.put("resultMisses", resultMisses.get());
+        return res;
+    }
+
+    private static Map<String, String> query(String raw) {
+        Map<String, String> params = new HashMap<>();
+        if (raw == null || raw.isEmpty()) return params;
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            String k = eq < 0 ? pair : pair.substring(0, eq);
+            String v = eq < 0 ? "" : pair.substring(eq + 1);
+            params.put(URLDecoder.decode(k, StandardCharsets.UTF_8), URLDecoder.decode(v, StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+
+    /**
+     * Turns off Nagle's algorithm for every {@link HttpServer} in this JVM, unless
+     * {@code sun.net.httpserver.nodelay} was already given on the command line. Headers and
+     * body go out as separate writes, so with Nagle on a small response waits for the
+     * client's delayed ACK (~40 ms). The JDK reads the property once, when the first server
+     * is created, so this must run before that; embedders can pass
+     * {@code -Dsun.net.httpserver.nodelay=true} instead.
+     */
+    public static void useNoDelay() {
+        if (System.getProperty("sun.net.httpserver.nodelay") == null)
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    /**
+     * Starts the server until the process is killed.
+     * Arguments: {@code [--port P] [--max-graphs N] [--max-results N]}.
+     */
+    public static void main(String[] args) {
+        int code = run(args, System.out);
+        if (code != 0) System.exit(code);
+    }
+
+    /**
+     * Parses the arguments of {@link #main} and starts a server, which keeps running on its
+     * own threads after this returns.
+     * @return 0 once the server is listening, 1 if it cannot bind, 2 on bad arguments
+     */
+    public static int run(String[] args, PrintStream out) {
+        int port = DEFAULT_PORT, maxGraphs = DEFAULT_MAX_GRAPHS, maxResults = DEFAULT_MAX_RESULTS;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--serve" -> { }
+                    case "--port" -> port = Integer.parseInt(value(args, ++i));
+                    case "--max-graphs" -> maxGraphs = Integer.parseInt(value(args, ++i));
+                    case "--max-results" -> maxResults = Integer.parseInt(value(args, ++i));
+                    default -> throw new IllegalArgumentException("Unknown argument: " + args[i]);
+                }
+            }
+            if (port < 0 || port > 0xFFFF) throw new IllegalArgumentException("--port must be in 0..65535");
+            if (maxGraphs < 1 || maxResults < 1)
+                throw new IllegalArgumentException("Need --max-graphs >= 1 and --max-results >= 1");
+        } catch (IllegalArgumentException e) {
+            out.println("Error: " + e.getMessage());
+            out.println("Usage: --serve [--port P] [--max-graphs N] [--max-results N]");
+            return 2;
+        }
+        try {
+            useNoDelay();
+            AnalysisServer server = new AnalysisServer(port, maxGraphs, maxResults);
+            server.start();
+            out.println("Analysis server listening on http://127.0.0.1:" + server.getPort());
+            return 0;
+        } catch (IOException e) {
+            out.println("Cannot start server: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    private static String value(String[] args, int i) {
+        if (i >= args.length) throw new IllegalArgumentException("Missing value for " + args[i - 1]);
+        return args[i];
+    }
+}
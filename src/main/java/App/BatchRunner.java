@@ -0,0 +1,334 @@
+package App;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import graph.analysis.AnalysisContext;
+import graph.dagsp.PathResult;
+import graph.model.CSRGraph;
+import graph.scc.SCCEngine;
+import graph.scc.SCCResult;
+import util.io.BinaryGraphFormat;
+import util.io.StreamingGraphLoader;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Non-interactive batch mode: analyzes every graph file under a directory or matching
+ * a glob and writes one summary row per file.
+ *
+ * <p>Each file goes through SCC, condensation, topological sort and shortest and longest
+ * paths from the source's component. Files are processed concurrently on a fixed pool of
+ * {@code --threads} workers, so at most that many graphs are in memory at once. Rows keep
+ * the input order. Nothing is printed per vertex; the summary holds counts and per-stage
+ * timings in milliseconds, as CSV or JSON depending on the {@code --out} extension.
+ *
+ * <pre>
+ * java App.Main --batch data --out results.csv --threads 4
+ * java App.Main --batch "data/large/*.bin" --out results.json --engine TARJAN --trim
+ * </pre>
+ */
+public class BatchRunner {
+
+    private static final String USAGE = "Usage: --batch <dir|glob> [--out <file.csv|file.json>] [--threads N]"
+            + " [--engine " + List.of(SCCEngine.values()) + "] [--trim] [--source V]";
+
+    /** Settings parsed from the command line. */
+    public static final class Options {
+        String input;
+        Path out;
+        int threads = Runtime.getRuntime().availableProcessors();
+        SCCEngine engine = SCCEngine.KOSARAJU;
+        boolean trim;
+        int source;
+
+        /**
+         * @param args command-line arguments
+         * @throws IllegalArgumentException on unknown or malformed arguments
+         */
+        public static Options parse(String[] args) {
+            Options o = new Options();
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--batch" -> o.input = value(args, ++i);
+                    case "--out" -> o.out = Paths.get(value(args, ++i));
+                    case "--threads" -> o.threads = Integer.parseInt(value(args, ++i));
+                    case "--engine" -> o.engine = SCCEngine.valueOf(value(args, ++i).toUpperCase(Locale.ROOT));
+                    case "--trim" -> o.trim = true;
+                    case "--source" -> o.source = Integer.parseInt(value(args, ++i));
+                    default -> throw new IllegalArgumentException("Unknown argument: " + args[i]);
+                }
+            }
+            if (o.input == null) throw new IllegalArgumentException("--batch is required");
+            if (o.threads < 1) throw new IllegalArgumentException("--threads must be positive");
+            return o;
+        }
+
+        private static String value(String[] args, int i) {
+            if (i >= args.length) throw new IllegalArgumentException("Missing value for " + args[i - 1]);
+            return args[i];
+        }
+    }
+
+    /** Summary of one file. Times are in milliseconds; failed files only have {@code error}. */
+    public static final class FileReport {
+        String file;
+        String error;
+        int vertices, edges, components, largestComponent, dagVertices, dagEdges, reachable;
+        long criticalLength;
+        double loadMs, sccMs, condensationMs, topoMs, shortestMs, longestMs, totalMs;
+
+        public String getFile() {
+            return file;
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        public int getComponents() {
+            return components;
+        }
+
+        public int getDagVertices() {
+            return dagVertices;
+        }
+
+        public long getCriticalLength() {
+            return criticalLength;
+        }
+    }
+
+    /** Whole run: settings, wall time and one report per file. */
+    public static final class BatchReport {
+        String engine;
+        boolean trim;
+        int threads;
+        double wallMs;
+        List<FileReport> files;
+
+        public List<FileReport> getFiles() {
+            return files;
+        }
+
+        public long getFailures() {
+            return files.stream().filter(f -> f.error != null).count();
+        }
+    }
+
+    /**
+     * Entry point used by {@link Main} when arguments are given.
+     * @return process exit code: 0 on success, 1 if any file failed, 2 on bad arguments
+     */
+    public static int run(String[] args, PrintStream console) {
+        Options options;
+        try {
+            options = Options.parse(args);
+        } catch (IllegalArgumentException e) {
+            console.println(e.getMessage());
+            console.println(USAGE);
+            return 2;
+        }
+        try {
+            List<Path> files = resolve(options.input);
+            if (files.isEmpty()) {
+                console.println("No .json or .bin graph files match " + options.input);
+                return 2;
+            }
+            BatchReport report = run(files, options);
+            if (options.out == null) {
+                writeCsv(report, console);
+            } else {
+                write(report, options.out);
+                console.printf(Locale.ROOT, "%d files, %d failed, %.1f ms -> %s%n",
+                        report.files.size(), report.getFailures(), report.wallMs, options.out);
+            }
+            return report.getFailures() == 0 ? 0 : 1;
+        } catch (IOException e) {
+            console.println("Error: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    /**
+     * Expands a directory (searched recursively) or a glob such as {@code data/*}{@code /*.json}
+     * into graph files, sorted by path.
+     */
+    public static List<Path> resolve(String input) throws IOException {
+        Path path = Paths.get(input);
+        if (Files.isRegularFile(path)) return List.of(path);
+        Path dir = path;
+        PathMatcher matcher = p -> true;
+        if (!Files.isDirectory(path)) {
+            // walk from the deepest directory without glob characters; walked paths keep that
+            // prefix, so they can be matched against the glob as written
+            int slash = input.lastIndexOf('/', firstGlobChar(input));
+            dir = Paths.get(slash < 0 ? "" : slash == 0 ? "/" : input.substring(0, slash));
+            matcher = FileSystems.getDefault().getPathMatcher("glob:" + input);
+            if (!Files.isDirectory(dir.toAbsolutePath())) return List.of();
+        }
+        try (Stream<Path> walk = Files.walk(dir)) {
+            return walk.filter(Files::isRegularFile)
+                    .filter(p -> p.toString().endsWith(".json") || p.toString().endsWith(BinaryGraphFormat.EXTENSION))
+                    .filter(matcher::matches)
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static int firstGlobChar(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            if ("*?[{".indexOf(s.charAt(i)) >= 0) return i;
+        }
+        return s.length();
+    }
+
+    /** Analyzes all files on a fixed pool of {@code options.threads} workers. */
+    public static BatchReport run(List<Path> files, Options options) {
+        long start = System.nanoTime();
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(options.threads, files.size()));
+        List<FileReport> reports = new ArrayList<>();
+        try {
+            List<Future<FileReport>> futures = new ArrayList<>();
+            for (Path file : files) futures.add(pool.submit(() -> analyze(file, options)));
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    reports.add(futures.get(i).get());
+                } catch (ExecutionException e) {
+                    FileReport failed = new FileReport();
+                    failed.file = files.get(i).toString();
+                    failed.error = String.valueOf(e.getCause());
+                    reports.add(failed);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Batch interrupted", e);
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        BatchReport report = new BatchReport();
+        report.engine = options.engine.name();
+        report.trim = options.trim;
+        report.threads = options.threads;
+        report.wallMs = ms(System.nanoTime() - start);
+        report.files = reports;
+        return report;
+    }
+
+    /** Runs the whole pipeline on one file; errors are recorded in the report, not thrown. */
+    static FileReport analyze(Path file, Options options) {
+        FileReport r = new FileReport();
+        r.file = file.toString();
+        long begin = System.nanoTime();
+        try {
+            CSRGraph g = file.toString().endsWith(BinaryGraphFormat.EXTENSION)
+                    ? BinaryGraphFormat.map(file).toCSRGraph()
+                    : StreamingGraphLoader.loadCSRGraph(file);
+            Lap lap = new Lap(begin);
+            r.loadMs = lap.next();
+            r.vertices = g.size();
+            r.edges = g.getEdgeCount();
+            if (g.size() == 0) {
+                r.totalMs = ms(System.nanoTime() - begin);
+                return r;
+            }
+            if (options.source < 0 || options.source >= g.size())
+                throw new IllegalArgumentException("Source " + options.source + " out of range");
+
+            AnalysisContext ctx = AnalysisContext.of(g, options.engine, options.trim);
+            SCCResult scc = ctx.scc();
+            r.sccMs = lap.next();
+            r.components = scc.size();
+            r.largestComponent = scc.largestComponentSize();
+
+            CSRGraph dag = ctx.condensation();
+            r.condensationMs = lap.next();
+            r.dagVertices = dag.size();
+            r.dagEdges = dag.getEdgeCount();
+
+            ctx.topoOrder();
+            r.topoMs = lap.next();
+
+            int src = scc.getCompOfVertex()[options.source];
+            PathResult shortest = ctx.shortestFrom(src);
+            r.shortestMs = lap.next();
+            for (int d : shortest.getDist()) if (d != Integer.MAX_VALUE) r.reachable++;
+
+            PathResult longest = ctx.longestFrom(src);
+            r.longestMs = lap.next();
+            for (int d : longest.getDist()) if (d != Integer.MIN_VALUE) r.criticalLength = Math.max(r.criticalLength, d);
+        } catch (Exception | OutOfMemoryError e) {
+            r.error = e.getClass().getSimpleName() + ": " + e.getMessage();
+        }
+        r.totalMs = ms(System.nanoTime() - begin);
+        return r;
+    }
+
+    /** Milliseconds between successive calls, for per-stage timings. */
+    private static final class Lap {
+        private long last;
+
+        Lap(long start) {
+            last = start;
+        }
+
+        double next() {
+            long now = System.nanoTime();
+            double elapsed = ms(now - last);
+            last = now;
+            return elapsed;
+        }
+    }
+
+    private static double ms(long ns) {
+        return ns / 1_000_000.0;
+    }
+
+    /** Writes the report as JSON if {@code out} ends with .json, CSV otherwise. */
+    public static void write(BatchReport report, Path out) throws IOException {
+        if (out.getParent() != null) Files.createDirectories(out.getParent());
+        if (out.toString().endsWith(".json")) {
+            Gson gson = new GsonBuilder().setPrettyPrinting().serializeSpecialFloatingPointValues().create();
+            try (Writer w = Files.newBufferedWriter(out)) {
+                gson.toJson(report, w);
+            }
+        } else {
+            try (PrintStream ps = new PrintStream(Files.newOutputStream(out), false, "UTF-8")) {
+                writeCsv(report, ps);
+            }
+        }
+    }
+
+    private static void writeCsv(BatchReport report, PrintStream out) {
+        out.println("file,vertices,edges,components,largest_component,dag_vertices,dag_edges,reachable,"
+                + "critical_length,load_ms,scc_ms,condensation_ms,topo_ms,shortest_ms,longest_ms,total_ms,error");
+        for (FileReport r : report.files) {
+            out.printf(Locale.ROOT, "%s,%d,%d,%d,%d,%d,%d,%d,%d,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,%s%n",
+                    csv(r.file), r.vertices, r.edges, r.components, r.largestComponent, r.dagVertices, r.dagEdges,
+                    r.reachable, r.criticalLength, r.loadMs, r.sccMs, r.condensationMs, r.topoMs,
+                    r.shortestMs, r.longestMs, r.totalMs, r.error == null ? "" : csv(r.error));
+        }
+    }
+
+    private static String csv(String s) {
+        if (s.indexOf(',') < 0 && s.indexOf('"') < 0 && s.indexOf('\n') < 0) return s;
+        return '"' + s.replace("\"", "\"\"") + '"';
+    }
+}
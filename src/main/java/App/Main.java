@@ -1,11 +1,13 @@
 package App;
 
-import graph.model.Graph;
+import graph.analysis.AnalysisContext;
+import graph.model.CSRGraph;
 import graph.scc.*;
 import graph.topo.*;
 import graph.dagsp.*;
 import util.io.JSONParser;
 import util.dataGen.DatasetGenerator;
+import util.metrics.Metrics;
 
 import java.io.File;
 import java.io.IOException;
@@ -17,13 +19,30 @@ import java.util.Scanner;
  * Features:
  *  - Generate new datasets (small/medium/large)
  *  - Select dataset and analyze:
- *      * SCC (Kosaraju)
+ *      * SCC with any {@link SCCEngine} (Kosaraju, Tarjan or parallel),
+ *        optionally trimming trivial SCCs first
  *      * Condensation DAG
  *      * Topological sort
  *      * Shortest / Longest paths
+ *      * Critical path schedule
+ *
+ * With arguments it runs headless instead: {@code --serve} starts the {@link AnalysisServer},
+ * {@code --scaling} writes a {@link ScalingReport}, anything else goes to {@link BatchRunner}.
  */
 public class Main {
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("--serve")) {
+            int code = AnalysisServer.run(args, System.out);
+            if (code != 0) System.exit(code);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--scaling")) {
+            System.exit(ScalingReport.run(args, System.out));
+        }
+        if (args.length > 0) {
+            System.exit(BatchRunner.run(args, System.out));
+        }
+
         Scanner sc = new Scanner(System.in);
 
         System.out.println("=== Graph Analyzer ===");
@@ -83,50 +102,79 @@ public class Main {
             return;
         }
 
+        System.out.println("\nSelect SCC engine:");
+        SCCEngine[] engines = SCCEngine.values();
+        for (int i = 0; i < engines.length; i++) {
+            System.out.println((i + 1) + " - " + engines[i]);
+        }
+        System.out.print("Enter choice: ");
+        int engineChoice = sc.nextInt();
+        SCCEngine engine = engineChoice >= 1 && engineChoice <= engines.length
+                ? engines[engineChoice - 1]
+                : SCCEngine.KOSARAJU;
+        System.out.print("Trim trivial SCCs first? (y/n): ");
+        boolean trim = sc.next().trim().equalsIgnoreCase("y");
+
         String filePath = files[fileChoice - 1].getPath();
         System.out.println("\nLoading graph from: " + filePath);
 
         // === Stage 1: Load graph ===
-        Graph g = JSONParser.loadGraph(filePath);
+        CSRGraph g = JSONParser.loadCSRGraph(filePath);
         System.out.println("Graph loaded. Vertices: " + g.size());
 
+        // SCCs, condensation and topological order are computed once and shared below
+        AnalysisContext ctx = AnalysisContext.of(g, engine, trim);
+
         // === Stage 2: Compute SCC ===
-        System.out.println("\n--- Strongly Connected Components ---");
-        SCCKosaraju scc = new SCCKosaraju(g);
-        SCCResult result = scc.run();
+        System.out.println("\n--- Strongly Connected Components (" + engine + ") ---");
+        SCCResult result = ctx.scc();
+        SCCAlgorithm scc = ctx.sccAlgorithm();
         System.out.println(result);
         scc.getMetrics().printMetrics();
+        if (scc instanceof SCCTrim trimmed && trimmed.getCoreMetrics() != null) {
+            trimmed.getCoreMetrics().printMetrics();
+        }
 
         // === Stage 3: Build condensation DAG ===
         System.out.println("\n--- Condensation DAG ---");
-        Graph dag = CondensationGraph.build(g, result);
+        CSRGraph dag = ctx.condensation();
         System.out.println("Condensation DAG built. Vertices: " + dag.size());
         for (int u = 0; u < dag.size(); u++) {
             System.out.print(u + " -> ");
-            dag.getEdges(u).forEach(e -> System.out.print(e.v + "(" + e.w + ") "));
+            for (int i = 0; i < dag.outDegree(u); i++)
+                System.out.print(dag.target(u, i) + "(" + dag.weight(u, i) + ") ");
             System.out.println();
         }
 
         // === Stage 4: Topological sort ===
         System.out.println("\n--- Topological Sort ---");
-        TopoResult topo = TopoSort.kahn(dag);
+        TopoResult topo = ctx.topoOrder();
         System.out.println(topo);
         topo.getMetrics().printMetrics();
 
         // === Stage 5: Shortest paths ===
         System.out.println("\n--- Shortest Paths (DAG) ---");
-        PathResult shortest = DAGShortestPaths.computeShortest(dag, 0);
+        PathResult shortest = ctx.shortestFrom(0);
         for (int i = 0; i < shortest.getDist().length; i++)
             System.out.println("0 -> " + i + " = " + shortest.getDist()[i]);
         shortest.getMetrics().printMetrics();
 
         // === Stage 6: Longest paths ===
         System.out.println("\n--- Longest Paths (DAG) ---");
-        PathResult longest = DAGLongestPath.computeLongest(dag, 0);
+        PathResult longest = ctx.longestFrom(0);
         for (int i = 0; i < longest.getDist().length; i++)
             System.out.println("0 -> " + i + " = " + longest.getDist()[i]);
         longest.getMetrics().printMetrics();
 
+        // === Stage 7: Critical path ===
+        System.out.println("\n--- Critical Path (CPM, edge weights as lags) ---");
+        CriticalPathResult cpm = CriticalPath.compute(dag, null, topo, new Metrics());
+        System.out.println(cpm);
+        for (int c = 0; c < dag.size(); c++)
+            System.out.println("Component " + c + ": ES = " + cpm.getEarliestStart()[c]
+                    + ", LS = " + cpm.getLatestStart()[c] + ", slack = " + cpm.getSlack(c));
+        cpm.getMetrics().printMetrics();
+
         System.out.println("\n Analysis complete");
     }
 }
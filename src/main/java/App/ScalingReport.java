@@ -0,0 +1,383 @@
+package App;
+
+import graph.dagsp.DAGLongestPath;
+import graph.dagsp.DAGShortestPaths;
+import graph.model.CSRGraph;
+import graph.scc.CondensationGraph;
+import graph.scc.SCCEngine;
+import graph.scc.SCCResult;
+import graph.topo.TopoResult;
+import graph.topo.TopoSort;
+import org.jfree.chart.ChartFactory;
+import org.jfree.chart.ChartUtils;
+import org.jfree.chart.JFreeChart;
+import org.jfree.chart.axis.LogAxis;
+import org.jfree.chart.axis.NumberTickUnit;
+import org.jfree.chart.plot.PlotOrientation;
+import org.jfree.chart.plot.XYPlot;
+import org.jfree.chart.renderer.xy.XYLineAndShapeRenderer;
+import org.jfree.data.xy.XYSeries;
+import org.jfree.data.xy.XYSeriesCollection;
+import util.dataGen.GraphFamilies.Family;
+import util.dataGen.GraphFamilies.Scale;
+import util.dataGen.StreamingGenerator;
+import util.metrics.Metrics;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.DecimalFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Runs every pipeline stage over a ladder of synthetic graph sizes and writes the
+ * {@link Metrics} counters and timings as CSV and PNG charts, so that a stage that stops
+ * scaling linearly shows up at a glance.
+ *
+ * <pre>
+ * java -cp "target/classes:&lt;deps&gt;" App.Main --scaling --families rmat,layered \
+ *      --from 16384 --to 1048576 --degree 8 --out reports/scaling
+ * </pre>
+ *
+ * <p>For every family and size the graph is built in memory ({@link StreamingGenerator#build}).
+ * Before its first size, each stage runs untimed for {@code --warmup-ms} so the JIT has
+ * compiled it; before every size it runs {@code --warmup} more times untimed, then
+ * {@code --reps} times timed, and the median is reported. The output directory gets:
+ * <ul>
+ *   <li>{@code scaling.csv} — one row per family, size and stage, with all counters;</li>
+ *   <li>{@code summary.csv} — per family and stage, the fitted exponent {@code k} of
+ *       {@code time ~ (n + m)^k}; about 1 for a linear stage;</li>
+ *   <li>per family: {@code <family>-time-vs-n.png}, {@code -time-vs-m.png},
+ *       {@code -edges-vs-m.png} and {@code -ns-per-edge.png}.</li>
+ * </ul>
+ * Path and topological stages run on the condensation DAG, so their own input size
+ * ({@code stage_n}, {@code stage_m}) is what the exponent and ns per edge are based on.
+ *
+ * <p>On families with random targets (uniform, R-MAT) the DFS stages slow down per edge once
+ * the graph outgrows the CPU caches, so their exponent sits above 1 even without a code
+ * problem; a layered graph, whose edges stay local, shows the algorithmic cost alone.
+ * Compare exponents between runs on the same machine rather than against 1.
+ */
+public class ScalingReport {
+
+    /** Exponents above this are flagged as non-linear in the summary. */
+    static final double NONLINEAR_EXPONENT = 1.2;
+
+    /** Stage inputs with fewer vertices plus edges are left out of the fit: call overhead dominates. */
+    static final int MIN_FIT_SIZE = 4096;
+
+    /** Command-line options; see the class comment. */
+    public static final class Options {
+        List<Family> families = List.of(Family.UNIFORM, Family.RMAT, Family.LAYERED, Family.PLANTED_SCC);
+        int from = 1 << 14;
+        int to = 1 << 20;
+        int factor = 2;
+        double degree = 8;
+        int warmup = 5;
+        long warmupMs = 300;
+        int reps = 5;
+        long seed = 42;
+        Path out = Paths.get("reports", "scaling");
+
+        /**
+         * @param args command-line arguments; a leading {@code --scaling} is ignored
+         * @throws IllegalArgumentException on unknown or malformed arguments
+         */
+        public static Options parse(String[] args) {
+            Options o = new Options();
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--scaling" -> { }
+                    case "--families" -> o.families = Arrays.stream(value(args, ++i).split(","))
+                            .map(s -> Family.parse(s.trim())).collect(Collectors.toList());
+                    case "--from" -> o.from = Integer.parseInt(value(args, ++i));
+                    case "--to" -> o.to = Integer.parseInt(value(args, ++i));
+                    case "--factor" -> o.factor = Integer.parseInt(value(args, ++i));
+                    case "--degree" -> o.degree = Double.parseDouble(value(args, ++i));
+                    case "--warmup" -> o.warmup = Integer.parseInt(value(args, ++i));
+                    case "--warmup-ms" -> o.warmupMs = Long.parseLong(value(args, ++i));
+                    case "--reps" -> o.reps = Integer.parseInt(value(args, ++i));
+                    case "--seed" -> o.seed = Long.parseLong(value(args, ++i));
+                    case "--out" -> o.out = Paths.get(value(args, ++i));
+                    default -> throw new IllegalArgumentException("Unknown argument: " + args[i]);
+                }
+            }
+            if (o.families.isEmpty()) throw new IllegalArgumentException("--families is empty");
+            if (o.from < 1 || o.to < o.from) throw new IllegalArgumentException("Need 1 <= --from <= --to");
+            if (o.factor < 2) throw new IllegalArgumentException("--factor must be at least 2");
+            if (o.warmup < 0 || o.warmupMs < 0 || o.reps < 1)
+                throw new IllegalArgumentException("Need --warmup >= 0, --warmup-ms >= 0 and --reps >= 1");
+            return o;
+        }
+
+        private static String value(String[] args, int i) {
+            if (i >= args.length) throw new IllegalArgumentException("Missing value for " + args[i - 1]);
+            return args[i];
+        }
+    }
+
+    /** The measured algorithms, in pipeline order. */
+    enum Stage {
+        SCC_KOSARAJU, SCC_TARJAN, CONDENSATION, TOPO, SHORTEST, LONGEST;
+
+        String label() {
+            return name().toLowerCase(Locale.ROOT).replace('_', '-');
+        }
+
+        /** Runs the stage once on {@code in}, reporting into {@code m}. */
+        void run(Input in, Metrics m) {
+            switch (this) {
+                case SCC_KOSARAJU -> SCCEngine.KOSARAJU.create(in.graph, m).run();
+                case SCC_TARJAN -> SCCEngine.TARJAN.create(in.graph, m).run();
+                case CONDENSATION -> CondensationGraph.buildCSR(in.graph, in.scc);
+                case TOPO -> TopoSort.kahn(in.dag, m);
+                case SHORTEST -> DAGShortestPaths.computeShortest(in.dag, in.source, in.topo, m);
+                case LONGEST -> DAGLongestPath.computeLongest(in.dag, in.source, in.topo, m);
+            }
+        }
+
+        CSRGraph input(Input in) {
+            return this == SCC_KOSARAJU || this == SCC_TARJAN || this == CONDENSATION ? in.graph : in.dag;
+        }
+    }
+
+    /** One graph of the ladder with the intermediate results the later stages consume. */
+    static final class Input {
+        final CSRGraph graph;
+        final SCCResult scc;
+        final CSRGraph dag;
+        final TopoResult topo;
+        final int source;
+
+        Input(CSRGraph graph) {
+            this.graph = graph;
+            this.scc = SCCEngine.TARJAN.create(graph, Metrics.disabled()).run();
+            this.dag = CondensationGraph.buildCSR(graph, scc);
+            this.topo = TopoSort.kahn(dag, Metrics.disabled());
+            this.source = graph.size() == 0 ? 0 : scc.getCompOfVertex()[0];
+        }
+    }
+
+    /** One measured family, size and stage. */
+    static final class Row {
+        String family;
+        Stage stage;
+        int n;
+        long m;
+        int stageN;
+        long stageM;
+        long medianNs;
+        long minNs;
+        /** Sum of all counters with "edges" in their name; 0 if the stage has none. */
+        long edgesProcessed;
+        Map<String, Long> counters;
+
+        double nsPerEdge() {
+            return (double) medianNs / Math.max(1, stageM);
+        }
+    }
+
+    /** Runs the report with {@link Options#parse} arguments; returns 0, 1 on I/O failure, 2 on bad arguments. */
+    public static int run(String[] args, PrintStream out) {
+        Options options;
+        try {
+            options = Options.parse(args);
+        } catch (IllegalArgumentException e) {
+            out.println("Error: " + e.getMessage());
+            out.println("Usage: --scaling [--families rmat,layered,...] [--from n] [--to n] [--factor f]"
+                    + " [--degree d] [--warmup k] [--warmup-ms t] [--reps k] [--seed s] [--out dir]");
+            return 2;
+        }
+        try {
+            List<Row> rows = measure(options, out);
+            write(rows, options.out);
+            for (String family : rows.stream().map(r -> r.family).distinct().collect(Collectors.toList())) {
+                for (Stage stage : Stage.values()) {
+                    double k = exponent(select(rows, family, stage));
+                    if (Double.isNaN(k))
+                        out.printf(Locale.ROOT, "%-12s %-13s input too small to fit%n", family, stage.label());
+                    else
+                        out.printf(Locale.ROOT, "%-12s %-13s time ~ (n+m)^%.2f%s%n", family, stage.label(), k,
+                                k > NONLINEAR_EXPONENT ? "  <-- non-linear" : "");
+                }
+            }
+            out.println("Report written to " + options.out.toAbsolutePath());
+            return 0;
+        } catch (IOException e) {
+            out.println("Error: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    /** Measures every family, size and stage, printing one progress line per graph. */
+    static List<Row> measure(Options options, PrintStream out) {
+        List<Row> rows = new ArrayList<>();
+        List<Scale> ladder = Scale.ladder(options.from, options.to, options.factor, options.degree);
+        for (Family family : options.families) {
+            boolean first = true;
+            for (Scale scale : ladder) {
+                Input in = new Input(StreamingGenerator.build(family.model(scale, options.seed), options.seed));
+                if (first) warmUp(in, options.warmupMs);
+                first = false;
+                out.printf(Locale.ROOT, "%-12s n=%-9d m=%-10d components=%d%n", label(family),
+                        in.graph.size(), in.graph.getEdgeCount(), in.dag.size());
+                for (Stage stage : Stage.values()) rows.add(measure(label(family), stage, in, options));
+            }
+        }
+        return rows;
+    }
+
+    /** Runs every stage on {@code in} until it has spent {@code millis} in it. */
+    private static void warmUp(Input in, long millis) {
+        for (Stage stage : Stage.values()) {
+            long end = System.nanoTime() + millis * 1_000_000;
+            do {
+                stage.run(in, new Metrics());
+            } while (System.nanoTime() < end);
+        }
+    }
+
+    private static Row measure(String family, Stage stage, Input in, Options options) {
+        for (int i = 0; i < options.warmup; i++) stage.run(in, new Metrics());
+        long[] times = new long[options.reps];
+        Metrics last = null;
+        for (int i = 0; i < options.reps; i++) {
+            last = new Metrics();
+            long t = System.nanoTime();
+            stage.run(in, last);
+            times[i] = System.nanoTime() - t;
+        }
+        Arrays.sort(times);
+
+        Row r = new Row();
+        r.family = family;
+        r.stage = stage;
+        r.n = in.graph.size();
+        r.m = in.graph.getEdgeCount();
+        r.stageN = stage.input(in).size();
+        r.stageM = stage.input(in).getEdgeCount();
+        r.medianNs = times[times.length / 2];
+        r.minNs = times[0];
+        r.counters = last.snapshot();
+        for (Map.Entry<String, Long> c : r.counters.entrySet())
+            if (c.getKey().toLowerCase(Locale.ROOT).contains("edges")) r.edgesProcessed += c.getValue();
+        return r;
+    }
+
+    /**
+     * Least-squares slope of {@code log(time)} over {@code log(n + m)} of the stage input,
+     * over the rows whose input has at least {@link #MIN_FIT_SIZE} vertices plus edges.
+     * @return the exponent, or NaN with fewer than two such sizes
+     */
+    static double exponent(List<Row> rows) {
+        double sx = 0, sy = 0, sxx = 0, sxy = 0;
+        int k = 0;
+        for (Row r : rows) {
+            if (r.medianNs <= 0 || r.stageN + r.stageM < MIN_FIT_SIZE) continue;
+            double x = Math.log(r.stageN + r.stageM), y = Math.log(r.medianNs);
+            sx += x;
+            sy += y;
+            sxx += x * x;
+            sxy += x * y;
+            k++;
+        }
+        double var = k * sxx - sx * sx;
+        return k < 2 || var < 1e-9 ? Double.NaN : (k * sxy - sx * sy) / var;
+    }
+
+    /** Writes both CSV files and the charts into {@code dir}. */
+    static void write(List<Row> rows, Path dir) throws IOException {
+        // charts are rendered off-screen; this must be set before AWT initializes
+        System.setProperty("java.awt.headless", "true");
+        Files.createDirectories(dir);
+
+        try (PrintWriter w = new PrintWriter(Files.newBufferedWriter(dir.resolve("scaling.csv")))) {
+            w.println("family,stage,n,m,stage_n,stage_m,median_ns,min_ns,edges_processed,ns_per_edge,counters");
+            for (Row r : rows) {
+                String counters = r.counters.entrySet().stream()
+                        .map(e -> e.getKey() + "=" + e.getValue())
+                        .collect(Collectors.joining(";"));
+                w.printf(Locale.ROOT, "%s,%s,%d,%d,%d,%d,%d,%d,%d,%.3f,\"%s\"%n", r.family, r.stage.label(),
+                        r.n, r.m, r.stageN, r.stageM, r.medianNs, r.minNs, r.edgesProcessed, r.nsPerEdge(), counters);
+            }
+        }
+
+        List<String> families = rows.stream().map(r -> r.family).distinct().collect(Collectors.toList());
+        try (PrintWriter w = new PrintWriter(Files.newBufferedWriter(dir.resolve("summary.csv")))) {
+            w.println("family,stage,exponent,nonlinear");
+            for (String family : families) {
+                for (Stage stage : Stage.values()) {
+                    double k = exponent(select(rows, family, stage));
+                    w.printf(Locale.ROOT, "%s,%s,%.3f,%b%n", family, stage.label(), k, k > NONLINEAR_EXPONENT);
+                }
+            }
+        }
+
+        for (String family : families) {
+            List<Row> of = rows.stream().filter(r -> r.family.equals(family)).collect(Collectors.toList());
+            chart(of, dir.resolve(family + "-time-vs-n.png"), family + ": time vs n", "vertices n",
+                    r -> r.n, "median time (ms)", r -> r.medianNs / 1e6, true);
+            chart(of, dir.resolve(family + "-time-vs-m.png"), family + ": time vs m", "edges m",
+                    r -> r.m, "median time (ms)", r -> r.medianNs / 1e6, true);
+            chart(of, dir.resolve(family + "-edges-vs-m.png"), family + ": edges processed vs m", "edges m",
+                    r -> r.m, "edges processed", r -> r.edgesProcessed, true);
+            // per-edge cost of a tiny stage input is mostly call overhead
+            List<Row> large = of.stream().filter(r -> r.stageN + r.stageM >= MIN_FIT_SIZE).collect(Collectors.toList());
+            chart(large, dir.resolve(family + "-ns-per-edge.png"), family + ": ns per input edge", "edges m",
+                    r -> r.m, "ns per stage input edge", Row::nsPerEdge, false);
+        }
+    }
+
+    private static List<Row> select(List<Row> rows, String family, Stage stage) {
+        return rows.stream().filter(r -> r.family.equals(family) && r.stage == stage).collect(Collectors.toList());
+    }
+
+    /** One line per stage; points with a non-positive value are left out of log axes. */
+    private static void chart(List<Row> rows, Path file, String title, String xLabel, ToDoubleFunction<Row> x,
+                              String yLabel, ToDoubleFunction<Row> y, boolean logY) throws IOException {
+        XYSeriesCollection data = new XYSeriesCollection();
+        for (Stage stage : Stage.values()) {
+            XYSeries series = new XYSeries(stage.label());
+            for (Row r : rows) {
+                if (r.stage != stage) continue;
+                double xv = x.applyAsDouble(r), yv = y.applyAsDouble(r);
+                if (xv > 0 && (yv > 0 || !logY)) series.add(xv, yv);
+            }
+            if (series.getItemCount() > 0) data.addSeries(series);
+        }
+        JFreeChart chart = ChartFactory.createXYLineChart(title, xLabel, yLabel, data,
+                PlotOrientation.VERTICAL, true, false, false);
+        XYPlot plot = chart.getXYPlot();
+        // the ladder doubles by default, so sizes sit on powers of two
+        plot.setDomainAxis(logAxis(xLabel, 2));
+        if (logY) plot.setRangeAxis(logAxis(yLabel, 10));
+        ((XYLineAndShapeRenderer) plot.getRenderer()).setDefaultShapesVisible(true);
+        ChartUtils.saveChartAsPNG(file.toFile(), chart, 900, 600);
+    }
+
+    /** Log axis with a tick at every power of {@code base}, printed as plain numbers. */
+    private static LogAxis logAxis(String label, double base) {
+        LogAxis axis = new LogAxis(label);
+        axis.setBase(base);
+        axis.setTickUnit(new NumberTickUnit(1));
+        axis.setNumberFormatOverride(new DecimalFormat("#,##0.######"));
+        return axis;
+    }
+
+    private static String label(Family family) {
+        return family.name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+
+    public static void main(String[] args) {
+        System.exit(run(args, System.out));
+    }
+}
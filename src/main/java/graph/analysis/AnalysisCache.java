@@ -0,0 +1,107 @@
+package graph.analysis;
+
+import graph.model.GraphView;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Bounded LRU cache of {@link AnalysisContext}s, keyed by a caller-chosen id
+ * (file path, upload handle, ...). When more than {@code maxEntries} graphs are
+ * cached, the least recently used context and everything it computed is dropped.
+ *
+ * <pre>
+ * AnalysisCache&lt;String&gt; cache = new AnalysisCache&lt;&gt;(16);
+ * AnalysisContext ctx = cache.get(path, p -&gt; JSONParser.loadCSRGraph(p));
+ * </pre>
+ *
+ * @param <K> key type
+ */
+public class AnalysisCache<K> {
+    private final int maxEntries;
+    private final Map<K, AnalysisContext> entries;
+    private long hits, misses, evictions;
+
+    /**
+     * @param maxEntries maximum number of contexts kept at once
+     */
+    public AnalysisCache(int maxEntries) {
+        if (maxEntries < 1) throw new IllegalArgumentException("Cache size must be positive: " + maxEntries);
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, AnalysisContext> eldest) {
+                if (size() > AnalysisCache.this.maxEntries) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached context for {@code key}, loading and wrapping the graph on a miss.
+     * The loader runs outside the cache lock, so slow loads do not block other keys.
+     *
+     * @param key cache key
+     * @param loader produces the graph for a missing key
+     * @return the analysis context of the graph
+     */
+    public AnalysisContext get(K key, Function<? super K, ? extends GraphView> loader) {
+        synchronized (this) {
+            AnalysisContext ctx = entries.get(key);
+            if (ctx != null) {
+                hits++;
+                return ctx;
+            }
+            misses++;
+        }
+        AnalysisContext loaded = AnalysisContext.of(loader.apply(key));
+        synchronized (this) {
+            // another thread may have loaded the same key meanwhile; keep the first one
+            return entries.computeIfAbsent(key, k -> loaded);
+        }
+    }
+
+    /**
+     * Stores a context under {@code key}, replacing any previous one.
+     */
+    public synchronized void put(K key, AnalysisContext ctx) {
+        entries.put(key, ctx);
+    }
+
+    /** @return the cached context, or null; counts as a use for LRU order */
+    public synchronized AnalysisContext getIfPresent(K key) {
+        AnalysisContext ctx = entries.get(key);
+        if (ctx != null) hits++;
+        else misses++;
+        return ctx;
+    }
+
+    /** Drops the context cached under {@code key}, if any. */
+    public synchronized void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+}
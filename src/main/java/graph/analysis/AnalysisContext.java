@@ -0,0 +1,121 @@
+package graph.analysis;
+
+import graph.dagsp.DAGLongestPath;
+import graph.dagsp.DAGShortestPaths;
+import graph.dagsp.PathResult;
+import graph.model.CSRGraph;
+import graph.model.GraphView;
+import graph.scc.CondensationGraph;
+import graph.scc.SCCAlgorithm;
+import graph.scc.SCCEngine;
+import graph.scc.SCCResult;
+import graph.topo.TopoResult;
+import graph.topo.TopoSort;
+import util.metrics.Metrics;
+
+/**
+ * Per-graph analysis context: SCCs, condensation DAG and its topological order are
+ * computed lazily, at most once, and shared by every later query.
+ *
+ * <p>The context works on a frozen {@link CSRGraph} snapshot, so later changes to a
+ * mutable {@link graph.model.Graph} passed to {@link #of} do not affect cached results.
+ * All getters are thread-safe.
+ *
+ * <pre>
+ * AnalysisContext ctx = AnalysisContext.of(g);
+ * PathResult a = ctx.shortestFrom(0);   // runs SCC, condensation and topo sort once
+ * PathResult b = ctx.longestFrom(0);    // reuses all three
+ * </pre>
+ */
+public final class AnalysisContext {
+    private final CSRGraph graph;
+    private final SCCEngine engine;
+    private final boolean trim;
+
+    private SCCAlgorithm sccAlgorithm;
+    private SCCResult scc;
+    private CSRGraph condensation;
+    private TopoResult topo;
+    private ReachabilityIndex reachability;
+
+    private AnalysisContext(CSRGraph graph, SCCEngine engine, boolean trim) {
+        this.graph = graph;
+        this.engine = engine;
+        this.trim = trim;
+    }
+
+    /** Creates a context that decomposes SCCs with Kosaraju. */
+    public static AnalysisContext of(GraphView g) {
+        return of(g, SCCEngine.KOSARAJU, false);
+    }
+
+    /**
+     * @param g graph to analyze; copied into CSR form unless it already is one
+     * @param engine SCC engine to use
+     * @param trim whether to run the trim pre-pass before the engine
+     */
+    public static AnalysisContext of(GraphView g, SCCEngine engine, boolean trim) {
+        return new AnalysisContext(CSRGraph.of(g), engine, trim);
+    }
+
+    /** @return the frozen graph this context analyzes */
+    public CSRGraph graph() {
+        return graph;
+    }
+
+    /** @return strongly connected components of the graph */
+    public synchronized SCCResult scc() {
+        if (scc == null) {
+            sccAlgorithm = trim ? engine.createTrimmed(graph, new Metrics()) : engine.create(graph, new Metrics());
+            scc = sccAlgorithm.run();
+        }
+        return scc;
+    }
+
+    /** @return the engine instance that produced {@link #scc()}, for its metrics */
+    public synchronized SCCAlgorithm sccAlgorithm() {
+        scc();
+        return sccAlgorithm;
+    }
+
+    /** @return the condensation DAG, one vertex per component */
+    public synchronized CSRGraph condensation() {
+        if (condensation == null) {
+            condensation = CondensationGraph.buildCSR(graph, scc());
+        }
+        return condensation;
+    }
+
+    /** @return topological order of the condensation DAG */
+    public synchronized TopoResult topoOrder() {
+        if (topo == null) {
+            topo = TopoSort.kahn(condensation(), new Metrics());
+        }
+        return topo;
+    }
+
+    /** @return reachability index over the original vertices, built on the cached condensation */
+    public synchronized ReachabilityIndex reachability() {
+        if (reachability == null) {
+            reachability = ReachabilityIndex.build(condensation(), scc(), topoOrder(),
+                    ReachabilityIndex.DEFAULT_MEMORY_BUDGET, true);
+        }
+        return reachability;
+    }
+
+    /**
+     * Shortest paths over the condensation DAG, reusing the cached topological order.
+     * @param src source component
+     */
+    public PathResult shortestFrom(int src) {
+        return DAGShortestPaths.computeShortest(condensation(), src, topoOrder(), new Metrics());
+    }
+
+    /**
+     * Longest paths over the condensation DAG, reusing the cached topological order.
+     * @param src source component
+     */
+    public PathResult longestFrom(int src) {
+        return DAGLongestPath.computeLongest(condensation(), src, topoOrder(), new Metrics());
+    }
+}
@@ -0,0 +1,347 @@
+package graph.analysis;
+
+import graph.model.CSRGraph;
+import graph.model.GraphView;
+import graph.scc.CondensationGraph;
+import graph.scc.SCCResult;
+import graph.topo.TopoResult;
+import graph.topo.TopoSort;
+import util.metrics.Metrics;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.stream.IntStream;
+
+/**
+ * Answers "does {@code u} reach {@code v}?" without a traversal per question.
+ *
+ * <p>Queries go through the condensation: vertices of one SCC reach each other, and
+ * otherwise {@code u} reaches {@code v} iff {@code comp(u)} reaches {@code comp(v)} in
+ * the condensation DAG. Two index layouts are available:
+ * <ul>
+ *   <li>{@link Mode#BITSET} — the descendant set of every component as a {@code long[]}
+ *       bitset over topological ranks. Components only reach higher ranks, so a row starts
+ *       at the word of its own rank, which halves the size. Rows are filled sink-first,
+ *       one height level at a time; components of one level are independent and are
+ *       filled in parallel. {@link #reaches} is O(1).</li>
+ *   <li>{@link Mode#INTERVAL} — chosen when the bitsets would exceed the memory budget.
+ *       Each component keeps a few post-order intervals from randomized DFS traversals
+ *       (GRAIL labels) plus the interval of its subtree in the first DFS tree. Most
+ *       queries are answered by these O(1) checks; the rest fall back to a DFS pruned by
+ *       the same labels. Size is O(components).</li>
+ * </ul>
+ */
+public final class ReachabilityIndex {
+
+    public enum Mode { BITSET, INTERVAL }
+
+    /** Default memory budget for the bitset layout: 256 MB. */
+    public static final long DEFAULT_MEMORY_BUDGET = 256L << 20;
+    /** Number of randomized traversals labelled in interval mode. */
+    public static final int TRAVERSALS = 3;
+    /** Height levels narrower than this are filled on the calling thread. */
+    private static final int PARALLEL_LEVEL_WIDTH = 64;
+    /**
+     * Scratch kept for reuse in interval mode. A search never blocks, so no more searches
+     * run at once than there are carrier threads; extra scratch under bursts is dropped.
+     */
+    private static final int POOL_SIZE = 2 * Runtime.getRuntime().availableProcessors();
+
+    private final int[] compOf;
+    private final int[] rank;
+    private final Mode mode;
+    private final long buildTimeNs;
+    private final long sizeBytes;
+
+    // BITSET: rows[c] covers ranks from 64 * (rank[c] >>> 6) upwards
+    private final long[][] rows;
+
+    // INTERVAL: condensation for the pruned search, and per traversal t post[t][c], low[t][c];
+    // treeFirst[c]..post[0][c] is the post-order range of c's subtree in the first DFS tree
+    private final CSRGraph dag;
+    private final int[][] post, low;
+    private final int[] treeFirst;
+    private final ArrayBlockingQueue<Scratch> pool;
+
+    private ReachabilityIndex(int[] compOf, int[] rank, Mode mode, long[][] rows, CSRGraph dag,
+                              int[][] post, int[][] low, int[] treeFirst, long buildTimeNs, long sizeBytes) {
+        this.compOf = compOf;
+        this.rank = rank;
+        this.mode = mode;
+        this.rows = rows;
+        this.dag = dag;
+        this.post = post;
+        this.low = low;
+        this.treeFirst = treeFirst;
+        this.buildTimeNs = buildTimeNs;
+        this.sizeBytes = sizeBytes;
+        this.pool = mode == Mode.INTERVAL ? new ArrayBlockingQueue<>(POOL_SIZE) : null;
+    }
+
+    /**
+     * Builds the index for a graph and its SCCs with the default memory budget,
+     * in parallel.
+     */
+    public static ReachabilityIndex build(GraphView g, SCCResult scc) {
+        return build(CondensationGraph.buildCSR(g, scc), scc, DEFAULT_MEMORY_BUDGET, true);
+    }
+
+    /**
+     * @param condensation condensation DAG of the graph, numbered like {@code scc}
+     * @param scc strongly connected components of the graph
+     * @param memoryBudget bytes the bitset layout may use; above it the interval layout is built
+     * @param parallel whether to fill bitset levels on the common ForkJoin pool
+     * @return the index
+     */
+    public static ReachabilityIndex build(CSRGraph condensation, SCCResult scc, long memoryBudget, boolean parallel) {
+        return build(condensation, scc, TopoSort.kahn(condensation, Metrics.disabled()), memoryBudget, parallel);
+    }
+
+    /**
+     * Same as {@link #build(CSRGraph, SCCResult, long, boolean)}, reusing a precomputed
+     * topological order of the condensation.
+     */
+    public static ReachabilityIndex build(CSRGraph condensation, SCCResult scc, TopoResult topo,
+                                          long memoryBudget, boolean parallel) {
+        long start = System.nanoTime();
+        int k = condensation.size();
+        int[] compOf = scc.getCompOfVertex();
+
+        List<Integer> order = topo.getOrder();
+        int[] byRank = new int[k];
+        int[] rank = new int[k];
+        for (int r = 0; r < k; r++) {
+            byRank[r] = order.get(r);
+            rank[byRank[r]] = r;
+        }
+
+        int words = (k + 63) >>> 6;
+        long bitsetBytes = 0;
+        for (int c = 0; c < k; c++) bitsetBytes += 16 + 8L * (words - (rank[c] >>> 6));
+
+        if (bitsetBytes <= memoryBudget) {
+            long[][] rows = bitsets(condensation, rank, byRank, parallel);
+            long size = bitsetBytes + 4L * (compOf.length + k);
+            return new ReachabilityIndex(compOf, rank, Mode.BITSET, rows, null, null, null, null,
+                    System.nanoTime() - start, size);
+        }
+
+        int[][] post = new int[TRAVERSALS][];
+        int[][] low = new int[TRAVERSALS][];
+        int[] treeFirst = new int[k];
+        SplittableRandom rnd = new SplittableRandom(k);
+        for (int t = 0; t < TRAVERSALS; t++) {
+            post[t] = new int[k];
+            low[t] = new int[k];
+            label(condensation, byRank, rnd.split(), post[t], low[t], t == 0 ? treeFirst : null);
+        }
+        long size = 4L * (compOf.length + 2L * k + 2L * TRAVERSALS * k) + condensation.offsets().length * 4L
+                + condensation.targets().length * 8L;
+        return new ReachabilityIndex(compOf, rank, Mode.INTERVAL, null, condensation, post, low, treeFirst,
+                System.nanoTime() - start, size);
+    }
+
+    /** Descendant bitsets, filled one height level at a time from the sinks up. */
+    private static long[][] bitsets(CSRGraph dag, int[] rank, int[] byRank, boolean parallel) {
+        int k = dag.size();
+        int words = (k + 63) >>> 6;
+        int[] off = dag.offsets(), tg = dag.targets();
+
+        // height: 0 for sinks, 1 + max height of the successors otherwise
+        int[] height = new int[k];
+        int levels = k == 0 ? 0 : 1;
+        for (int r = k - 1; r >= 0; r--) {
+            int c = byRank[r];
+            for (int i = off[c]; i < off[c + 1]; i++) height[c] = Math.max(height[c], height[tg[i]] + 1);
+            levels = Math.max(levels, height[c] + 1);
+        }
+        int[] levelStart = new int[levels + 1];
+        for (int c = 0; c < k; c++) levelStart[height[c] + 1]++;
+        for (int h = 0; h < levels; h++) levelStart[h + 1] += levelStart[h];
+        int[] byLevel = new int[k];
+        int[] next = Arrays.copyOf(levelStart, levels);
+        for (int c = 0; c < k; c++) byLevel[next[height[c]]++] = c;
+
+        long[][] rows = new long[k][];
+        for (int h = 0; h < levels; h++) {
+            int lo = levelStart[h], hi = levelStart[h + 1];
+            IntStream level = IntStream.range(lo, hi);
+            if (parallel && hi - lo >= PARALLEL_LEVEL_WIDTH) level = level.parallel();
+            level.forEach(p -> {
+                int c = byLevel[p];
+                int base = rank[c] >>> 6;
+                long[] row = new long[words - base];
+                row[0] |= 1L << rank[c];
+                for (int i = off[c]; i < off[c + 1]; i++) {
+                    int d = tg[i];
+                    long[] sub = rows[d];
+                    int shift = (rank[d] >>> 6) - base;
+                    for (int j = 0; j < sub.length; j++) row[j + shift] |= sub[j];
+                }
+                rows[c] = row;
+            });
+        }
+        return rows;
+    }
+
+    /**
+     * One randomized DFS over the DAG: post-order numbers, and low = smallest post-order
+     * number among the descendants. If {@code treeFirst} is given it records, for every
+     * component, the first post-order number assigned inside its DFS subtree.
+     */
+    private static void label(CSRGraph dag, int[] byRank, SplittableRandom rnd,
+                              int[] post, int[] low, int[] treeFirst) {
+        int k = dag.size();
+        int[] off = dag.offsets(), tg = dag.targets();
+        int[] perm = new int[k];
+        for (int i = 0; i < k; i++) perm[i] = i;
+        for (int i = k - 1; i > 0; i--) {
+            int j = rnd.nextInt(i + 1);
+            int t = perm[i]; perm[i] = perm[j]; perm[j] = t;
+        }
+
+        boolean[] visited = new boolean[k];
+        int[] stack = new int[k];
+        int[] cursor = new int[k];
+        int counter = 0;
+        for (int s : perm) {
+            if (visited[s]) continue;
+            int top = 0;
+            stack[0] = s;
+            visited[s] = true;
+            if (treeFirst != null) treeFirst[s] = counter;
+            cursor[s] = 0;
+            while (top >= 0) {
+                int c = stack[top];
+                int deg = off[c + 1] - off[c];
+                if (cursor[c] < deg) {
+                    // scan the adjacency from a random offset so every traversal differs
+                    int d = tg[off[c] + (cursor[c]++ + perm[c]) % deg];
+                    if (!visited[d]) {
+                        visited[d] = true;
+                        if (treeFirst != null) treeFirst[d] = counter;
+                        cursor[d] = 0;
+                        stack[++top] = d;
+                    }
+                    continue;
+                }
+                post[c] = counter++;
+                top--;
+            }
+        }
+
+        // low over all successors, not only tree children, so it covers every descendant
+        for (int r = k - 1; r >= 0; r--) {
+            int c = byRank[r];
+            int m = post[c];
+            for (int i = off[c]; i < off[c + 1]; i++) m = Math.min(m, low[tg[i]]);
+            low[c] = m;
+        }
+    }
+
+    /** @return whether there is a path from {@code u} to {@code v} in the original graph */
+    public boolean reaches(int u, int v) {
+        return componentReaches(compOf[u], compOf[v]);
+    }
+
+    /** @return whether component {@code cu} reaches component {@code cv} in the condensation */
+    public boolean componentReaches(int cu, int cv) {
+        if (cu == cv) return true;
+        int ru = rank[cu], rv = rank[cv];
+        if (rv < ru) return false;
+        if (mode == Mode.BITSET) {
+            return (rows[cu][(rv >>> 6) - (ru >>> 6)] & (1L << rv)) != 0;
+        }
+        if (treeFirst[cu] <= post[0][cv] && post[0][cv] <= post[0][cu]) return true;
+        if (!mayReach(cu, cv)) return false;
+        return search(cu, cv);
+    }
+
+    /** GRAIL check: false means definitely unreachable. */
+    private boolean mayReach(int cu, int cv) {
+        for (int t = 0; t < TRAVERSALS; t++) {
+            if (low[t][cu] > low[t][cv] || post[t][cv] > post[t][cu]) return false;
+        }
+        return true;
+    }
+
+    /** DFS from cu that skips every component the labels rule out. */
+    private boolean search(int cu, int cv) {
+        Scratch s = pool.poll();
+        if (s == null) s = new Scratch(rank.length);
+        try {
+            return search(cu, cv, s);
+        } finally {
+            pool.offer(s);
+        }
+    }
+
+    private boolean search(int cu, int cv, Scratch s) {
+        int[] mark = s.mark;
+        int stamp = ++s.stamp;
+        if (stamp == Integer.MAX_VALUE) {
+            Arrays.fill(mark, 0);
+            s.stamp = stamp = 1;
+        }
+        int[] off = dag.offsets(), tg = dag.targets();
+        int[] stack = s.stack;
+        int top = 0;
+        stack[top++] = cu;
+        mark[cu] = stamp;
+        try {
+            while (top > 0) {
+                int c = stack[--top];
+                for (int i = off[c]; i < off[c + 1]; i++) {
+                    int d = tg[i];
+                    if (d == cv) return true;
+                    if (mark[d] == stamp || rank[d] > rank[cv] || !mayReach(d, cv)) continue;
+                    if (treeFirst[d] <= post[0][cv] && post[0][cv] <= post[0][d]) return true;
+                    mark[d] = stamp;
+                    if (top == stack.length) stack = Arrays.copyOf(stack, 2 * top);
+                    stack[top++] = d;
+                }
+            }
+            return false;
+        } finally {
+            s.stack = stack;
+        }
+    }
+
+    /** Visit stamps and DFS stack of one search; the stack grows with the searches it serves. */
+    private static final class Scratch {
+        final int[] mark;
+        int stamp;
+        int[] stack = new int[16];
+
+        Scratch(int k) {
+            mark = new int[k];
+        }
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    /** @return wall-clock time spent building the index */
+    public long getBuildTimeNs() {
+        return buildTimeNs;
+    }
+
+    /** @return approximate heap size of the index */
+    public long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public int getComponentCount() {
+        return rank.length;
+    }
+
+    @Override
+    public String toString() {
+        return "Reachability index: " + mode + ", " + rank.length + " components, "
+                + String.format("%.1f KB", sizeBytes / 1024.0)
+                + ", built in " + String.format("%.3f ms", buildTimeNs / 1_000_000.0);
+    }
+}
@@ -0,0 +1,129 @@
+package graph.dagsp;
+
+import graph.model.CSRGraph;
+import graph.model.GraphView;
+import graph.scc.CondensationGraph;
+import graph.scc.SCCResult;
+import graph.topo.TopoResult;
+import graph.topo.TopoSort;
+import util.metrics.Metrics;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Critical path method (CPM) over a DAG of tasks.
+ *
+ * <p>Every vertex is a task with a duration; an edge {@code u -> v} with weight {@code w}
+ * means {@code v} may start {@code w} time units after {@code u} finishes. All tasks
+ * without predecessors start at time 0. One forward pass in topological order gives the
+ * earliest start of every task, and one backward pass gives the latest start that does
+ * not delay the project, however many roots and sinks the graph has. Tasks with zero
+ * slack are critical. Times are {@code long}, so large sums do not overflow.
+ *
+ * <p>For a cyclic task graph use {@link #computeCondensed}: every SCC becomes one task
+ * whose duration is the sum of its members' durations, and parallel lags between two
+ * components collapse to the largest, which is the binding one.
+ */
+public class CriticalPath {
+
+    /**
+     * Schedules a DAG with fresh metrics.
+     * @param dag task graph; edge weights are lags between tasks
+     * @param durations duration of every task, or null for all zero
+     */
+    public static CriticalPathResult compute(GraphView dag, long[] durations) {
+        return compute(dag, durations, TopoSort.kahn(dag, Metrics.disabled()), new Metrics());
+    }
+
+    /**
+     * Schedules a DAG, reusing a precomputed topological order.
+     * @param dag task graph; edge weights are lags between tasks
+     * @param durations duration of every task, or null for all zero
+     * @param topo topological order of {@code dag}
+     * @param metrics collector supplied by the caller; {@link Metrics#disabled()} skips instrumentation
+     * @return start times, slack and a critical path
+     */
+    public static CriticalPathResult compute(GraphView dag, long[] durations, TopoResult topo, Metrics metrics) {
+        metrics.startTimer();
+
+        CSRGraph g = CSRGraph.of(dag);
+        int n = g.size();
+        int[] off = g.offsets(), tg = g.targets(), wt = g.weights();
+        long[] dur = durations != null ? durations : new long[n];
+        if (dur.length != n)
+            throw new IllegalArgumentException("Expected " + n + " durations, got " + dur.length);
+        List<Integer> orderList = topo.getOrder();
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) order[i] = orderList.get(i);
+
+        // forward pass: earliest start, and the predecessor that determined it
+        long[] es = new long[n];
+        int[] pred = new int[n];
+        Arrays.fill(pred, -1);
+        long project = 0;
+        int last = -1;
+        for (int u : order) {
+            long ef = es[u] + dur[u];
+            // on ties keep the later task, so a chain of zero-length tasks is walked in full
+            if (last == -1 || ef >= project) {
+                project = ef;
+                last = u;
+            }
+            for (int i = off[u]; i < off[u + 1]; i++) {
+                int v = tg[i];
+                long start = ef + wt[i];
+                // a start of 0 equals the initial es, so also take the first predecessor on a tie
+                if (start > es[v] || (start == es[v] && pred[v] == -1)) {
+                    es[v] = start;
+                    pred[v] = u;
+                }
+            }
+        }
+
+        // backward pass: latest start, pulled from successors in reverse order
+        long[] ls = new long[n];
+        long critical = 0;
+        for (int k = n - 1; k >= 0; k--) {
+            int u = order[k];
+            long lf = project;
+            for (int i = off[u]; i < off[u + 1]; i++) {
+                lf = Math.min(lf, ls[tg[i]] - wt[i]);
+            }
+            ls[u] = lf - dur[u];
+            if (ls[u] == es[u]) critical++;
+        }
+
+        // walk back from the task that finishes last along the predecessors that fixed its start
+        int length = 0;
+        for (int v = last; v != -1; v = pred[v]) length++;
+        int[] path = new int[length];
+        for (int v = last, i = length - 1; v != -1; v = pred[v]) path[i--] = v;
+
+        metrics.add(metrics.register("Edges processed"), 2L * off[n]);
+        metrics.add(metrics.register("Critical tasks"), critical);
+        metrics.stopTimer();
+        return new CriticalPathResult(es, ls, dur, project, path, metrics, metrics.getExecutionTime());
+    }
+
+    /**
+     * Schedules a possibly cyclic task graph on its condensation: each SCC is one task
+     * whose duration is the sum of its members' durations. Results are indexed by
+     * component id of {@code scc}.
+     *
+     * @param original task graph
+     * @param scc its strongly connected components
+     * @param vertexDurations duration of every original task, or null for all zero
+     */
+    public static CriticalPathResult computeCondensed(GraphView original, SCCResult scc, long[] vertexDurations) {
+        CSRGraph dag = CondensationGraph.buildCSR(original, scc, CondensationGraph.WeightPolicy.MAX);
+        long[] durations = new long[scc.size()];
+        if (vertexDurations != null) {
+            int[] compOf = scc.getCompOfVertex();
+            if (vertexDurations.length != compOf.length)
+                throw new IllegalArgumentException("Expected " + compOf.length + " durations, got " + vertexDurations.length);
+            for (int v = 0; v < compOf.length; v++) durations[compOf[v]] += vertexDurations[v];
+        }
+        return compute(dag, durations);
+    }
+}
@@ -0,0 +1,80 @@
+package graph.dagsp;
+
+import util.metrics.Metrics;
+
+import java.util.Arrays;
+
+/**
+ * Schedule computed by {@link CriticalPath}: earliest/latest start and finish and slack of
+ * every task, the project duration and one critical path.
+ */
+public class CriticalPathResult {
+    private final long[] earliestStart;
+    private final long[] latestStart;
+    private final long[] durations;
+    private final long projectDuration;
+    private final int[] criticalPath;
+    private final Metrics metrics;
+    private final long timeNs;
+
+    public CriticalPathResult(long[] earliestStart, long[] latestStart, long[] durations,
+                              long projectDuration, int[] criticalPath, Metrics metrics, long timeNs) {
+        this.earliestStart = earliestStart;
+        this.latestStart = latestStart;
+        this.durations = durations;
+        this.projectDuration = projectDuration;
+        this.criticalPath = criticalPath;
+        this.metrics = metrics;
+        this.timeNs = timeNs;
+    }
+
+    public long[] getEarliestStart() {
+        return earliestStart;
+    }
+
+    public long[] getLatestStart() {
+        return latestStart;
+    }
+
+    public long getEarliestFinish(int v) {
+        return earliestStart[v] + durations[v];
+    }
+
+    public long getLatestFinish(int v) {
+        return latestStart[v] + durations[v];
+    }
+
+    /** @return how long task {@code v} can be delayed without delaying the project */
+    public long getSlack(int v) {
+        return latestStart[v] - earliestStart[v];
+    }
+
+    public boolean isCritical(int v) {
+        return latestStart[v] == earliestStart[v];
+    }
+
+    /** @return finish time of the last task */
+    public long getProjectDuration() {
+        return projectDuration;
+    }
+
+    /** @return tasks of one critical path, from a root to the sink that finishes last */
+    public int[] getCriticalPath() {
+        return criticalPath;
+    }
+
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    public long getTimeNs() {
+        return timeNs;
+    }
+
+    @Override
+    public String toString() {
+        return "Project duration: " + projectDuration
+                + "\nCritical path: " + Arrays.toString(criticalPath)
+                + "\nTime: " + timeNs + " ns";
+    }
+}
@@ -0,0 +1,144 @@
+package graph.dagsp;
+
+import graph.model.CSRGraph;
+import graph.model.GraphView;
+import graph.topo.TopoSort;
+import util.metrics.Metrics;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Multi-source and all-sources DAG shortest / longest paths.
+ *
+ * <p>The topological order is computed once and shared by every source; rows are then
+ * relaxed in parallel on the common ForkJoin pool. Each row only scans the suffix of the
+ * order that starts at its source, since nothing earlier is reachable from it.
+ * Sentinels match the single-source classes: {@link Integer#MAX_VALUE} for unreachable
+ * vertices in shortest rows, {@link Integer#MIN_VALUE} in longest rows.
+ *
+ * <p>Use {@link #streamShortest} / {@link #streamLongest} when the full matrix would not
+ * fit in memory: rows are delivered one at a time, in source order, while at most one
+ * batch of rows per worker is held at once.
+ */
+public class DAGBatchPaths {
+
+    /** Receives one distance row; the array is reused after the call returns. */
+    @FunctionalInterface
+    public interface RowConsumer {
+        void accept(int source, int[] dist);
+    }
+
+    /**
+     * @param dag directed acyclic graph
+     * @param sources source vertices, one row each
+     * @return shortest distances from every source
+     */
+    public static DistanceMatrix computeShortest(GraphView dag, int[] sources) {
+        return compute(dag, sources, false);
+    }
+
+    /**
+     * @param dag directed acyclic graph
+     * @param sources source vertices, one row each
+     * @return longest distances from every source
+     */
+    public static DistanceMatrix computeLongest(GraphView dag, int[] sources) {
+        return compute(dag, sources, true);
+    }
+
+    /** @return shortest distances from every vertex of the DAG */
+    public static DistanceMatrix computeShortestFromAll(GraphView dag) {
+        return computeShortest(dag, IntStream.range(0, dag.size()).toArray());
+    }
+
+    /** @return longest distances from every vertex of the DAG */
+    public static DistanceMatrix computeLongestFromAll(GraphView dag) {
+        return computeLongest(dag, IntStream.range(0, dag.size()).toArray());
+    }
+
+    /** Streams shortest-distance rows for the given sources, in source order. */
+    public static void streamShortest(GraphView dag, int[] sources, RowConsumer consumer) {
+        stream(dag, sources, false, consumer);
+    }
+
+    /** Streams longest-distance rows for the given sources, in source order. */
+    public static void streamLongest(GraphView dag, int[] sources, RowConsumer consumer) {
+        stream(dag, sources, true, consumer);
+    }
+
+    private static DistanceMatrix compute(GraphView dag, int[] sources, boolean longest) {
+        CSRGraph g = CSRGraph.of(dag);
+        int n = g.size();
+        long cells = (long) sources.length * n;
+        if (cells > Integer.MAX_VALUE - 8)
+            throw new IllegalArgumentException("Distance matrix of " + sources.length + " x " + n
+                    + " is too large; use the streaming API instead.");
+
+        int[] order = topoOrder(g);
+        int[] pos = positions(order);
+        int[] data = new int[(int) cells];
+        int[] src = sources.clone();
+        IntStream.range(0, src.length).parallel()
+                .forEach(r -> relax(g, order, pos, src[r], data, r * n, longest));
+        return new DistanceMatrix(src, n, data);
+    }
+
+    private static void stream(GraphView dag, int[] sources, boolean longest, RowConsumer consumer) {
+        CSRGraph g = CSRGraph.of(dag);
+        int n = g.size();
+        int[] order = topoOrder(g);
+        int[] pos = positions(order);
+
+        int batch = Math.max(1, Runtime.getRuntime().availableProcessors());
+        int[][] rows = new int[Math.min(batch, Math.max(1, sources.length))][n];
+        for (int from = 0; from < sources.length; from += batch) {
+            int start = from;
+            int count = Math.min(batch, sources.length - from);
+            IntStream.range(0, count).parallel()
+                    .forEach(k -> relax(g, order, pos, sources[start + k], rows[k], 0, longest));
+            for (int k = 0; k < count; k++) consumer.accept(sources[start + k], rows[k]);
+        }
+    }
+
+    private static int[] topoOrder(CSRGraph g) {
+        List<Integer> order = TopoSort.kahn(g, Metrics.disabled()).getOrder();
+        int[] result = new int[order.size()];
+        for (int i = 0; i < result.length; i++) result[i] = order.get(i);
+        return result;
+    }
+
+    private static int[] positions(int[] order) {
+        int[] pos = new int[order.length];
+        for (int i = 0; i < order.length; i++) pos[order[i]] = i;
+        return pos;
+    }
+
+    /** Single-source relaxation into {@code dist[base .. base + n)}. */
+    private static void relax(CSRGraph g, int[] order, int[] pos, int src,
+                              int[] dist, int base, boolean longest) {
+        int n = g.size();
+        int[] off = g.offsets(), tg = g.targets(), wt = g.weights();
+        int unreached = longest ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+        Arrays.fill(dist, base, base + n, unreached);
+        dist[base + src] = 0;
+
+        for (int k = pos[src]; k < order.length; k++) {
+            int u = order[k];
+            int du = dist[base + u];
+            if (du == unreached) continue;
+            if (longest) {
+                for (int i = off[u]; i < off[u + 1]; i++) {
+                    int d = du + wt[i];
+                    if (dist[base + tg[i]] < d) dist[base + tg[i]] = d;
+                }
+            } else {
+                for (int i = off[u]; i < off[u + 1]; i++) {
+                    int d = du + wt[i];
+                    if (dist[base + tg[i]] > d) dist[base + tg[i]] = d;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package graph.dagsp;
+
+import graph.model.CSRGraph;
+import graph.model.GraphView;
+import graph.topo.TopoResult;
+import graph.topo.TopoSort;
+import util.metrics.Metrics;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Level-wise parallel single-source shortest / longest paths in a DAG.
+ *
+ * <p>Vertices are grouped into levels by longest edge count from a source of the DAG, so
+ * no edge joins two vertices of the same level. Each vertex then pulls its distance from
+ * its predecessors through a reverse adjacency; a level only reads distances of earlier
+ * levels and writes its own entries, so its vertices can be processed in parallel with
+ * no write races. Levels at least {@code minParallelWidth} wide run on the common
+ * ForkJoin pool, narrower ones on the calling thread.
+ *
+ * <p>Results are identical to {@link DAGShortestPaths} and {@link DAGLongestPath}, including
+ * {@code prev} and the "Edges processed" / "Relaxations" counters: each vertex's incoming
+ * edges are listed in the order the sequential version relaxes them (by position of the
+ * source in the same Kahn order, then by edge index), so the same comparisons are made in
+ * the same sequence.
+ *
+ * <p>A {@link Plan} holds the levels and the reverse adjacency and can be reused for
+ * any number of sources.
+ */
+public class DAGParallelPaths {
+
+    /** Default level width from which a level is processed in parallel. */
+    public static final int DEFAULT_PARALLEL_WIDTH = 1024;
+
+    public static PathResult computeShortest(GraphView dag, int src) {
+        return computeShortest(dag, src, new Metrics());
+    }
+
+    /**
+     * @param dag directed acyclic graph
+     * @param src source vertex
+     * @param metrics collector supplied by the caller; {@link Metrics#disabled()} skips instrumentation
+     * @return shortest path distances and predecessors
+     */
+    public static PathResult computeShortest(GraphView dag, int src, Metrics metrics) {
+        return plan(dag).shortest(src, metrics);
+    }
+
+    public static PathResult computeLongest(GraphView dag, int src) {
+        return computeLongest(dag, src, new Metrics());
+    }
+
+    /**
+     * @param dag directed acyclic graph
+     * @param src source vertex
+     * @param metrics collector supplied by the caller; {@link Metrics#disabled()} skips instrumentation
+     * @return longest path distances and predecessors
+     */
+    public static PathResult computeLongest(GraphView dag, int src, Metrics metrics) {
+        return plan(dag).longest(src, metrics);
+    }
+
+    /** Prepares levels and reverse adjacency with Kahn's order and the default width threshold. */
+    public static Plan plan(GraphView dag) {
+        return plan(dag, TopoSort.kahn(dag, Metrics.disabled()), DEFAULT_PARALLEL_WIDTH);
+    }
+
+    /**
+     * @param dag directed acyclic graph
+     * @param topo topological order of {@code dag}; {@code prev} ties are broken as the
+     *             sequential classes would with this order
+     * @param minParallelWidth levels with fewer vertices run sequentially;
+     *                         {@link Integer#MAX_VALUE} disables parallelism
+     */
+    public static Plan plan(GraphView dag, TopoResult topo, int minParallelWidth) {
+        return new Plan(CSRGraph.of(dag), topo.getOrder(), Math.max(1, minParallelWidth));
+    }
+
+    /** Levels and reverse adjacency of one DAG, shared by every query. */
+    public static final class Plan {
+        private final int n;
+        private final int minParallelWidth;
+        // incoming edges of v: rsrc/rw[roff[v] .. roff[v + 1]), in relaxation order
+        private final int[] roff, rsrc, rw;
+        // vertices of level l: byLevel[levelStart[l] .. levelStart[l + 1]), in topological order
+        private final int[] levelOf, levelStart, byLevel;
+
+        private Plan(CSRGraph g, List<Integer> order, int minParallelWidth) {
+            this.minParallelWidth = minParallelWidth;
+            n = g.size();
+            int[] off = g.offsets(), tg = g.targets(), wt = g.weights();
+
+            // reverse adjacency filled in topological order, so each list follows the
+            // sequence in which the push-based loop would touch the vertex
+            roff = new int[n + 1];
+            for (int i = 0; i < off[n]; i++) roff[tg[i] + 1]++;
+            for (int v = 0; v < n; v++) roff[v + 1] += roff[v];
+            rsrc = new int[off[n]];
+            rw = new int[off[n]];
+            int[] fill = Arrays.copyOf(roff, n);
+            levelOf = new int[n];
+            int levels = n == 0 ? 0 : 1;
+            for (int u : order) {
+                for (int i = off[u]; i < off[u + 1]; i++) {
+                    int v = tg[i];
+                    rsrc[fill[v]] = u;
+                    rw[fill[v]++] = wt[i];
+                    if (levelOf[v] <= levelOf[u]) {
+                        levelOf[v] = levelOf[u] + 1;
+                        levels = Math.max(levels, levelOf[v] + 1);
+                    }
+                }
+            }
+
+            levelStart = new int[levels + 1];
+            for (int v = 0; v < n; v++) levelStart[levelOf[v] + 1]++;
+            for (int l = 0; l < levels; l++) levelStart[l + 1] += levelStart[l];
+            byLevel = new int[n];
+            int[] next = Arrays.copyOf(levelStart, levels);
+            for (int u : order) byLevel[next[levelOf[u]]++] = u;
+        }
+
+        public int getLevelCount() {
+            return levelStart.length - 1;
+        }
+
+        /** @return shortest paths from {@code src}, as {@link DAGShortestPaths} */
+        public PathResult shortest(int src, Metrics metrics) {
+            return run(src, false, metrics);
+        }
+
+        /** @return longest paths from {@code src}, as {@link DAGLongestPath} */
+        public PathResult longest(int src, Metrics metrics) {
+            return run(src, true, metrics);
+        }
+
+        private PathResult run(int src, boolean longest, Metrics metrics) {
+            metrics.startTimer();
+
+            int unreached = longest ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+            int[] dist = new int[n];
+            int[] prev = new int[n];
+            Arrays.fill(dist, unreached);
+            Arrays.fill(prev, -1);
+            dist[src] = 0;
+
+            // vertices reachable from src other than itself sit on later levels
+            long packed = 0;
+            for (int l = levelOf[src] + 1; l < getLevelCount(); l++) {
+                int lo = levelStart[l], hi = levelStart[l + 1];
+                if (hi - lo >= minParallelWidth) {
+                    packed += IntStream.range(lo, hi).parallel()
+                            .mapToLong(k -> pull(byLevel[k], dist, prev, longest, unreached)).sum();
+                } else {
+                    for (int k = lo; k < hi; k++) packed += pull(byLevel[k], dist, prev, longest, unreached);
+                }
+            }
+
+            metrics.add(metrics.register("Edges processed"), packed >>> 32);
+            metrics.add(metrics.register("Relaxations"), packed & 0xFFFFFFFFL);
+            metrics.stopTimer();
+            return new PathResult(dist, prev, metrics, metrics.getExecutionTime());
+        }
+
+        /**
+         * Pulls the distance of {@code v} from its predecessors.
+         * @return edges scanned from reached predecessors in the high 32 bits, improvements in the low 32
+         */
+        private long pull(int v, int[] dist, int[] prev, boolean longest, int unreached) {
+            int best = unreached, from = -1;
+            long edges = 0, relaxations = 0;
+            for (int j = roff[v]; j < roff[v + 1]; j++) {
+                int du = dist[rsrc[j]];
+                if (du == unreached) continue;
+                edges++;
+                int d = du + rw[j];
+                if (longest ? best < d : best > d) {
+                    best = d;
+                    from = rsrc[j];
+                    relaxations++;
+                }
+            }
+            dist[v] = best;
+            prev[v] = from;
+            return edges << 32 | relaxations;
+        }
+    }
+}
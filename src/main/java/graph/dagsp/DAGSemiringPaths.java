@@ -0,0 +1,185 @@
+package graph.dagsp;
+
+import graph.model.CSRGraph;
+import graph.model.GraphView;
+import graph.topo.TopoResult;
+import graph.topo.TopoSort;
+import util.metrics.Metrics;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Single-source dynamic programming over a DAG for any {@link Semiring}.
+ *
+ * <p>Vertices are visited once in topological order, starting at the source, and each
+ * reached vertex extends its value along its out-edges. Values are {@code long}, so sums
+ * of {@code int} weights cannot overflow on any realistic path; path counts saturate at
+ * {@link Long#MAX_VALUE}. Every semiring has its own inner loop over primitive arrays,
+ * so nothing is boxed or dispatched per edge.
+ *
+ * <p>{@link #computeAll} fills several semirings in the same pass over the order, e.g.
+ * shortest, longest, path counts and widest paths together. Predecessors follow the same
+ * rule as {@link DAGShortestPaths}: the first edge that strictly improves a value wins.
+ * Metrics: "Edges processed" and "Relaxations" (value changes, summed over semirings).
+ */
+public class DAGSemiringPaths {
+
+    /**
+     * @param dag directed acyclic graph
+     * @param src source vertex
+     * @param semiring what to compute
+     */
+    public static SemiringResult compute(GraphView dag, int src, Semiring semiring) {
+        return computeAll(dag, src, TopoSort.kahn(dag, Metrics.disabled()), new Metrics(), semiring).get(semiring);
+    }
+
+    /**
+     * @param dag directed acyclic graph
+     * @param src source vertex
+     * @param topo topological order of {@code dag}
+     * @param metrics collector supplied by the caller; {@link Metrics#disabled()} skips instrumentation
+     * @param semiring what to compute
+     */
+    public static SemiringResult compute(GraphView dag, int src, TopoResult topo, Metrics metrics, Semiring semiring) {
+        return computeAll(dag, src, topo, metrics, semiring).get(semiring);
+    }
+
+    /**
+     * Computes several semirings in one pass over the topological order.
+     * @param dag directed acyclic graph
+     * @param src source vertex
+     * @param semirings what to compute; duplicates are ignored
+     * @return one result per requested semiring, sharing the same metrics
+     */
+    public static Map<Semiring, SemiringResult> computeAll(GraphView dag, int src, Semiring... semirings) {
+        return computeAll(dag, src, TopoSort.kahn(dag, Metrics.disabled()), new Metrics(), semirings);
+    }
+
+    /**
+     * Computes several semirings in one pass, reusing a precomputed topological order.
+     * @param dag directed acyclic graph
+     * @param src source vertex
+     * @param topo topological order of {@code dag}
+     * @param metrics collector supplied by the caller; {@link Metrics#disabled()} skips instrumentation
+     * @param semirings what to compute; duplicates are ignored
+     * @return one result per requested semiring, sharing the same metrics
+     * @throws IllegalArgumentException if {@code src} is not a vertex of {@code dag} or
+     *         {@code topo} does not order all of its vertices
+     */
+    public static Map<Semiring, SemiringResult> computeAll(GraphView dag, int src, TopoResult topo,
+                                                         Metrics metrics, Semiring... semirings) {
+        int size = dag.size();
+        if (src < 0 || src >= size)
+            throw new IllegalArgumentException("Source " + src + " out of range for " + size + " vertices");
+        List<Integer> order = topo.getOrder();
+        if (order.size() != size)
+            throw new IllegalArgumentException("Topological order has " + order.size()
+                    + " vertices, expected " + size + "; is the graph cyclic?");
+        // nothing before the source in the order can be reached from it
+        int start = order.indexOf(src);
+        if (start < 0) throw new IllegalArgumentException("Source " + src + " is not in the topological order");
+        metrics.startTimer();
+
+        CSRGraph g = CSRGraph.of(dag);
+        int n = g.size();
+        int[] off = g.offsets(), tg = g.targets(), wt = g.weights();
+        Semiring[] rings = Arrays.stream(semirings).distinct().toArray(Semiring[]::new);
+        int k = rings.length;
+
+        long[][] values = new long[k][];
+        int[][] prev = new int[k][];
+        for (int r = 0; r < k; r++) {
+            values[r] = new long[n];
+            Arrays.fill(values[r], rings[r].zero());
+            values[r][src] = rings[r].one();
+            if (rings[r].hasPredecessors()) {
+                prev[r] = new int[n];
+                Arrays.fill(prev[r], -1);
+            }
+        }
+
+        long edges = 0, relaxations = 0;
+        for (int p = start; p < n; p++) {
+            int u = order.get(p);
+            boolean reached = false;
+            for (int r = 0; r < k; r++) {
+                long[] val = values[r];
+                if (val[u] == rings[r].zero()) continue;
+                reached = true;
+                relaxations += switch (rings[r]) {
+                    case MIN_PLUS -> minPlus(off, tg, wt, u, val, prev[r]);
+                    case MAX_PLUS -> maxPlus(off, tg, wt, u, val, prev[r]);
+                    case PATH_COUNT -> pathCount(off, tg, u, val);
+                    case BOTTLENECK -> bottleneck(off, tg, wt, u, val, prev[r]);
+                };
+            }
+            if (reached) edges += off[u + 1] - off[u];
+        }
+
+        metrics.add(metrics.register("Edges processed"), edges);
+        metrics.add(metrics.register("Relaxations"), relaxations);
+        metrics.stopTimer();
+        long time = metrics.getExecutionTime();
+
+        Map<Semiring, SemiringResult> results = new EnumMap<>(Semiring.class);
+        for (int r = 0; r < k; r++) {
+            results.put(rings[r], new SemiringResult(rings[r], values[r], prev[r], metrics, time));
+        }
+        return results;
+    }
+
+    private static int minPlus(int[] off, int[] tg, int[] wt, int u, long[] val, int[] prev) {
+        long du = val[u];
+        int changed = 0;
+        for (int i = off[u]; i < off[u + 1]; i++) {
+            long d = du + wt[i];
+            if (d < val[tg[i]]) {
+                val[tg[i]] = d;
+                prev[tg[i]] = u;
+                changed++;
+            }
+        }
+        return changed;
+    }
+
+    private static int maxPlus(int[] off, int[] tg, int[] wt, int u, long[] val, int[] prev) {
+        long du = val[u];
+        int changed = 0;
+        for (int i = off[u]; i < off[u + 1]; i++) {
+            long d = du + wt[i];
+            if (d > val[tg[i]]) {
+                val[tg[i]] = d;
+                prev[tg[i]] = u;
+                changed++;
+            }
+        }
+        return changed;
+    }
+
+    private static int pathCount(int[] off, int[] tg, int u, long[] val) {
+        long cu = val[u];
+        for (int i = off[u]; i < off[u + 1]; i++) {
+            long c = val[tg[i]] + cu;
+            // both terms are non-negative, so a negative sum means overflow
+            val[tg[i]] = c < 0 ? Long.MAX_VALUE : c;
+        }
+        return off[u + 1] - off[u];
+    }
+
+    private static int bottleneck(int[] off, int[] tg, int[] wt, int u, long[] val, int[] prev) {
+        long cu = val[u];
+        int changed = 0;
+        for (int i = off[u]; i < off[u + 1]; i++) {
+            long c = Math.min(cu, wt[i]);
+            if (c > val[tg[i]]) {
+                val[tg[i]] = c;
+                prev[tg[i]] = u;
+                changed++;
+            }
+        }
+        return changed;
+    }
+}
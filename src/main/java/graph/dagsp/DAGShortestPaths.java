@@ -1,6 +1,6 @@
 package graph.dagsp;
 
-import graph.model.Graph;
+import graph.model.GraphView;
 import graph.topo.TopoSort;
 import graph.topo.TopoResult;
 import util.metrics.Metrics;
@@ -12,19 +12,39 @@ import java.util.List;
  */
 public class DAGShortestPaths {
 
+    /**
+     * Computes shortest paths from a single source in a DAG with fresh metrics.
+     * @param dag directed acyclic graph
+     * @param src source vertex
+     * @return shortest path distances and predecessors
+     */
+    public static PathResult computeShortest(GraphView dag, int src) {
+        return computeShortest(dag, src, new Metrics());
+    }
+
     /**
      * Computes shortest paths from a single source in a DAG.
      * @param dag directed acyclic graph
      * @param src source vertex
+     * @param metrics collector supplied by the caller; {@link Metrics#disabled()} skips instrumentation
      * @return shortest path distances and predecessors
      */
-    public static PathResult computeShortest(Graph dag, int src) {
-        Metrics metrics = new Metrics();
+    public static PathResult computeShortest(GraphView dag, int src, Metrics metrics) {
+        return computeShortest(dag, src, TopoSort.kahn(dag, Metrics.disabled()), metrics);
+    }
+
+    /**
+     * Computes shortest paths from a single source, reusing a precomputed topological order.
+     * @param dag directed acyclic graph
+     * @param src source vertex
+     * @param topo topological order of {@code dag}, e.g. from an analysis cache
+     * @param metrics collector supplied by the caller; {@link Metrics#disabled()} skips instrumentation
+     * @return shortest path distances and predecessors
+     */
+    public static PathResult computeShortest(GraphView dag, int src, TopoResult topo, Metrics metrics) {
         metrics.startTimer();
 
-        // Topological order
-        TopoResult topoResult = TopoSort.kahn(dag);
-        List<Integer> topoOrder = topoResult.getOrder();
+        List<Integer> topoOrder = topo.getOrder();
 
         int n = dag.size();
         int[] dist = new int[n];
@@ -35,25 +55,30 @@ public class DAGShortestPaths {
             prev[i] = -1;
         }
         dist[src] = 0;
+        long edges = 0, relaxations = 0;
 
         // Relax edges in topological order
         for (int u : topoOrder) {
             if (dist[u] != Integer.MAX_VALUE) {
-                for (var e : dag.getEdges(u)) {
-                    metrics.incrementCounter("Edges processed");
-                    if (dist[e.v] > dist[u] + e.w) {
-                        dist[e.v] = dist[u] + e.w;
-                        prev[e.v] = u;
-                        metrics.incrementCounter("Relaxations");
+                int deg = dag.outDegree(u);
+                for (int i = 0; i < deg; i++) {
+                    int v = dag.target(u, i);
+                    int w = dag.weight(u, i);
+                    if (dist[v] > dist[u] + w) {
+                        dist[v] = dist[u] + w;
+                        prev[v] = u;
+                        relaxations++;
                     }
                 }
+                edges += deg;
             }
         }
 
+        metrics.add(metrics.register("Edges processed"), edges);
+        metrics.add(metrics.register("Relaxations"), relaxations);
         metrics.stopTimer();
         long time = metrics.getExecutionTime();
 
-
         return new PathResult(dist, prev, metrics, time);
     }
 }
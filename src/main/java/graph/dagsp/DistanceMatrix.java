@@ -0,0 +1,58 @@
+package graph.dagsp;
+
+import java.util.Arrays;
+
+/**
+ * Distances from several sources, stored row-major in one flat {@code int[]}.
+ * Row {@code r} holds the distances from {@code sources()[r]} to every vertex;
+ * unreachable vertices keep the sentinel of the algorithm that filled the row.
+ */
+public class DistanceMatrix {
+    private final int[] sources;
+    private final int n;
+    private final int[] data;
+
+    DistanceMatrix(int[] sources, int n, int[] data) {
+        this.sources = sources;
+        this.n = n;
+        this.data = data;
+    }
+
+    /** @return source vertex of every row */
+    public int[] sources() {
+        return sources.clone();
+    }
+
+    /** @return number of rows */
+    public int rows() {
+        return sources.length;
+    }
+
+    /** @return number of vertices (columns) */
+    public int columns() {
+        return n;
+    }
+
+    /**
+     * @param row row index
+     * @param v target vertex
+     * @return distance from {@code sources()[row]} to {@code v}
+     */
+    public int get(int row, int v) {
+        return data[row * n + v];
+    }
+
+    /** @return a copy of one row */
+    public int[] row(int row) {
+        return Arrays.copyOfRange(data, row * n, row * n + n);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("Distance matrix: " + sources.length + " x " + n + "\n");
+        for (int r = 0; r < sources.length; r++) {
+            sb.append(sources[r]).append(" -> ").append(Arrays.toString(row(r))).append("\n");
+        }
+        return sb.toString();
+    }
+}
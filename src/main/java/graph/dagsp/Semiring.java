@@ -0,0 +1,40 @@
+package graph.dagsp;
+
+/**
+ * Path semirings supported by {@link DAGSemiringPaths}. A semiring fixes how a value is
+ * extended along an edge and how the values of alternative paths are combined.
+ * All values are {@code long}.
+ */
+public enum Semiring {
+    /** Shortest path: min over paths of the weight sum. Unreached: {@link Long#MAX_VALUE}. */
+    MIN_PLUS(Long.MAX_VALUE, 0),
+    /** Longest path: max over paths of the weight sum. Unreached: {@link Long#MIN_VALUE}. */
+    MAX_PLUS(Long.MIN_VALUE, 0),
+    /** Number of distinct paths, saturating at {@link Long#MAX_VALUE}; weights are ignored. */
+    PATH_COUNT(0, 1),
+    /** Widest path (max-min): max over paths of the smallest edge weight. Unreached: {@link Long#MIN_VALUE}. */
+    BOTTLENECK(Long.MIN_VALUE, Long.MAX_VALUE);
+
+    private final long zero;
+    private final long one;
+
+    Semiring(long zero, long one) {
+        this.zero = zero;
+        this.one = one;
+    }
+
+    /** @return value of a vertex no path reaches */
+    public long zero() {
+        return zero;
+    }
+
+    /** @return value of the source: the empty path */
+    public long one() {
+        return one;
+    }
+
+    /** @return whether predecessors are tracked; counting has no single best predecessor */
+    public boolean hasPredecessors() {
+        return this != PATH_COUNT;
+    }
+}
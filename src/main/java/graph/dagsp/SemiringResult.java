@@ -0,0 +1,72 @@
+package graph.dagsp;
+
+import util.metrics.Metrics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Values computed by {@link DAGSemiringPaths} for one semiring.
+ */
+public class SemiringResult {
+    private final Semiring semiring;
+    private final long[] values;
+    private final int[] prev;
+    private final Metrics metrics;
+    private final long timeNs;
+
+    public SemiringResult(Semiring semiring, long[] values, int[] prev, Metrics metrics, long timeNs) {
+        this.semiring = semiring;
+        this.values = values;
+        this.prev = prev;
+        this.metrics = metrics;
+        this.timeNs = timeNs;
+    }
+
+    public Semiring getSemiring() {
+        return semiring;
+    }
+
+    /** @return value of every vertex; unreached vertices hold {@link Semiring#zero()} */
+    public long[] getValues() {
+        return values;
+    }
+
+    /** @return best predecessor of every vertex, or null for {@link Semiring#PATH_COUNT} */
+    public int[] getPrev() {
+        return prev;
+    }
+
+    public boolean isReachable(int v) {
+        return values[v] != semiring.zero();
+    }
+
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    public long getTimeNs() {
+        return timeNs;
+    }
+
+    /**
+     * Reconstructs the best path from the source to {@code target}.
+     * @return the path, or an empty list if {@code target} is unreachable
+     * @throws UnsupportedOperationException for {@link Semiring#PATH_COUNT}
+     */
+    public List<Integer> reconstructPath(int target) {
+        if (prev == null)
+            throw new UnsupportedOperationException(semiring + " does not track predecessors");
+        List<Integer> path = new ArrayList<>();
+        if (!isReachable(target)) return path;
+        for (int at = target; at != -1; at = prev[at]) path.add(0, at);
+        return path;
+    }
+
+    @Override
+    public String toString() {
+        return semiring + " values: " + Arrays.toString(values)
+                + "\nTime: " + timeNs + " ns";
+    }
+}
@@ -0,0 +1,273 @@
+package graph.model;
+
+import java.util.Arrays;
+
+/**
+ * Immutable graph in compressed sparse row (CSR) form.
+ *
+ * <p>The outgoing edges of vertex {@code u} occupy the index range
+ * {@code [offsets[u], offsets[u + 1])} of the {@code targets} and {@code weights}
+ * arrays. An edge costs two ints (8 bytes) instead of an {@link Edge} object plus
+ * a list slot, and neighbour scans walk contiguous memory.
+ *
+ * <p>Instances are created with {@link #fromGraph(Graph)} or a {@link Builder}.
+ */
+public final class CSRGraph implements GraphView {
+    private final int n;
+    private final boolean directed;
+    private final int edgeCount;
+    private final int[] offsets;
+    private final int[] targets;
+    private final int[] weights;
+    private volatile CSRGraph reversed;
+
+    private CSRGraph(int n, boolean directed, int edgeCount,
+                     int[] offsets, int[] targets, int[] weights) {
+        this.n = n;
+        this.directed = directed;
+        this.edgeCount = edgeCount;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    /**
+     * Copies an adjacency-list graph into CSR form, preserving edge order.
+     * @param g source graph
+     * @return an immutable CSR copy
+     */
+    public static CSRGraph fromGraph(Graph g) {
+        int n = g.size();
+        int[] offsets = new int[n + 1];
+        for (int u = 0; u < n; u++) offsets[u + 1] = offsets[u] + g.outDegree(u);
+
+        int[] targets = new int[offsets[n]];
+        int[] weights = new int[offsets[n]];
+        for (int u = 0; u < n; u++) {
+            int pos = offsets[u];
+            for (Edge e : g.getEdges(u)) {
+                targets[pos] = e.v;
+                weights[pos] = e.w;
+                pos++;
+            }
+        }
+        return new CSRGraph(n, g.isDirected(), g.getEdgeCount(), offsets, targets, weights);
+    }
+
+    /**
+     * Returns the graph itself if it is already in CSR form, otherwise a CSR copy.
+     * @param g any graph view
+     * @return a CSR graph with the same adjacency
+     */
+    public static CSRGraph of(GraphView g) {
+        if (g instanceof CSRGraph csr) return csr;
+        if (g instanceof Graph list) return fromGraph(list);
+
+        int n = g.size();
+        int[] offsets = new int[n + 1];
+        for (int u = 0; u < n; u++) offsets[u + 1] = offsets[u] + g.outDegree(u);
+        int[] targets = new int[offsets[n]];
+        int[] weights = new int[offsets[n]];
+        for (int u = 0; u < n; u++) {
+            for (int i = 0, deg = g.outDegree(u); i < deg; i++) {
+                targets[offsets[u] + i] = g.target(u, i);
+                weights[offsets[u] + i] = g.weight(u, i);
+            }
+        }
+        return new CSRGraph(n, g.isDirected(), g.getEdgeCount(), offsets, targets, weights);
+    }
+
+    /**
+     * Wraps already-built CSR arrays without copying them.
+     * The caller must not modify the arrays afterwards.
+     */
+    public static CSRGraph wrap(int n, boolean directed, int edgeCount,
+                                int[] offsets, int[] targets, int[] weights) {
+        if (offsets.length != n + 1 || targets.length != offsets[n] || weights.length != offsets[n])
+            throw new IllegalArgumentException("Inconsistent CSR array lengths.");
+        return new CSRGraph(n, directed, edgeCount, offsets, targets, weights);
+    }
+
+    @Override
+    public int size() {
+        return n;
+    }
+
+    @Override
+    public int getEdgeCount() {
+        return edgeCount;
+    }
+
+    @Override
+    public boolean isDirected() {
+        return directed;
+    }
+
+    @Override
+    public int outDegree(int u) {
+        return offsets[u + 1] - offsets[u];
+    }
+
+    @Override
+    public int target(int u, int i) {
+        return targets[offsets[u] + i];
+    }
+
+    @Override
+    public int weight(int u, int i) {
+        return weights[offsets[u] + i];
+    }
+
+    /** @return row offsets, length {@code size() + 1}; must not be modified */
+    public int[] offsets() {
+        return offsets;
+    }
+
+    /** @return edge targets, indexed by the row offsets; must not be modified */
+    public int[] targets() {
+        return targets;
+    }
+
+    /** @return edge weights, indexed by the row offsets; must not be modified */
+    public int[] weights() {
+        return weights;
+    }
+
+    /**
+     * Builds the transposed graph once and caches it.
+     * Edges of each reversed row keep the order of their original source vertices.
+     */
+    @Override
+    public CSRGraph getReversed() {
+        CSRGraph rev = reversed;
+        if (rev == null) {
+            int[] revOffsets = new int[n + 1];
+            for (int i = 0; i < offsets[n]; i++) revOffsets[targets[i] + 1]++;
+            for (int v = 0; v < n; v++) revOffsets[v + 1] += revOffsets[v];
+
+            int[] cursor = Arrays.copyOf(revOffsets, n);
+            int[] revTargets = new int[offsets[n]];
+            int[] revWeights = new int[offsets[n]];
+            for (int u = 0; u < n; u++) {
+                for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                    int pos = cursor[targets[i]]++;
+                    revTargets[pos] = u;
+                    revWeights[pos] = weights[i];
+                }
+            }
+            rev = new CSRGraph(n, directed, edgeCount, revOffsets, revTargets, revWeights);
+            reversed = rev;
+        }
+        return rev;
+    }
+
+    /** @return a mutable adjacency-list copy of this graph */
+    public Graph toGraph() {
+        Graph g = new Graph(n, directed);
+        for (int u = 0; u < n; u++) {
+            // an undirected self-loop is stored as two adjacent copies in u's own list
+            boolean secondLoopCopy = false;
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                int v = targets[i];
+                if (!directed && u == v) {
+                    secondLoopCopy = !secondLoopCopy;
+                    if (!secondLoopCopy) continue;
+                }
+                // undirected edges are stored twice; add each once from its lower endpoint
+                if (directed || u <= v) g.addEdge(u, v, weights[i]);
+            }
+        }
+        return g;
+    }
+
+    /** Receives edges as primitive triples. */
+    @FunctionalInterface
+    public interface EdgeVisitor {
+        void accept(int u, int v, int w);
+    }
+
+    /**
+     * Collects edges into primitive arrays and packs them into a {@link CSRGraph}
+     * with a counting sort. Edges of the same source keep insertion order.
+     */
+    public static final class Builder {
+        private int n;
+        private boolean directed;
+        private int count;
+        private int[] us = new int[16];
+        private int[] vs = new int[16];
+        private int[] ws = new int[16];
+
+        public Builder(int n, boolean directed) {
+            this.n = n;
+            this.directed = directed;
+        }
+
+        /** Sets the vertex count; useful when it is only known after the edges. */
+        public Builder vertices(int n) {
+            this.n = n;
+            return this;
+        }
+
+        /** Sets whether the graph is directed. */
+        public Builder directed(boolean directed) {
+            this.directed = directed;
+            return this;
+        }
+
+        public Builder addEdge(int u, int v, int w) {
+            if (count == us.length) {
+                int cap = us.length * 2;
+                us = Arrays.copyOf(us, cap);
+                vs = Arrays.copyOf(vs, cap);
+                ws = Arrays.copyOf(ws, cap);
+            }
+            us[count] = u;
+            vs[count] = v;
+            ws[count] = w;
+            count++;
+            return this;
+        }
+
+        /** @return number of edges added so far */
+        public int edgeCount() {
+            return count;
+        }
+
+        /** Replays the added edges in insertion order. */
+        public void forEachEdge(EdgeVisitor visitor) {
+            for (int i = 0; i < count; i++) visitor.accept(us[i], vs[i], ws[i]);
+        }
+
+        public CSRGraph build() {
+            if (n < 0) throw new IllegalArgumentException("Vertex count must be non-negative: " + n);
+            for (int i = 0; i < count; i++) {
+                if (us[i] < 0 || us[i] >= n || vs[i] < 0 || vs[i] >= n)
+                    throw new IllegalArgumentException(
+                            "Edge " + us[i] + "->" + vs[i] + " out of range for n = " + n);
+            }
+
+            int[] offsets = new int[n + 1];
+            for (int i = 0; i < count; i++) {
+                offsets[us[i] + 1]++;
+                if (!directed) offsets[vs[i] + 1]++;
+            }
+            for (int u = 0; u < n; u++) offsets[u + 1] += offsets[u];
+
+            int[] cursor = Arrays.copyOf(offsets, n);
+            int[] targets = new int[offsets[n]];
+            int[] weights = new int[offsets[n]];
+            for (int i = 0; i < count; i++) {
+                int pos = cursor[us[i]]++;
+                targets[pos] = vs[i];
+                weights[pos] = ws[i];
+                if (!directed) {
+                    pos = cursor[vs[i]]++;
+                    targets[pos] = us[i];
+                    weights[pos] = ws[i];
+                }
+            }
+            return new CSRGraph(n, directed, count, offsets, targets, weights);
+        }
+    }
+}
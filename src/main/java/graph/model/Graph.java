@@ -2,7 +2,7 @@ package graph.model;
 
 import java.util.*;
 
-public class Graph {
+public class Graph implements GraphView {
     private final int n;
     private final boolean directed;
     private final List<List<Edge>> adj;
@@ -32,10 +32,32 @@ public class Graph {
         return adj.get(u);
     }
 
+    @Override
     public int size() {
         return n;
     }
 
+    @Override
+    public boolean isDirected() {
+        return directed;
+    }
+
+    @Override
+    public int outDegree(int u) {
+        return adj.get(u).size();
+    }
+
+    @Override
+    public int target(int u, int i) {
+        return adj.get(u).get(i).v;
+    }
+
+    @Override
+    public int weight(int u, int i) {
+        return adj.get(u).get(i).w;
+    }
+
+    @Override
     public Graph getReversed() {
         Graph rev = new Graph(n, directed);
         for (int u = 0; u < n; u++) {
@@ -45,6 +67,8 @@ public class Graph {
         }
         return rev;
     }
+
+    @Override
     public int getEdgeCount() {
         int count = 0;
         for (List<Edge> edges : adj) {
@@ -0,0 +1,44 @@
+package graph.model;
+
+/**
+ * Read-only view of a weighted graph.
+ *
+ * <p>Adjacency is exposed by index rather than through {@link Edge} objects, so
+ * algorithms written against this interface can scan neighbours without boxing
+ * or per-edge allocation. Both the list-based {@link Graph} and the compact
+ * {@link CSRGraph} implement it.
+ */
+public interface GraphView {
+
+    /** @return number of vertices */
+    int size();
+
+    /** @return number of edges (each undirected edge counted once) */
+    int getEdgeCount();
+
+    /** @return true if the graph is directed */
+    boolean isDirected();
+
+    /**
+     * @param u vertex id
+     * @return number of outgoing adjacency entries of {@code u}
+     */
+    int outDegree(int u);
+
+    /**
+     * @param u vertex id
+     * @param i adjacency index, {@code 0 <= i < outDegree(u)}
+     * @return target vertex of the i-th outgoing edge of {@code u}
+     */
+    int target(int u, int i);
+
+    /**
+     * @param u vertex id
+     * @param i adjacency index, {@code 0 <= i < outDegree(u)}
+     * @return weight of the i-th outgoing edge of {@code u}
+     */
+    int weight(int u, int i);
+
+    /** @return a graph with every edge reversed */
+    GraphView getReversed();
+}
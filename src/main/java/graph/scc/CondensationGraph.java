@@ -1,29 +1,205 @@
 package graph.scc;
 
+import graph.model.CSRGraph;
 import graph.model.Graph;
-import java.util.*;
+import graph.model.GraphView;
 
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Builds the condensation DAG of a graph: one vertex per SCC, one edge per pair of
+ * components joined by at least one original edge.
+ *
+ * <p>Deduplication works on primitive arrays only. Vertices are bucketed by component
+ * with a counting sort, then each component's outgoing edges are scanned against a
+ * {@code mark}/{@code pos} pair indexed by target component, so parallel edges are
+ * found without building keys. The result is written straight into CSR arrays in two
+ * passes (count, then fill). Components are independent, so both passes can run in
+ * parallel; the output is identical either way.
+ *
+ * <p>Within each component, edges keep the order in which their target component is
+ * first reached when scanning vertices by increasing id.
+ */
 public class CondensationGraph {
 
-    public static Graph build(Graph original, SCCResult sccResult) {
-        int compCount = sccResult.size();
-        Graph dag = new Graph(compCount,true);
-
-        int[] compOf = sccResult.getCompOfVertex();
-        Set<String> seenEdges = new HashSet<>();
-
-        for (int u = 0; u < original.size(); u++) {
-            for (var e : original.getEdges(u)) {
-                int cu = compOf[u];
-                int cv = compOf[e.v];
-                if (cu != cv) {
-                    String key = cu + "-" + cv;
-                    if (seenEdges.add(key)) {
-                        dag.addEdge(cu, cv, e.w);
+    /** Edge count from which {@link #buildCSR(GraphView, SCCResult, WeightPolicy)} goes parallel. */
+    public static final int PARALLEL_THRESHOLD = 1 << 20;
+
+    /** How the weights of parallel edges between two components are combined. */
+    public enum WeightPolicy {
+        /** Keep the weight of the first edge found. */
+        FIRST,
+        MIN,
+        MAX,
+        /** Sum all weights; throws {@link ArithmeticException} on int overflow. */
+        SUM;
+
+        int combine(int acc, int w) {
+            return switch (this) {
+                case FIRST -> acc;
+                case MIN -> Math.min(acc, w);
+                case MAX -> Math.max(acc, w);
+                case SUM -> Math.addExact(acc, w);
+            };
+        }
+    }
+
+    /**
+     * Builds the condensation as a mutable {@link Graph}, keeping the first edge
+     * between each pair of components.
+     */
+    public static Graph build(GraphView original, SCCResult sccResult) {
+        return buildCSR(original, sccResult, WeightPolicy.FIRST, false).toGraph();
+    }
+
+    /**
+     * Builds the condensation in CSR form, keeping the first edge between each pair of
+     * components; runs in parallel on large inputs.
+     */
+    public static CSRGraph buildCSR(GraphView original, SCCResult sccResult) {
+        return buildCSR(original, sccResult, WeightPolicy.FIRST);
+    }
+
+    /**
+     * Builds the condensation in CSR form; runs in parallel once the graph has at least
+     * {@link #PARALLEL_THRESHOLD} edges and more than one processor is available.
+     */
+    public static CSRGraph buildCSR(GraphView original, SCCResult sccResult, WeightPolicy policy) {
+        boolean parallel = original.getEdgeCount() >= PARALLEL_THRESHOLD
+                && Runtime.getRuntime().availableProcessors() > 1;
+        return buildCSR(original, sccResult, policy, parallel);
+    }
+
+    /**
+     * Builds the condensation in CSR form.
+     * @param original the decomposed graph
+     * @param sccResult its strongly connected components
+     * @param policy how parallel edges between two components are combined
+     * @param parallel whether to process components on the common ForkJoin pool
+     * @return the condensation DAG, numbered like {@code sccResult}
+     */
+    public static CSRGraph buildCSR(GraphView original, SCCResult sccResult, WeightPolicy policy, boolean parallel) {
+        Builder b = new Builder(original, sccResult, policy);
+        int k = b.k;
+
+        if (parallel) {
+            // one chunk of components per worker; its scratch is local to the chunk and
+            // becomes garbage when the chunk is done, so nothing stays behind in the pool
+            int[] bounds = chunks(b.start, k, ForkJoinPool.getCommonPoolParallelism());
+            IntStream.range(0, bounds.length - 1).parallel().forEach(t -> {
+                int[] mark = b.newMark();
+                for (int c = bounds[t]; c < bounds[t + 1]; c++) b.count(c, mark);
+            });
+            b.allocate();
+            IntStream.range(0, bounds.length - 1).parallel().forEach(t -> {
+                int[] mark = b.newMark(), pos = new int[k];
+                for (int c = bounds[t]; c < bounds[t + 1]; c++) b.fill(c, mark, pos);
+            });
+        } else {
+            int[] mark = b.newMark(), pos = new int[k];
+            for (int c = 0; c < k; c++) b.count(c, mark);
+            b.allocate();
+            for (int c = 0; c < k; c++) b.fill(c, mark, pos);
+        }
+        return CSRGraph.wrap(k, true, b.offsets[k], b.offsets, b.targets, b.weights);
+    }
+
+    /**
+     * Splits components {@code [0, k)} into at most {@code parts} contiguous ranges with about
+     * the same number of member vertices each.
+     * @param start member offsets per component, {@code k + 1} entries
+     * @return range boundaries, starting at 0 and ending at k
+     */
+    static int[] chunks(int[] start, int k, int parts) {
+        parts = Math.max(1, Math.min(parts, k));
+        int n = start[k];
+        int[] bounds = new int[parts + 1];
+        for (int t = 1; t < parts; t++) {
+            int c = Arrays.binarySearch(start, 0, k + 1, (int) ((long) n * t / parts));
+            if (c < 0) c = -c - 1;
+            bounds[t] = Math.max(bounds[t - 1], Math.min(c, k));
+        }
+        bounds[parts] = k;
+        return bounds;
+    }
+
+    /** Shared state of one construction; count and fill work on one component at a time. */
+    private static final class Builder {
+        final GraphView g;
+        final WeightPolicy policy;
+        final int k;
+        final int[] compOf, start, members, offsets;
+        int[] targets, weights;
+
+        Builder(GraphView g, SCCResult sccResult, WeightPolicy policy) {
+            this.g = g;
+            this.policy = policy;
+            int n = g.size();
+            k = sccResult.size();
+            compOf = sccResult.getCompOfVertex();
+
+            // vertices grouped by component, ascending within each group
+            start = new int[k + 1];
+            for (int v = 0; v < n; v++) start[compOf[v] + 1]++;
+            for (int c = 0; c < k; c++) start[c + 1] += start[c];
+            members = new int[n];
+            int[] next = Arrays.copyOf(start, k);
+            for (int v = 0; v < n; v++) members[next[compOf[v]]++] = v;
+            offsets = new int[k + 1];
+        }
+
+        /**
+         * mark[d] holds the stamp of the last component that reached d with this scratch.
+         * Stamps are c in the count pass and k + c in the fill pass, so they never need clearing.
+         */
+        int[] newMark() {
+            int[] mark = new int[k];
+            Arrays.fill(mark, -1);
+            return mark;
+        }
+
+        void count(int c, int[] mark) {
+            int distinct = 0;
+            for (int m = start[c]; m < start[c + 1]; m++) {
+                int u = members[m];
+                for (int i = 0, deg = g.outDegree(u); i < deg; i++) {
+                    int d = compOf[g.target(u, i)];
+                    if (d != c && mark[d] != c) {
+                        mark[d] = c;
+                        distinct++;
+                    }
+                }
+            }
+            offsets[c + 1] = distinct;
+        }
+
+        void allocate() {
+            for (int c = 0; c < k; c++) offsets[c + 1] += offsets[c];
+            targets = new int[offsets[k]];
+            weights = new int[offsets[k]];
+        }
+
+        void fill(int c, int[] mark, int[] pos) {
+            int stamp = k + c;
+            int out = offsets[c];
+            for (int m = start[c]; m < start[c + 1]; m++) {
+                int u = members[m];
+                for (int i = 0, deg = g.outDegree(u); i < deg; i++) {
+                    int d = compOf[g.target(u, i)];
+                    if (d == c) continue;
+                    int w = g.weight(u, i);
+                    if (mark[d] != stamp) {
+                        mark[d] = stamp;
+                        pos[d] = out;
+                        targets[out] = d;
+                        weights[out++] = w;
+                    } else {
+                        weights[pos[d]] = policy.combine(weights[pos[d]], w);
                     }
                 }
             }
         }
-        return dag;
     }
 }
@@ -0,0 +1,413 @@
+package graph.scc;
+
+import graph.model.CSRGraph;
+import graph.model.GraphView;
+import util.metrics.Metrics;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Strongly connected components maintained under edge insertions.
+ *
+ * <p>The structure keeps, in place, the component of every vertex, the member list and
+ * the edges of every component, and a topological order of the condensation. Inserting
+ * {@code u -> v} between components already in order costs O(1). Otherwise a
+ * Pearce-Kelly search runs over the components positioned between the two endpoints:
+ * the components reachable from {@code v} and those reaching {@code u}. If the two sets
+ * meet, the new edge closes a cycle and every component in the intersection is merged
+ * into one. The sets are then reordered within the positions they already occupy, so an
+ * insertion costs time proportional to that region rather than O(n + m).
+ *
+ * <p>Merges move the smaller member and edge lists into the larger ones, so each vertex
+ * and edge is relabelled or copied O(log n) times overall.
+ *
+ * <p>Component ids returned by {@link #componentOf(int)} are stable vertex ids (one member
+ * of the component) and are not dense. {@link #snapshot()} and {@link #condensation()}
+ * number components densely in topological order, as the batch engines do.
+ *
+ * <p>Metrics: "Edges inserted", "Reorders", "Components visited" and "Merges"
+ * (components absorbed into another).
+ */
+public class IncrementalSCC {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private final int n;
+    private final Metrics metrics;
+    private final int edgesInserted, reorders, visited, merges;
+
+    /** comp[v] is the id of v's component; component ids are vertex ids. */
+    private final int[] comp;
+    // per component: members, outgoing edges (target vertex, weight), incoming edges (source vertex)
+    private final int[][] members, outT, outW, inS;
+    private final int[] memberCount, outSize, inSize;
+    // ord[c] is the position of component c; at[p] is the component at p, or -1 for a freed slot
+    private final int[] ord, at;
+    private int components;
+    private int edgeCount;
+
+    // scratch space for one insertion
+    private final int[] markF, markB, stack, forward, backward, slots, merged;
+    private int stamp;
+
+    /**
+     * Creates an edgeless graph: {@code n} singleton components.
+     * @param n number of vertices
+     */
+    public IncrementalSCC(int n) {
+        this(n, new Metrics());
+    }
+
+    /**
+     * Creates an edgeless graph: {@code n} singleton components.
+     * @param n number of vertices
+     * @param metrics collector supplied by the caller; {@link Metrics#disabled()} skips instrumentation
+     */
+    public IncrementalSCC(int n, Metrics metrics) {
+        this.n = n;
+        this.metrics = metrics;
+        this.edgesInserted = metrics.register("Edges inserted");
+        this.reorders = metrics.register("Reorders");
+        this.visited = metrics.register("Components visited");
+        this.merges = metrics.register("Merges");
+
+        comp = new int[n];
+        members = new int[n][];
+        outT = new int[n][];
+        outW = new int[n][];
+        inS = new int[n][];
+        memberCount = new int[n];
+        outSize = new int[n];
+        inSize = new int[n];
+        ord = new int[n];
+        at = new int[n];
+        for (int v = 0; v < n; v++) {
+            comp[v] = ord[v] = at[v] = v;
+            members[v] = new int[]{v};
+            memberCount[v] = 1;
+        }
+        components = n;
+
+        markF = new int[n];
+        markB = new int[n];
+        stack = new int[n];
+        forward = new int[n];
+        backward = new int[n];
+        slots = new int[n];
+        merged = new int[n];
+    }
+
+    /**
+     * Seeds the structure with an existing graph, decomposed once by Tarjan's algorithm.
+     * @param g initial graph
+     */
+    public static IncrementalSCC of(GraphView g) {
+        return of(g, new Metrics());
+    }
+
+    /**
+     * Seeds the structure with an existing graph, decomposed once by Tarjan's algorithm.
+     * @param g initial graph
+     * @param metrics collector supplied by the caller
+     */
+    public static IncrementalSCC of(GraphView g, Metrics metrics) {
+        IncrementalSCC s = new IncrementalSCC(g.size(), metrics);
+        SCCResult res = new SCCTarjan(g, Metrics.disabled()).run();
+        Arrays.fill(s.at, -1);
+        Arrays.fill(s.members, null);
+        for (int p = 0; p < res.size(); p++) {
+            int[] mem = res.membersOf(p);
+            int id = mem[0];
+            for (int x : mem) s.comp[x] = id;
+            s.members[id] = mem;
+            s.memberCount[id] = mem.length;
+            s.ord[id] = p;
+            s.at[p] = id;
+        }
+        for (int v = 0; v < g.size(); v++) if (s.members[v] == null) s.memberCount[v] = 0;
+        s.components = res.size();
+        // Tarjan numbers components topologically, so every edge already fits the order
+        for (int u = 0; u < g.size(); u++) {
+            for (int i = 0; i < g.outDegree(u); i++) s.link(u, g.target(u, i), g.weight(u, i));
+        }
+        return s;
+    }
+
+    /** Inserts {@code u -> v} with weight 1. */
+    public void addEdge(int u, int v) {
+        addEdge(u, v, 1);
+    }
+
+    /**
+     * Inserts {@code u -> v}, merging components if the edge closes a cycle.
+     * @param u source vertex
+     * @param v target vertex
+     * @param w edge weight
+     */
+    public void addEdge(int u, int v, int w) {
+        Objects.checkIndex(u, n);
+        Objects.checkIndex(v, n);
+        int cu = comp[u], cv = comp[v];
+        if (cu != cv && ord[cv] < ord[cu]) {
+            reorder(cu, cv);
+            metrics.increment(reorders);
+        }
+        link(u, v, w);
+        metrics.increment(edgesInserted);
+    }
+
+    /**
+     * Restores the order after an edge cu -> cv that points backwards, merging the
+     * components that lie on a cycle through it.
+     */
+    private void reorder(int cu, int cv) {
+        int lb = ord[cv], ub = ord[cu];
+
+        // forward: components reachable from cv, positioned at or before cu
+        int sF = nextStamp();
+        int top = 0, f = 0;
+        markF[cv] = sF;
+        stack[top++] = cv;
+        while (top > 0) {
+            int c = stack[--top];
+            forward[f++] = c;
+            int[] t = outT[c], w = outW[c];
+            int kept = 0;
+            for (int i = 0, d = outSize[c]; i < d; i++) {
+                int y = comp[t[i]];
+                // edges that became internal through an earlier merge are dropped here, once
+                if (y == c) continue;
+                t[kept] = t[i];
+                w[kept++] = w[i];
+                if (markF[y] != sF && ord[y] <= ub) {
+                    markF[y] = sF;
+                    stack[top++] = y;
+                }
+            }
+            outSize[c] = kept;
+        }
+
+        // backward: components reaching cu, positioned at or after cv
+        int sB = sF;
+        markB[cu] = sB;
+        stack[top++] = cu;
+        int b = 0;
+        while (top > 0) {
+            int c = stack[--top];
+            backward[b++] = c;
+            int[] s = inS[c];
+            int kept = 0;
+            for (int i = 0, d = inSize[c]; i < d; i++) {
+                int y = comp[s[i]];
+                if (y == c) continue;
+                s[kept++] = s[i];
+                if (markB[y] != sB && ord[y] >= lb) {
+                    markB[y] = sB;
+                    stack[top++] = y;
+                }
+            }
+            inSize[c] = kept;
+        }
+        metrics.add(visited, f + b);
+
+        // components both reachable from cv and reaching cu lie on a cycle with the new edge
+        int m = 0;
+        if (markF[cu] == sF) {
+            for (int i = 0; i < f; i++) if (markB[forward[i]] == sB) merged[m++] = forward[i];
+        }
+
+        // every involved position, then: backward-only, merged, forward-only, by old position
+        int k = 0;
+        for (int i = 0; i < f; i++) slots[k++] = ord[forward[i]];
+        for (int i = 0; i < b; i++) if (markF[backward[i]] != sF) slots[k++] = ord[backward[i]];
+        Arrays.sort(slots, 0, k);
+        int b2 = 0, f2 = 0;
+        for (int i = 0; i < b; i++) if (markF[backward[i]] != sF) backward[b2++] = ord[backward[i]];
+        for (int i = 0; i < f; i++) if (markB[forward[i]] != sB) forward[f2++] = ord[forward[i]];
+        Arrays.sort(backward, 0, b2);
+        Arrays.sort(forward, 0, f2);
+        for (int i = 0; i < b2; i++) backward[i] = at[backward[i]];
+        for (int i = 0; i < f2; i++) forward[i] = at[forward[i]];
+        for (int i = 0; i < k; i++) at[slots[i]] = -1;
+
+        // backward-only components take the lowest slots and forward-only the highest,
+        // so none of them moves past a neighbour outside the region
+        for (int i = 0; i < b2; i++) place(backward[i], slots[i]);
+        for (int i = 0; i < f2; i++) place(forward[i], slots[k - f2 + i]);
+        if (m > 0) {
+            int survivor = merge(m);
+            place(survivor, slots[b2]);
+        }
+    }
+
+    private void place(int c, int slot) {
+        ord[c] = slot;
+        at[slot] = c;
+    }
+
+    /** Merges merged[0..m) into the component with the most members; returns its id. */
+    private int merge(int m) {
+        int s = merged[0];
+        for (int i = 1; i < m; i++) if (memberCount[merged[i]] > memberCount[s]) s = merged[i];
+
+        // relabel the smaller member lists
+        for (int i = 0; i < m; i++) {
+            int c = merged[i];
+            if (c == s) continue;
+            for (int k = 0; k < memberCount[c]; k++) comp[members[c][k]] = s;
+        }
+        for (int i = 0; i < m; i++) {
+            int c = merged[i];
+            if (c == s) continue;
+            // s has the most members; for the edge lists, keep whichever array is larger
+            if (memberCount[s] + memberCount[c] > members[s].length) {
+                members[s] = Arrays.copyOf(members[s], Math.max(members[s].length * 2, memberCount[s] + memberCount[c]));
+            }
+            System.arraycopy(members[c], 0, members[s], memberCount[s], memberCount[c]);
+            memberCount[s] += memberCount[c];
+
+            if (outSize[c] > outSize[s]) {
+                swapOut(s, c);
+            }
+            for (int k = 0; k < outSize[c]; k++) {
+                // edges inside the merged component are dropped while copying
+                if (comp[outT[c][k]] != s) appendOut(s, outT[c][k], outW[c][k]);
+            }
+            if (inSize[c] > inSize[s]) {
+                int[] a = inS[s]; inS[s] = inS[c]; inS[c] = a;
+                int t = inSize[s]; inSize[s] = inSize[c]; inSize[c] = t;
+            }
+            for (int k = 0; k < inSize[c]; k++) {
+                if (comp[inS[c][k]] != s) appendIn(s, inS[c][k]);
+            }
+
+            members[c] = outT[c] = outW[c] = inS[c] = null;
+            memberCount[c] = outSize[c] = inSize[c] = 0;
+        }
+        components -= m - 1;
+        metrics.add(merges, m - 1);
+        return s;
+    }
+
+    private void swapOut(int a, int b) {
+        int[] t = outT[a]; outT[a] = outT[b]; outT[b] = t;
+        int[] w = outW[a]; outW[a] = outW[b]; outW[b] = w;
+        int s = outSize[a]; outSize[a] = outSize[b]; outSize[b] = s;
+    }
+
+    private int nextStamp() {
+        if (++stamp == 0) {
+            Arrays.fill(markF, 0);
+            Arrays.fill(markB, 0);
+            stamp = 1;
+        }
+        return stamp;
+    }
+
+    private void link(int u, int v, int w) {
+        int cu = comp[u], cv = comp[v];
+        edgeCount++;
+        // edges inside a component never matter to the condensation
+        if (cu == cv) return;
+        appendOut(cu, v, w);
+        appendIn(cv, u);
+    }
+
+    private void appendOut(int c, int v, int w) {
+        if (outT[c] == null) {
+            outT[c] = new int[INITIAL_CAPACITY];
+            outW[c] = new int[INITIAL_CAPACITY];
+        } else if (outSize[c] == outT[c].length) {
+            outT[c] = Arrays.copyOf(outT[c], outSize[c] * 2);
+            outW[c] = Arrays.copyOf(outW[c], outSize[c] * 2);
+        }
+        outT[c][outSize[c]] = v;
+        outW[c][outSize[c]++] = w;
+    }
+
+    private void appendIn(int c, int u) {
+        if (inS[c] == null) inS[c] = new int[INITIAL_CAPACITY];
+        else if (inSize[c] == inS[c].length) inS[c] = Arrays.copyOf(inS[c], inSize[c] * 2);
+        inS[c][inSize[c]++] = u;
+    }
+
+    /** @return id of the component containing {@code v}; a member vertex, not a dense index */
+    public int componentOf(int v) {
+        return comp[v];
+    }
+
+    /** @return whether {@code u} and {@code v} are strongly connected */
+    public boolean sameComponent(int u, int v) {
+        return comp[u] == comp[v];
+    }
+
+    /** @return whether the component of {@code u} comes before that of {@code v} in the maintained order */
+    public boolean precedes(int u, int v) {
+        return ord[comp[u]] < ord[comp[v]];
+    }
+
+    /** @return a copy of the members of the component containing {@code v} */
+    public int[] members(int v) {
+        int c = comp[v];
+        return Arrays.copyOf(members[c], memberCount[c]);
+    }
+
+    /** @return current number of components */
+    public int componentCount() {
+        return components;
+    }
+
+    public int size() {
+        return n;
+    }
+
+    /** @return number of edges inserted, including those inside components */
+    public int getEdgeCount() {
+        return edgeCount;
+    }
+
+    /**
+     * Current decomposition with dense component ids in topological order, like the
+     * batch engines. Reads the maintained order directly, in O(n).
+     */
+    public SCCResult snapshot() {
+        int[] dense = new int[n];
+        int count = 0;
+        for (int p = 0; p < n; p++) {
+            int c = at[p];
+            if (c >= 0) dense[c] = count++;
+        }
+        int[] compOf = new int[n];
+        for (int v = 0; v < n; v++) compOf[v] = dense[comp[v]];
+        return new SCCResult(compOf, count);
+    }
+
+    /**
+     * Condensation DAG with the numbering of {@link #snapshot()}. Parallel edges between
+     * two components are collapsed into the first one inserted, as in
+     * {@link CondensationGraph#build}.
+     */
+    public CSRGraph condensation() {
+        int[] compOf = snapshot().getCompOfVertex();
+        CSRGraph.Builder builder = new CSRGraph.Builder(components, true);
+        int[] seen = new int[components];
+        Arrays.fill(seen, -1);
+        for (int p = 0; p < n; p++) {
+            int c = at[p];
+            if (c < 0) continue;
+            int from = compOf[c];
+            for (int i = 0; i < outSize[c]; i++) {
+                int to = compOf[outT[c][i]];
+                if (to == from || seen[to] == from) continue;
+                seen[to] = from;
+                builder.addEdge(from, to, outW[c][i]);
+            }
+        }
+        return builder.build();
+    }
+
+    public Metrics getMetrics() {
+        return metrics;
+    }
+}
@@ -0,0 +1,19 @@
+package graph.scc;
+
+import util.metrics.Metrics;
+
+/**
+ * Common contract of the SCC engines in this package.
+ * Every engine returns components numbered in topological order of the condensation.
+ */
+public interface SCCAlgorithm {
+
+    /**
+     * Runs the decomposition and collects performance metrics.
+     * @return the result of SCC decomposition
+     */
+    SCCResult run();
+
+    /** @return metrics collected during algorithm execution */
+    Metrics getMetrics();
+}
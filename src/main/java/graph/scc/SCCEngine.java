@@ -0,0 +1,65 @@
+package graph.scc;
+
+import graph.model.GraphView;
+import util.metrics.Metrics;
+
+/**
+ * Selects which SCC algorithm to run.
+ *
+ * <pre>
+ * SCCResult res = SCCEngine.TARJAN.create(g).run();
+ * SCCResult trimmed = SCCEngine.TARJAN.createTrimmed(g).run();
+ * </pre>
+ */
+public enum SCCEngine {
+    /** Two-pass Kosaraju; builds the reversed graph for the second pass. */
+    KOSARAJU,
+    /** Single-pass Tarjan; no reversed copy of the graph. */
+    TARJAN,
+    /** Forward-backward with trimming on a ForkJoinPool using all available processors. */
+    PARALLEL;
+
+    /**
+     * Creates an engine instance for the given graph.
+     * @param g the input graph
+     * @return a ready-to-run SCC algorithm
+     */
+    public SCCAlgorithm create(GraphView g) {
+        return create(g, new Metrics());
+    }
+
+    /**
+     * Creates an engine instance that reports into the caller's metrics.
+     * @param g the input graph
+     * @param metrics collector; {@link Metrics#disabled()} skips instrumentation
+     * @return a ready-to-run SCC algorithm
+     */
+    public SCCAlgorithm create(GraphView g, Metrics metrics) {
+        return switch (this) {
+            case KOSARAJU -> new SCCKosaraju(g, SCCKosaraju.Mode.ITERATIVE, metrics);
+            case TARJAN -> new SCCTarjan(g, metrics);
+            case PARALLEL -> new SCCParallel(g, Runtime.getRuntime().availableProcessors(),
+                    SCCParallel.DEFAULT_SEQUENTIAL_THRESHOLD, metrics);
+        };
+    }
+
+    /**
+     * Creates this engine behind a {@link SCCTrim} pre-pass, so that only the core left
+     * after peeling trivial singleton SCCs is decomposed.
+     * @param g the input graph
+     * @return a ready-to-run SCC algorithm
+     */
+    public SCCAlgorithm createTrimmed(GraphView g) {
+        return new SCCTrim(g, this);
+    }
+
+    /**
+     * Creates this engine behind a {@link SCCTrim} pre-pass that reports into the caller's metrics.
+     * @param g the input graph
+     * @param metrics collector; {@link Metrics#disabled()} skips instrumentation
+     * @return a ready-to-run SCC algorithm
+     */
+    public SCCAlgorithm createTrimmed(GraphView g, Metrics metrics) {
+        return new SCCTrim(g, this, metrics);
+    }
+}
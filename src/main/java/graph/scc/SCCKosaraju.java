@@ -1,6 +1,6 @@
 package graph.scc;
 
-import graph.model.Graph;
+import graph.model.GraphView;
 import util.metrics.*;
 
 import java.util.*;
@@ -8,28 +8,69 @@ import java.util.*;
 /**
  * Kosaraju's algorithm for finding Strongly Connected Components (SCCs).
  * Includes metrics collection: DFS visits and edge traversals.
+ *
+ * <p>Two traversal modes produce identical results:
+ * <ul>
+ *   <li>{@link Mode#ITERATIVE} (default) — explicit stacks in primitive {@code int[]}
+ *       arrays, safe for arbitrarily deep graphs such as long dependency chains;</li>
+ *   <li>{@link Mode#RECURSIVE} — the classic recursive DFS, one stack frame per vertex.</li>
+ * </ul>
  */
-public class SCCKosaraju {
+public class SCCKosaraju implements SCCAlgorithm {
 
-    private final Graph g;
+    /** DFS traversal strategy. */
+    public enum Mode { RECURSIVE, ITERATIVE }
+
+    private final GraphView g;
+    private final Mode mode;
     private boolean[] visited;
     private Deque<Integer> order;
     private final Metrics metrics;
+    private int dfs1Visits, dfs1Edges, dfs2Visits, dfs2Edges;
+
+    /**
+     * Creates a new Kosaraju SCC finder using the iterative traversal.
+     * @param g the input graph
+     */
+    public SCCKosaraju(GraphView g) {
+        this(g, Mode.ITERATIVE);
+    }
 
     /**
      * Creates a new Kosaraju SCC finder.
      * @param g the input graph
+     * @param mode DFS traversal strategy
      */
-    public SCCKosaraju(Graph g) {
+    public SCCKosaraju(GraphView g, Mode mode) {
+        this(g, mode, new Metrics());
+    }
+
+    /**
+     * Creates a new Kosaraju SCC finder.
+     * @param g the input graph
+     * @param mode DFS traversal strategy
+     * @param metrics collector supplied by the caller; {@link Metrics#disabled()} skips instrumentation
+     */
+    public SCCKosaraju(GraphView g, Mode mode, Metrics metrics) {
         this.g = g;
-        this.metrics = new Metrics();
+        this.mode = mode;
+        this.metrics = metrics;
     }
 
     /**
      * Runs the Kosaraju algorithm and collects performance metrics.
      * @return the result of SCC decomposition
      */
+    @Override
     public SCCResult run() {
+        dfs1Visits = metrics.register("DFS1 visits");
+        dfs1Edges = metrics.register("DFS1 edges");
+        dfs2Visits = metrics.register("DFS2 visits");
+        dfs2Edges = metrics.register("DFS2 edges");
+        return mode == Mode.ITERATIVE ? runIterative() : runRecursive();
+    }
+
+    private SCCResult runRecursive() {
         metrics.startTimer();
 
         int n = g.size();
@@ -42,49 +83,137 @@ public class SCCKosaraju {
         }
 
         // 2️ Reverse graph
-        Graph gr = g.getReversed();
+        GraphView gr = g.getReversed();
 
         // 3️ Second DFS — find components
         Arrays.fill(visited, false);
-        List<List<Integer>> components = new ArrayList<>();
+        int count = 0;
         int[] compOf = new int[n];
         Arrays.fill(compOf, -1);
 
         while (!order.isEmpty()) {
             int v = order.pop();
-            if (!visited[v]) {
-                List<Integer> comp = new ArrayList<>();
-                dfs2(gr, v, comp, visited);
-                for (int x : comp) compOf[x] = components.size();
-                components.add(comp);
-            }
+            if (!visited[v]) dfs2(gr, v, count++, compOf, visited);
         }
 
+        SCCResult result = new SCCResult(compOf, count);
         metrics.stopTimer();
-        return new SCCResult(components, compOf);
+        return result;
     }
 
     private void dfs1(int v) {
-        metrics.incrementCounter("DFS1 visits");
+        metrics.increment(dfs1Visits);
         visited[v] = true;
-        for (var e : g.getEdges(v)) {
-            metrics.incrementCounter("DFS1 edges");
-            if (!visited[e.v]) dfs1(e.v);
+        for (int i = 0, deg = g.outDegree(v); i < deg; i++) {
+            metrics.increment(dfs1Edges);
+            int w = g.target(v, i);
+            if (!visited[w]) dfs1(w);
         }
         order.push(v);
     }
 
-    private void dfs2(Graph gr, int v, List<Integer> comp, boolean[] visited) {
-        metrics.incrementCounter("DFS2 visits");
+    private void dfs2(GraphView gr, int v, int id, int[] compOf, boolean[] visited) {
+        metrics.increment(dfs2Visits);
         visited[v] = true;
-        comp.add(v);
-        for (var e : gr.getEdges(v)) {
-            metrics.incrementCounter("DFS2 edges");
-            if (!visited[e.v]) dfs2(gr, e.v, comp, visited);
+        compOf[v] = id;
+        for (int i = 0, deg = gr.outDegree(v); i < deg; i++) {
+            metrics.increment(dfs2Edges);
+            int w = gr.target(v, i);
+            if (!visited[w]) dfs2(gr, w, id, compOf, visited);
         }
     }
 
+    /*
+     * Iterative variant. stack[] holds the current DFS path and cursor[v] the index
+     * of the next edge of v to examine, which reproduces the recursive visiting
+     * order exactly. Both arrays are allocated once and reused by the two passes.
+     */
+    private SCCResult runIterative() {
+        metrics.startTimer();
+
+        int n = g.size();
+        visited = new boolean[n];
+        int[] stack = new int[n];
+        int[] cursor = new int[n];
+        int[] finished = new int[n];
+        int finishedCount = 0;
+        // counted locally and flushed once, so instrumentation stays out of the loops
+        long visits1 = 0, edges1 = 0, visits2 = 0, edges2 = 0;
+
+        // 1 First DFS — collect finishing order
+        for (int s = 0; s < n; s++) {
+            if (visited[s]) continue;
+            int top = 0;
+            stack[0] = s;
+            visited[s] = true;
+            cursor[s] = 0;
+            visits1++;
+            while (top >= 0) {
+                int v = stack[top];
+                if (cursor[v] < g.outDegree(v)) {
+                    int w = g.target(v, cursor[v]++);
+                    edges1++;
+                    if (!visited[w]) {
+                        visited[w] = true;
+                        cursor[w] = 0;
+                        visits1++;
+                        stack[++top] = w;
+                    }
+                } else {
+                    finished[finishedCount++] = v;
+                    top--;
+                }
+            }
+        }
+
+        // 2️ Reverse graph
+        GraphView gr = g.getReversed();
+
+        // 3️ Second DFS — find components in reverse finishing order
+        Arrays.fill(visited, false);
+        int count = 0;
+        int[] compOf = new int[n];
+        Arrays.fill(compOf, -1);
+
+        for (int k = n - 1; k >= 0; k--) {
+            int s = finished[k];
+            if (visited[s]) continue;
+            int id = count++;
+            int top = 0;
+            stack[0] = s;
+            visited[s] = true;
+            cursor[s] = 0;
+            compOf[s] = id;
+            visits2++;
+            while (top >= 0) {
+                int v = stack[top];
+                if (cursor[v] < gr.outDegree(v)) {
+                    int w = gr.target(v, cursor[v]++);
+                    edges2++;
+                    if (!visited[w]) {
+                        visited[w] = true;
+                        cursor[w] = 0;
+                        compOf[w] = id;
+                        visits2++;
+                        stack[++top] = w;
+                    }
+                } else {
+                    top--;
+                }
+            }
+        }
+
+        metrics.add(dfs1Visits, visits1);
+        metrics.add(dfs1Edges, edges1);
+        metrics.add(dfs2Visits, visits2);
+        metrics.add(dfs2Edges, edges2);
+        SCCResult result = new SCCResult(compOf, count);
+        metrics.stopTimer();
+        return result;
+    }
+
     /** @return metrics collected during algorithm execution */
+    @Override
     public Metrics getMetrics() {
         return metrics;
     }
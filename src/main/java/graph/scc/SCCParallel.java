@@ -0,0 +1,346 @@
+package graph.scc;
+
+import graph.model.CSRGraph;
+import graph.model.GraphView;
+import util.metrics.Metrics;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Parallel SCC decomposition (forward-backward with trimming) on a {@link ForkJoinPool}.
+ *
+ * <p>Each task owns a disjoint vertex subset identified by a colour:
+ * <ol>
+ *   <li>trim — vertices with no in- or out-edge inside the subset are singleton SCCs;</li>
+ *   <li>forward-backward — from a pivot, the vertices reachable both forwards and
+ *       backwards form the pivot's SCC;</li>
+ *   <li>the remaining vertices split into three independent subsets (forward-only,
+ *       backward-only, neither) that are recoloured and solved as forked subtasks.</li>
+ * </ol>
+ * Subsets at or below the sequential threshold are solved with a restricted Tarjan DFS.
+ * Component ids are renumbered at the end into the topological order of the condensation.
+ *
+ * <p>Tasks only ever write the per-vertex scratch entries of their own subset. Reading a
+ * neighbour's colour while another task recolours it is harmless: colours are never
+ * reused, so a foreign vertex can never appear to belong to the reader's subset.
+ */
+public class SCCParallel implements SCCAlgorithm {
+
+    /** Default subset size at or below which a task stops splitting. */
+    public static final int DEFAULT_SEQUENTIAL_THRESHOLD = 4096;
+
+    private static final int DONE = -1;
+    private static final byte FORWARD = 1, BACKWARD = 2;
+
+    private final CSRGraph g;
+    private final int parallelism;
+    private final int sequentialThreshold;
+    private final Metrics metrics;
+
+    // shared per-vertex state; each entry is only written by the task owning the vertex
+    private CSRGraph rev;
+    private int[] color;
+    private int[] compOf;
+    private int[] inDeg, outDeg;
+    private byte[] mark;
+    private int[] index, low, cursor;
+    private boolean[] onStack;
+    private final AtomicInteger nextColor = new AtomicInteger(1);
+    private final AtomicInteger nextComp = new AtomicInteger();
+    private final LongAdder trimmed = new LongAdder();
+    private final LongAdder pivots = new LongAdder();
+    private final LongAdder edgesScanned = new LongAdder();
+
+    /**
+     * Creates a parallel SCC finder using all available processors.
+     * @param g the input graph
+     */
+    public SCCParallel(GraphView g) {
+        this(g, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param g the input graph
+     * @param parallelism number of worker threads
+     */
+    public SCCParallel(GraphView g, int parallelism) {
+        this(g, parallelism, DEFAULT_SEQUENTIAL_THRESHOLD);
+    }
+
+    /**
+     * @param g the input graph
+     * @param parallelism number of worker threads
+     * @param sequentialThreshold subsets of at most this many vertices are solved sequentially
+     */
+    public SCCParallel(GraphView g, int parallelism, int sequentialThreshold) {
+        this(g, parallelism, sequentialThreshold, new Metrics());
+    }
+
+    /**
+     * @param g the input graph
+     * @param parallelism number of worker threads
+     * @param sequentialThreshold subsets of at most this many vertices are solved sequentially
+     * @param metrics collector supplied by the caller; {@link Metrics#disabled()} skips instrumentation
+     */
+    public SCCParallel(GraphView g, int parallelism, int sequentialThreshold, Metrics metrics) {
+        if (parallelism < 1) throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        this.g = CSRGraph.of(g);
+        this.parallelism = parallelism;
+        this.sequentialThreshold = Math.max(1, sequentialThreshold);
+        this.metrics = metrics;
+    }
+
+    @Override
+    public SCCResult run() {
+        metrics.startTimer();
+
+        int n = g.size();
+        rev = g.getReversed();
+        color = new int[n];
+        compOf = new int[n];
+        inDeg = new int[n];
+        outDeg = new int[n];
+        mark = new byte[n];
+        index = new int[n];
+        low = new int[n];
+        cursor = new int[n];
+        onStack = new boolean[n];
+
+        int[] all = new int[n];
+        for (int v = 0; v < n; v++) all[v] = v;
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(new FBTask(all, 0));
+        } finally {
+            pool.shutdown();
+        }
+
+        SCCResult result = SCCResult.topologicallyNumbered(g, compOf, nextComp.get());
+
+        metrics.addToCounter("Trimmed vertices", trimmed.sum());
+        metrics.addToCounter("Pivots", pivots.sum());
+        metrics.addToCounter("Edges processed", edgesScanned.sum());
+        metrics.stopTimer();
+        return result;
+    }
+
+    private final class FBTask extends RecursiveAction {
+        private int[] vertices;
+        private final int c;
+
+        FBTask(int[] vertices, int c) {
+            this.vertices = vertices;
+            this.c = c;
+        }
+
+        @Override
+        protected void compute() {
+            int remaining = trim(vertices, c);
+            if (remaining == 0) return;
+            if (remaining <= sequentialThreshold) {
+                tarjan(vertices, c);
+                return;
+            }
+
+            // a pseudo-random pivot keeps chain-like condensations from degenerating
+            // into one forward-backward round per component
+            int pivot = -1;
+            int startAt = (int) Math.floorMod(mix(c), (long) vertices.length);
+            for (int k = 0; k < vertices.length; k++) {
+                int v = vertices[(startAt + k) % vertices.length];
+                if (color[v] == c) {
+                    pivot = v;
+                    break;
+                }
+            }
+            pivots.increment();
+            reach(g, pivot, c, FORWARD, remaining);
+            reach(rev, pivot, c, BACKWARD, remaining);
+
+            // split: both marks -> pivot SCC, otherwise one of three new subsets
+            int comp = nextComp.getAndIncrement();
+            int cf = nextColor.getAndIncrement();
+            int cb = nextColor.getAndIncrement();
+            int cr = nextColor.getAndIncrement();
+            int nf = 0, nb = 0, nr = 0;
+            for (int v : vertices) {
+                if (color[v] != c) continue;
+                switch (mark[v]) {
+                    case FORWARD | BACKWARD -> {
+                        color[v] = DONE;
+                        compOf[v] = comp;
+                    }
+                    case FORWARD -> { color[v] = cf; nf++; }
+                    case BACKWARD -> { color[v] = cb; nb++; }
+                    default -> { color[v] = cr; nr++; }
+                }
+                mark[v] = 0;
+            }
+
+            List<FBTask> subtasks = new ArrayList<>(3);
+            if (nf > 0) subtasks.add(new FBTask(collect(vertices, cf, nf), cf));
+            if (nb > 0) subtasks.add(new FBTask(collect(vertices, cb, nb), cb));
+            if (nr > 0) subtasks.add(new FBTask(collect(vertices, cr, nr), cr));
+            vertices = null; // let the parent subset be collected while the children run
+            invokeAll(subtasks);
+        }
+    }
+
+    /** SplitMix64 finalizer, used to derive a reproducible pivot position from a colour. */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private int[] collect(int[] vertices, int c, int count) {
+        int[] out = new int[count];
+        int k = 0;
+        for (int v : vertices) if (color[v] == c) out[k++] = v;
+        return out;
+    }
+
+    /**
+     * Repeatedly peels vertices with no in- or out-edge inside colour {@code c};
+     * each one becomes a singleton component.
+     * @return number of vertices left in the subset
+     */
+    private int trim(int[] vertices, int c) {
+        int[] queue = new int[vertices.length];
+        int head = 0, tail = 0;
+        long scanned = 0;
+
+        for (int v : vertices) {
+            int out = 0, in = 0;
+            int[] off = g.offsets(), tg = g.targets();
+            for (int i = off[v]; i < off[v + 1]; i++) if (color[tg[i]] == c) out++;
+            off = rev.offsets();
+            tg = rev.targets();
+            for (int i = off[v]; i < off[v + 1]; i++) if (color[tg[i]] == c) in++;
+            scanned += g.outDegree(v) + rev.outDegree(v);
+            outDeg[v] = out;
+            inDeg[v] = in;
+        }
+        for (int v : vertices) {
+            if (inDeg[v] == 0 || outDeg[v] == 0) {
+                color[v] = DONE;
+                queue[tail++] = v;
+            }
+        }
+
+        while (head < tail) {
+            int v = queue[head++];
+            compOf[v] = nextComp.getAndIncrement();
+            int[] off = g.offsets(), tg = g.targets();
+            for (int i = off[v]; i < off[v + 1]; i++) {
+                int w = tg[i];
+                if (color[w] == c && --inDeg[w] == 0) {
+                    color[w] = DONE;
+                    queue[tail++] = w;
+                }
+            }
+            off = rev.offsets();
+            tg = rev.targets();
+            for (int i = off[v]; i < off[v + 1]; i++) {
+                int w = tg[i];
+                if (color[w] == c && --outDeg[w] == 0) {
+                    color[w] = DONE;
+                    queue[tail++] = w;
+                }
+            }
+            scanned += g.outDegree(v) + rev.outDegree(v);
+        }
+
+        trimmed.add(tail);
+        edgesScanned.add(scanned);
+        return vertices.length - tail;
+    }
+
+    /** Breadth-first search from {@code s} inside colour {@code c}, or-ing {@code bit} into the marks. */
+    private void reach(CSRGraph graph, int s, int c, byte bit, int capacity) {
+        int[] off = graph.offsets(), tg = graph.targets();
+        int[] queue = new int[capacity];
+        int head = 0, tail = 0;
+        long scanned = 0;
+        mark[s] |= bit;
+        queue[tail++] = s;
+        while (head < tail) {
+            int v = queue[head++];
+            scanned += off[v + 1] - off[v];
+            for (int i = off[v]; i < off[v + 1]; i++) {
+                int w = tg[i];
+                if (color[w] == c && (mark[w] & bit) == 0) {
+                    mark[w] |= bit;
+                    queue[tail++] = w;
+                }
+            }
+        }
+        edgesScanned.add(scanned);
+    }
+
+    /** Iterative Tarjan restricted to the vertices of colour {@code c}. */
+    private void tarjan(int[] vertices, int c) {
+        int[] off = g.offsets(), tg = g.targets();
+        int[] callStack = new int[vertices.length];
+        int[] sccStack = new int[vertices.length];
+        int sccTop = -1;
+        int counter = 0;
+        long scanned = 0;
+        for (int v : vertices) if (color[v] == c) index[v] = -1;
+
+        for (int s : vertices) {
+            if (color[s] != c || index[s] != -1) continue;
+            int top = 0;
+            callStack[0] = s;
+            index[s] = low[s] = counter++;
+            cursor[s] = off[s];
+            sccStack[++sccTop] = s;
+            onStack[s] = true;
+
+            while (top >= 0) {
+                int v = callStack[top];
+                if (cursor[v] < off[v + 1]) {
+                    int w = tg[cursor[v]++];
+                    scanned++;
+                    if (color[w] != c) continue;
+                    if (index[w] == -1) {
+                        index[w] = low[w] = counter++;
+                        cursor[w] = off[w];
+                        sccStack[++sccTop] = w;
+                        onStack[w] = true;
+                        callStack[++top] = w;
+                    } else if (onStack[w] && index[w] < low[v]) {
+                        low[v] = index[w];
+                    }
+                    continue;
+                }
+                if (low[v] == index[v]) {
+                    int comp = nextComp.getAndIncrement();
+                    int x;
+                    do {
+                        x = sccStack[sccTop--];
+                        onStack[x] = false;
+                        compOf[x] = comp;
+                    } while (x != v);
+                }
+                top--;
+                if (top >= 0) {
+                    int parent = callStack[top];
+                    if (low[v] < low[parent]) low[parent] = low[v];
+                }
+            }
+        }
+        for (int v : vertices) if (color[v] == c) color[v] = DONE;
+        edgesScanned.add(scanned);
+    }
+
+    @Override
+    public Metrics getMetrics() {
+        return metrics;
+    }
+}
@@ -1,42 +1,214 @@
 package graph.scc;
 
+import graph.model.CSRGraph;
+
 import java.util.*;
+import java.util.stream.IntStream;
 
+/**
+ * Result of an SCC decomposition. Component ids are dense, {@code 0 .. size() - 1}, and
+ * follow a topological order of the condensation.
+ *
+ * <p>Components are stored in primitive arrays: the component of every vertex, and CSR-style
+ * the members of component {@code c} in {@code members[compStart[c] .. compStart[c + 1])},
+ * in increasing vertex order. That is 8 bytes per vertex plus 4 per component.
+ * {@link #getComponents()} is a read-only {@code List} view over the same arrays, for callers
+ * that want one; it boxes members only as they are read.
+ */
 public class SCCResult {
-    private final List<List<Integer>> components;
     private final int[] compOfVertex;
+    private final int[] compStart;
+    private final int[] members;
+    private List<List<Integer>> view;
 
-    public SCCResult(List<List<Integer>> components, int[] compOfVertex) {
-        this.components = components;
+    /**
+     * Groups the vertices by component with a counting sort, in O(n + count).
+     * @param compOfVertex component id of every vertex, in {@code [0, count)}; kept, not copied
+     * @param count number of components
+     */
+    public SCCResult(int[] compOfVertex, int count) {
+        int n = compOfVertex.length;
+        int[] start = new int[count + 1];
+        for (int v = 0; v < n; v++) start[compOfVertex[v] + 1]++;
+        for (int c = 0; c < count; c++) start[c + 1] += start[c];
+        int[] mem = new int[n];
+        int[] fill = Arrays.copyOf(start, count);
+        for (int v = 0; v < n; v++) mem[fill[compOfVertex[v]]++] = v;
         this.compOfVertex = compOfVertex;
+        this.compStart = start;
+        this.members = mem;
+    }
+
+    private SCCResult(int[] compOfVertex, int[] compStart, int[] members) {
+        this.compOfVertex = compOfVertex;
+        this.compStart = compStart;
+        this.members = members;
+    }
+
+    /**
+     * Builds a result from arbitrary component ids, relabelling the components with
+     * Kahn's algorithm over the condensation so that ids follow its topological order.
+     *
+     * @param g the decomposed graph
+     * @param compOf raw component id of every vertex, in {@code [0, count)}
+     * @param count number of components
+     */
+    static SCCResult topologicallyNumbered(CSRGraph g, int[] compOf, int count) {
+        int n = g.size();
+        int[] off = g.offsets(), tg = g.targets();
+
+        // bucket vertices by raw component id
+        int[] start = new int[count + 1];
+        for (int v = 0; v < n; v++) start[compOf[v] + 1]++;
+        for (int i = 0; i < count; i++) start[i + 1] += start[i];
+        int[] members = new int[n];
+        int[] fill = Arrays.copyOf(start, count);
+        for (int v = 0; v < n; v++) members[fill[compOf[v]]++] = v;
+
+        int[] indeg = new int[count];
+        for (int u = 0; u < n; u++) {
+            for (int i = off[u]; i < off[u + 1]; i++) {
+                if (compOf[u] != compOf[tg[i]]) indeg[compOf[tg[i]]]++;
+            }
+        }
+
+        int[] queue = new int[count];
+        int head = 0, tail = 0;
+        for (int c = 0; c < count; c++) if (indeg[c] == 0) queue[tail++] = c;
+
+        // copy the buckets out in topological order; each stays sorted by vertex
+        int[] newId = new int[count];
+        int[] newStart = new int[count + 1];
+        int[] newMembers = new int[n];
+        int next = 0, written = 0;
+        while (head < tail) {
+            int c = queue[head++];
+            newId[c] = next;
+            for (int k = start[c]; k < start[c + 1]; k++) {
+                int u = members[k];
+                newMembers[written++] = u;
+                for (int i = off[u]; i < off[u + 1]; i++) {
+                    int d = compOf[tg[i]];
+                    if (d != c && --indeg[d] == 0) queue[tail++] = d;
+                }
+            }
+            newStart[++next] = written;
+        }
+
+        int[] result = new int[n];
+        for (int v = 0; v < n; v++) result[v] = newId[compOf[v]];
+        return new SCCResult(result, newStart, newMembers);
     }
 
+    /**
+     * @return the components as a read-only list view over {@link #getMembers()}; component
+     *         {@code c} lists its vertices in increasing order
+     */
     public List<List<Integer>> getComponents() {
-        return components;
+        // the view holds no state of its own, so a racing second copy is harmless
+        if (view == null) view = new ComponentsView();
+        return view;
     }
 
+    /** @return component id of every vertex (the backing array, not a copy) */
     public int[] getCompOfVertex() {
         return compOfVertex;
     }
 
+    /** @return {@code size() + 1} offsets into {@link #getMembers()} (the backing array, not a copy) */
+    public int[] getCompStart() {
+        return compStart;
+    }
+
+    /** @return all vertices grouped by component (the backing array, not a copy) */
+    public int[] getMembers() {
+        return members;
+    }
+
+    /** @return number of components */
     public int size() {
-        return components.size();
+        return compStart.length - 1;
+    }
+
+    /** @return component id of vertex {@code v} */
+    public int componentOf(int v) {
+        return compOfVertex[v];
+    }
+
+    /** @return number of vertices in component {@code c} */
+    public int componentSize(int c) {
+        return compStart[c + 1] - compStart[c];
+    }
+
+    /** @return vertices of component {@code c}, in increasing order */
+    public IntStream members(int c) {
+        return Arrays.stream(members, compStart[c], compStart[c + 1]);
+    }
+
+    /** @return a copy of the vertices of component {@code c}, in increasing order */
+    public int[] membersOf(int c) {
+        return Arrays.copyOfRange(members, compStart[c], compStart[c + 1]);
+    }
+
+    /** @return size of the largest component, 0 for an empty graph */
+    public int largestComponentSize() {
+        int max = 0;
+        for (int c = 0; c < size(); c++) max = Math.max(max, componentSize(c));
+        return max;
     }
 
     public List<Integer> sizes() {
-        List<Integer> res = new ArrayList<>();
-        for (List<Integer> comp : components) res.add(comp.size());
+        List<Integer> res = new ArrayList<>(size());
+        for (int c = 0; c < size(); c++) res.add(componentSize(c));
         return res;
     }
 
     @Override
     public String toString() {
-        StringBuilder sb = new StringBuilder("SCCs found: " + components.size() + "\n");
-        for (int i = 0; i < components.size(); i++) {
-            sb.append("Component ").append(i)
-                    .append(" (size ").append(components.get(i).size()).append("): ")
-                    .append(components.get(i)).append("\n");
+        StringBuilder sb = new StringBuilder("SCCs found: " + size() + "\n");
+        for (int c = 0; c < size(); c++) {
+            sb.append("Component ").append(c)
+                    .append(" (size ").append(componentSize(c)).append("): [");
+            for (int k = compStart[c]; k < compStart[c + 1]; k++) {
+                if (k > compStart[c]) sb.append(", ");
+                sb.append(members[k]);
+            }
+            sb.append("]\n");
         }
         return sb.toString();
     }
+
+    private final class ComponentsView extends AbstractList<List<Integer>> implements RandomAccess {
+        @Override
+        public List<Integer> get(int c) {
+            Objects.checkIndex(c, size());
+            int from = compStart[c], to = compStart[c + 1];
+            return new MemberView(from, to);
+        }
+
+        @Override
+        public int size() {
+            return SCCResult.this.size();
+        }
+    }
+
+    private final class MemberView extends AbstractList<Integer> implements RandomAccess {
+        private final int from, to;
+
+        MemberView(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public Integer get(int k) {
+            Objects.checkIndex(k, to - from);
+            return members[from + k];
+        }
+
+        @Override
+        public int size() {
+            return to - from;
+        }
+    }
 }
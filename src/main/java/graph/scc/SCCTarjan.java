@@ -0,0 +1,119 @@
+package graph.scc;
+
+import graph.model.GraphView;
+import util.metrics.Metrics;
+
+import java.util.*;
+
+/**
+ * Tarjan's algorithm for finding Strongly Connected Components (SCCs).
+ *
+ * <p>Finds every component in a single DFS over the original edges, so unlike
+ * {@link SCCKosaraju} it never builds the reversed graph. The DFS is iterative and
+ * keeps its state in primitive arrays. Components are renumbered at the end so that
+ * ids follow the topological order of the condensation, as with Kosaraju.
+ * Tracks metrics: DFS visits and edge traversals.
+ */
+public class SCCTarjan implements SCCAlgorithm {
+
+    private final GraphView g;
+    private final Metrics metrics;
+
+    /**
+     * Creates a new Tarjan SCC finder.
+     * @param g the input graph
+     */
+    public SCCTarjan(GraphView g) {
+        this(g, new Metrics());
+    }
+
+    /**
+     * Creates a new Tarjan SCC finder.
+     * @param g the input graph
+     * @param metrics collector supplied by the caller; {@link Metrics#disabled()} skips instrumentation
+     */
+    public SCCTarjan(GraphView g, Metrics metrics) {
+        this.g = g;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public SCCResult run() {
+        metrics.startTimer();
+
+        int n = g.size();
+        int[] index = new int[n];
+        int[] low = new int[n];
+        boolean[] onStack = new boolean[n];
+        int[] callStack = new int[n];
+        int[] cursor = new int[n];
+        int[] sccStack = new int[n];
+        int sccTop = -1;
+        int counter = 0;
+        long edges = 0;
+        Arrays.fill(index, -1);
+
+        // components are emitted sinks-first; their ids are reversed afterwards
+        int count = 0;
+        int[] compOf = new int[n];
+
+        for (int s = 0; s < n; s++) {
+            if (index[s] != -1) continue;
+            int top = 0;
+            callStack[0] = s;
+            index[s] = low[s] = counter++;
+            cursor[s] = 0;
+            sccStack[++sccTop] = s;
+            onStack[s] = true;
+
+            while (top >= 0) {
+                int v = callStack[top];
+                if (cursor[v] < g.outDegree(v)) {
+                    int w = g.target(v, cursor[v]++);
+                    edges++;
+                    if (index[w] == -1) {
+                        index[w] = low[w] = counter++;
+                        cursor[w] = 0;
+                        sccStack[++sccTop] = w;
+                        onStack[w] = true;
+                        callStack[++top] = w;
+                    } else if (onStack[w] && index[w] < low[v]) {
+                        low[v] = index[w];
+                    }
+                    continue;
+                }
+
+                // v is finished
+                if (low[v] == index[v]) {
+                    int id = count++;
+                    int x;
+                    do {
+                        x = sccStack[sccTop--];
+                        onStack[x] = false;
+                        compOf[x] = id;
+                    } while (x != v);
+                }
+                top--;
+                if (top >= 0) {
+                    int parent = callStack[top];
+                    if (low[v] < low[parent]) low[parent] = low[v];
+                }
+            }
+        }
+
+        // renumber so component ids follow the topological order of the condensation
+        for (int v = 0; v < n; v++) compOf[v] = count - 1 - compOf[v];
+
+        // every vertex gets exactly one index, so the visit count is the final counter value
+        metrics.add(metrics.register("DFS visits"), counter);
+        metrics.add(metrics.register("DFS edges"), edges);
+        SCCResult result = new SCCResult(compOf, count);
+        metrics.stopTimer();
+        return result;
+    }
+
+    @Override
+    public Metrics getMetrics() {
+        return metrics;
+    }
+}
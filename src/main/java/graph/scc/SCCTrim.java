@@ -0,0 +1,167 @@
+package graph.scc;
+
+import graph.model.CSRGraph;
+import graph.model.GraphView;
+import util.metrics.Metrics;
+
+/**
+ * Trim pre-pass in front of another SCC engine.
+ *
+ * <p>A vertex with no incoming or no outgoing edge cannot lie on a cycle, so it is a
+ * singleton SCC. The trim stage peels such vertices repeatedly (removing one can expose
+ * more) and hands only the remaining core, as an induced subgraph, to the selected
+ * {@link SCCEngine}. The singletons and the core components are then merged into one
+ * {@link SCCResult} numbered in topological order.
+ *
+ * <p>Metrics: "Trimmed (zero in)", "Trimmed (zero out)" and "Core vertices";
+ * the core engine's own counters are available from {@link #getCoreMetrics()}.
+ */
+public class SCCTrim implements SCCAlgorithm {
+
+    private final GraphView g;
+    private final SCCEngine engine;
+    private final Metrics metrics;
+    private Metrics coreMetrics;
+
+    /**
+     * @param g the input graph
+     * @param engine engine that decomposes the core left after trimming
+     */
+    public SCCTrim(GraphView g, SCCEngine engine) {
+        this(g, engine, new Metrics());
+    }
+
+    /**
+     * @param g the input graph
+     * @param engine engine that decomposes the core left after trimming
+     * @param metrics collector supplied by the caller; {@link Metrics#disabled()} also
+     *                disables the core engine's metrics
+     */
+    public SCCTrim(GraphView g, SCCEngine engine, Metrics metrics) {
+        this.g = g;
+        this.engine = engine;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public SCCResult run() {
+        metrics.startTimer();
+
+        CSRGraph csr = CSRGraph.of(g);
+        CSRGraph rev = csr.getReversed();
+        int n = csr.size();
+        int[] off = csr.offsets(), tg = csr.targets();
+        int[] roff = rev.offsets(), rtg = rev.targets();
+
+        int[] inDeg = new int[n];
+        int[] outDeg = new int[n];
+        for (int v = 0; v < n; v++) {
+            outDeg[v] = off[v + 1] - off[v];
+            inDeg[v] = roff[v + 1] - roff[v];
+        }
+
+        // removed[v] is set when v is queued, so each vertex is peeled once
+        boolean[] removed = new boolean[n];
+        int[] queue = new int[n];
+        int head = 0, tail = 0;
+        long zeroIn = 0, zeroOut = 0;
+        for (int v = 0; v < n; v++) {
+            if (inDeg[v] == 0 || outDeg[v] == 0) {
+                removed[v] = true;
+                queue[tail++] = v;
+                if (inDeg[v] == 0) zeroIn++; else zeroOut++;
+            }
+        }
+        while (head < tail) {
+            int v = queue[head++];
+            for (int i = off[v]; i < off[v + 1]; i++) {
+                int w = tg[i];
+                if (!removed[w] && --inDeg[w] == 0) {
+                    removed[w] = true;
+                    queue[tail++] = w;
+                    zeroIn++;
+                }
+            }
+            for (int i = roff[v]; i < roff[v + 1]; i++) {
+                int w = rtg[i];
+                if (!removed[w] && --outDeg[w] == 0) {
+                    removed[w] = true;
+                    queue[tail++] = w;
+                    zeroOut++;
+                }
+            }
+        }
+
+        // trimmed vertices are singletons; the core is decomposed by the selected engine
+        int[] compOf = new int[n];
+        int count = 0;
+        for (int k = 0; k < tail; k++) compOf[queue[k]] = count++;
+
+        int coreSize = n - tail;
+        if (coreSize > 0) {
+            int[] coreId = new int[n];
+            int[] original = new int[coreSize];
+            int next = 0;
+            for (int v = 0; v < n; v++) {
+                if (removed[v]) coreId[v] = -1;
+                else {
+                    coreId[v] = next;
+                    original[next++] = v;
+                }
+            }
+            Metrics coreCollector = metrics.isEnabled() ? new Metrics() : Metrics.disabled();
+            SCCAlgorithm core = engine.create(induced(csr, removed, coreId, original), coreCollector);
+            int[] coreComp = core.run().getCompOfVertex();
+            coreMetrics = core.getMetrics();
+
+            int base = count;
+            for (int k = 0; k < coreSize; k++) {
+                compOf[original[k]] = base + coreComp[k];
+                count = Math.max(count, base + coreComp[k] + 1);
+            }
+        }
+
+        SCCResult result = SCCResult.topologicallyNumbered(csr, compOf, count);
+
+        metrics.addToCounter("Trimmed (zero in)", zeroIn);
+        metrics.addToCounter("Trimmed (zero out)", zeroOut);
+        metrics.addToCounter("Core vertices", coreSize);
+        metrics.stopTimer();
+        return result;
+    }
+
+    /** Subgraph induced by the vertices that survived trimming, relabelled to {@code [0, coreSize)}. */
+    private static CSRGraph induced(CSRGraph g, boolean[] removed, int[] coreId, int[] original) {
+        int size = original.length;
+        int[] off = g.offsets(), tg = g.targets(), wt = g.weights();
+        int[] offsets = new int[size + 1];
+        for (int k = 0; k < size; k++) {
+            int u = original[k];
+            int deg = 0;
+            for (int i = off[u]; i < off[u + 1]; i++) if (!removed[tg[i]]) deg++;
+            offsets[k + 1] = offsets[k] + deg;
+        }
+        int[] targets = new int[offsets[size]];
+        int[] weights = new int[offsets[size]];
+        int pos = 0;
+        for (int k = 0; k < size; k++) {
+            int u = original[k];
+            for (int i = off[u]; i < off[u + 1]; i++) {
+                if (removed[tg[i]]) continue;
+                targets[pos] = coreId[tg[i]];
+                weights[pos++] = wt[i];
+            }
+        }
+        return CSRGraph.wrap(size, true, offsets[size], offsets, targets, weights);
+    }
+
+    @Override
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    /** @return metrics of the engine that decomposed the core, or null if nothing was left */
+    public Metrics getCoreMetrics() {
+        return coreMetrics;
+    }
+}
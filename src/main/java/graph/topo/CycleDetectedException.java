@@ -0,0 +1,24 @@
+package graph.topo;
+
+import java.util.List;
+
+/**
+ * Thrown when an edge insertion would close a cycle in a graph that must stay acyclic.
+ * Carries the offending cycle so callers can report which dependencies conflict.
+ */
+public class CycleDetectedException extends IllegalStateException {
+    private final List<Integer> cycle;
+
+    /**
+     * @param cycle vertices of the cycle in edge order; the last vertex has an edge back to the first
+     */
+    public CycleDetectedException(List<Integer> cycle) {
+        super("Edge would create a cycle: " + cycle);
+        this.cycle = List.copyOf(cycle);
+    }
+
+    /** @return the cycle, starting at the target of the rejected edge */
+    public List<Integer> getCycle() {
+        return cycle;
+    }
+}
@@ -0,0 +1,310 @@
+package graph.topo;
+
+import graph.model.CSRGraph;
+import graph.model.GraphView;
+import util.metrics.Metrics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Topological order of a DAG maintained under edge insertions (Pearce-Kelly).
+ *
+ * <p>Every vertex holds a position in the current order. Inserting {@code u -> v} with
+ * {@code u} already before {@code v} costs O(1). Otherwise only the affected region
+ * between the two positions is searched: vertices reachable from {@code v} and vertices
+ * reaching {@code u}, restricted to that window. Reaching {@code u} from {@code v} means
+ * the edge closes a cycle; it is then rejected with a {@link CycleDetectedException}
+ * and the structure is left unchanged. Otherwise the two sets swap places within the
+ * positions they already occupy, so nothing outside the window moves.
+ *
+ * <p>The structure is itself a {@link GraphView} of the edges inserted so far.
+ * Metrics: "Edges inserted", "Reorders" and "Vertices visited" (size of the searched regions).
+ */
+public class IncrementalTopoOrder implements GraphView {
+
+    private static final int INITIAL_DEGREE = 4;
+
+    private final int n;
+    private final Metrics metrics;
+    private final int edgesInserted, reorders, visited;
+
+    // ord[v] is the position of v; at[p] is the vertex at position p
+    private final int[] ord, at;
+    private final int[][] out, outW, in;
+    private final int[] outSize, inSize;
+    private int edgeCount;
+    private long totalNs;
+
+    // scratch space for one insertion, reused so insertions do not allocate
+    private final int[] mark, parent, stack, forward, backward, vertices, positions;
+    private int stamp;
+
+    /**
+     * Creates an edgeless graph on {@code n} vertices in identity order.
+     * @param n number of vertices
+     */
+    public IncrementalTopoOrder(int n) {
+        this(n, new Metrics());
+    }
+
+    /**
+     * Creates an edgeless graph on {@code n} vertices in identity order.
+     * @param n number of vertices
+     * @param metrics collector supplied by the caller; {@link Metrics#disabled()} skips instrumentation
+     */
+    public IncrementalTopoOrder(int n, Metrics metrics) {
+        this.n = n;
+        this.metrics = metrics;
+        this.edgesInserted = metrics.register("Edges inserted");
+        this.reorders = metrics.register("Reorders");
+        this.visited = metrics.register("Vertices visited");
+
+        ord = new int[n];
+        at = new int[n];
+        for (int v = 0; v < n; v++) ord[v] = at[v] = v;
+        out = new int[n][];
+        outW = new int[n][];
+        in = new int[n][];
+        outSize = new int[n];
+        inSize = new int[n];
+
+        mark = new int[n];
+        parent = new int[n];
+        stack = new int[n];
+        forward = new int[n];
+        backward = new int[n];
+        vertices = new int[n];
+        positions = new int[n];
+    }
+
+    /**
+     * Seeds the structure with an existing DAG, ordered once by {@link TopoSort#kahn}.
+     * @param dag initial directed acyclic graph
+     * @throws IllegalStateException if {@code dag} has a cycle
+     */
+    public static IncrementalTopoOrder of(GraphView dag) {
+        return of(dag, new Metrics());
+    }
+
+    /**
+     * Seeds the structure with an existing DAG, ordered once by {@link TopoSort#kahn}.
+     * @param dag initial directed acyclic graph
+     * @param metrics collector supplied by the caller
+     * @throws IllegalStateException if {@code dag} has a cycle
+     */
+    public static IncrementalTopoOrder of(GraphView dag, Metrics metrics) {
+        IncrementalTopoOrder t = new IncrementalTopoOrder(dag.size(), metrics);
+        List<Integer> order = TopoSort.kahn(dag, Metrics.disabled()).getOrder();
+        for (int p = 0; p < order.size(); p++) {
+            int v = order.get(p);
+            t.ord[v] = p;
+            t.at[p] = v;
+        }
+        // every edge now points forward in the order, so these are all O(1) insertions
+        for (int u = 0; u < dag.size(); u++) {
+            for (int i = 0; i < dag.outDegree(u); i++) t.link(u, dag.target(u, i), dag.weight(u, i));
+        }
+        return t;
+    }
+
+    /**
+     * Inserts {@code u -> v} with weight 1.
+     * @throws CycleDetectedException if the edge would close a cycle
+     */
+    public void addEdge(int u, int v) {
+        addEdge(u, v, 1);
+    }
+
+    /**
+     * Inserts {@code u -> v} and repairs the order if needed.
+     * @param u source vertex
+     * @param v target vertex
+     * @param w edge weight
+     * @throws CycleDetectedException if the edge would close a cycle; the edge is not added
+     */
+    public void addEdge(int u, int v, int w) {
+        Objects.checkIndex(u, n);
+        Objects.checkIndex(v, n);
+        long start = metrics.isEnabled() ? System.nanoTime() : 0;
+
+        if (u == v) throw new CycleDetectedException(List.of(u));
+        int lb = ord[v], ub = ord[u];
+        if (lb < ub) {
+            reorder(u, v, lb, ub);
+            metrics.increment(reorders);
+        }
+        link(u, v, w);
+
+        metrics.increment(edgesInserted);
+        if (metrics.isEnabled()) totalNs += System.nanoTime() - start;
+    }
+
+    /** Moves the region reachable from v in front of the region reaching u, within [lb, ub]. */
+    private void reorder(int u, int v, int lb, int ub) {
+        // forward search from v over vertices positioned before u
+        int s = nextStamp();
+        int top = 0, f = 0;
+        mark[v] = s;
+        stack[top++] = v;
+        while (top > 0) {
+            int x = stack[--top];
+            forward[f++] = ord[x];
+            int[] adj = out[x];
+            for (int i = 0, d = outSize[x]; i < d; i++) {
+                int y = adj[i];
+                if (y == u) {
+                    parent[u] = x;
+                    throw new CycleDetectedException(cycle(v, u));
+                }
+                if (mark[y] != s && ord[y] < ub) {
+                    mark[y] = s;
+                    parent[y] = x;
+                    stack[top++] = y;
+                }
+            }
+        }
+
+        // backward search from u over vertices positioned after v
+        s = nextStamp();
+        int b = 0;
+        mark[u] = s;
+        stack[top++] = u;
+        while (top > 0) {
+            int x = stack[--top];
+            backward[b++] = ord[x];
+            int[] adj = in[x];
+            for (int i = 0, d = inSize[x]; i < d; i++) {
+                int y = adj[i];
+                if (mark[y] != s && ord[y] > lb) {
+                    mark[y] = s;
+                    stack[top++] = y;
+                }
+            }
+        }
+        metrics.add(visited, f + b);
+
+        // both regions keep their internal order; the backward one takes the lower slots
+        Arrays.sort(forward, 0, f);
+        Arrays.sort(backward, 0, b);
+        for (int i = 0; i < b; i++) vertices[i] = at[backward[i]];
+        for (int i = 0; i < f; i++) vertices[b + i] = at[forward[i]];
+        int i = 0, j = 0, k = 0;
+        while (i < b && j < f) positions[k++] = backward[i] < forward[j] ? backward[i++] : forward[j++];
+        while (i < b) positions[k++] = backward[i++];
+        while (j < f) positions[k++] = forward[j++];
+        for (k = 0; k < b + f; k++) {
+            ord[vertices[k]] = positions[k];
+            at[positions[k]] = vertices[k];
+        }
+    }
+
+    /** Path v -> ... -> u recorded by the forward search; the new edge u -> v closes it. */
+    private List<Integer> cycle(int v, int u) {
+        List<Integer> path = new ArrayList<>();
+        for (int x = u; x != v; x = parent[x]) path.add(x);
+        path.add(v);
+        Collections.reverse(path);
+        return path;
+    }
+
+    private int nextStamp() {
+        if (++stamp == 0) {
+            Arrays.fill(mark, 0);
+            stamp = 1;
+        }
+        return stamp;
+    }
+
+    private void link(int u, int v, int w) {
+        if (out[u] == null) {
+            out[u] = new int[INITIAL_DEGREE];
+            outW[u] = new int[INITIAL_DEGREE];
+        } else if (outSize[u] == out[u].length) {
+            out[u] = Arrays.copyOf(out[u], outSize[u] * 2);
+            outW[u] = Arrays.copyOf(outW[u], outSize[u] * 2);
+        }
+        out[u][outSize[u]] = v;
+        outW[u][outSize[u]++] = w;
+
+        if (in[v] == null) in[v] = new int[INITIAL_DEGREE];
+        else if (inSize[v] == in[v].length) in[v] = Arrays.copyOf(in[v], inSize[v] * 2);
+        in[v][inSize[v]++] = u;
+        edgeCount++;
+    }
+
+    /** @return position of {@code v} in the current order */
+    public int position(int v) {
+        return ord[v];
+    }
+
+    /** @return whether {@code u} comes before {@code v} in the current order */
+    public boolean precedes(int u, int v) {
+        return ord[u] < ord[v];
+    }
+
+    /** @return a copy of the current order */
+    public int[] order() {
+        return at.clone();
+    }
+
+    /**
+     * Snapshot of the current order. The time is the total spent inside {@link #addEdge}.
+     */
+    public TopoResult toTopoResult() {
+        List<Integer> order = new ArrayList<>(n);
+        for (int p = 0; p < n; p++) order.add(at[p]);
+        return new TopoResult(order, totalNs, metrics);
+    }
+
+    /** @return an immutable CSR copy of the edges inserted so far */
+    public CSRGraph toCSRGraph() {
+        CSRGraph.Builder b = new CSRGraph.Builder(n, true);
+        for (int u = 0; u < n; u++) {
+            for (int i = 0; i < outSize[u]; i++) b.addEdge(u, out[u][i], outW[u][i]);
+        }
+        return b.build();
+    }
+
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public int size() {
+        return n;
+    }
+
+    @Override
+    public int getEdgeCount() {
+        return edgeCount;
+    }
+
+    @Override
+    public boolean isDirected() {
+        return true;
+    }
+
+    @Override
+    public int outDegree(int u) {
+        return outSize[u];
+    }
+
+    @Override
+    public int target(int u, int i) {
+        return out[u][i];
+    }
+
+    @Override
+    public int weight(int u, int i) {
+        return outW[u][i];
+    }
+
+    @Override
+    public CSRGraph getReversed() {
+        return toCSRGraph().getReversed();
+    }
+}
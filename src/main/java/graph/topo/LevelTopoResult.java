@@ -0,0 +1,82 @@
+package graph.topo;
+
+import util.metrics.Metrics;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Topological order grouped into wavefront levels.
+ *
+ * <p>Level 0 holds the sources; a vertex is in level {@code l} when its longest path
+ * from a source has {@code l} edges. Vertices of one level have no edges between them,
+ * so each level can be dispatched at once. The flat order is the concatenation of the
+ * levels, each sorted by vertex id.
+ */
+public class LevelTopoResult extends TopoResult {
+    private final int[] order;
+    private final int[] levelStart;
+
+    /**
+     * @param order all vertices, level by level
+     * @param levelStart level {@code l} is {@code order[levelStart[l] .. levelStart[l + 1])}
+     */
+    public LevelTopoResult(int[] order, int[] levelStart, long timeNs, Metrics metrics) {
+        super(asList(order), timeNs, metrics);
+        this.order = order;
+        this.levelStart = levelStart;
+    }
+
+    /** Read-only boxed view of an int array, so the flat order is not copied. */
+    private static List<Integer> asList(int[] a) {
+        return new AbstractList<>() {
+            @Override
+            public Integer get(int i) {
+                return a[i];
+            }
+
+            @Override
+            public int size() {
+                return a.length;
+            }
+        };
+    }
+
+    public int getLevelCount() {
+        return levelStart.length - 1;
+    }
+
+    /** @return number of vertices in level {@code l} */
+    public int getLevelWidth(int l) {
+        return levelStart[l + 1] - levelStart[l];
+    }
+
+    /** @return a copy of the vertices of level {@code l} */
+    public int[] getLevel(int l) {
+        return Arrays.copyOfRange(order, levelStart[l], levelStart[l + 1]);
+    }
+
+    /** @return a copy of the level boundaries: level {@code l} spans {@code [start[l], start[l + 1])} of the order */
+    public int[] getLevelStart() {
+        return levelStart.clone();
+    }
+
+    /** @return level id of every vertex */
+    public int[] getLevelOf() {
+        int[] levelOf = new int[order.length];
+        for (int l = 0; l < getLevelCount(); l++) {
+            for (int p = levelStart[l]; p < levelStart[l + 1]; p++) levelOf[order[p]] = l;
+        }
+        return levelOf;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("Levels: " + getLevelCount() + "\n");
+        for (int l = 0; l < getLevelCount(); l++) {
+            sb.append("Level ").append(l).append(": ").append(Arrays.toString(getLevel(l))).append("\n");
+        }
+        return sb.append("Time: ").append(getTimeNs()).append(" ns").toString();
+    }
+}
@@ -0,0 +1,149 @@
+package graph.topo;
+
+import graph.model.CSRGraph;
+import graph.model.GraphView;
+import util.metrics.Metrics;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Level-synchronous parallel Kahn's algorithm.
+ *
+ * <p>The current zero-in-degree frontier is split across a {@link ForkJoinPool}; workers
+ * decrement in-degrees atomically, and the worker that brings a vertex to zero appends it
+ * to the next frontier. Each worker buffers what it found and reserves a block of the
+ * output with a single atomic add, so the frontiers are written straight into the final
+ * order. Frontiers narrower than the grain are processed on the calling thread, which
+ * keeps long, narrow DAGs close to sequential speed.
+ *
+ * <p>Each level is sorted by vertex id once complete, so the result does not depend on
+ * the number of threads. Metrics: "Levels", "Max level width" and "Edges processed".
+ */
+public class ParallelTopoSort {
+
+    /** Default frontier slice handled by one task. */
+    public static final int DEFAULT_GRAIN = 2048;
+
+    /**
+     * Sorts using all available processors and fresh metrics.
+     * @param dag input directed acyclic graph
+     */
+    public static LevelTopoResult levels(GraphView dag) {
+        return levels(dag, Runtime.getRuntime().availableProcessors(), DEFAULT_GRAIN, new Metrics());
+    }
+
+    /**
+     * @param dag input directed acyclic graph
+     * @param parallelism number of worker threads
+     * @param metrics collector supplied by the caller; {@link Metrics#disabled()} skips instrumentation
+     */
+    public static LevelTopoResult levels(GraphView dag, int parallelism, Metrics metrics) {
+        return levels(dag, parallelism, DEFAULT_GRAIN, metrics);
+    }
+
+    /**
+     * @param dag input directed acyclic graph
+     * @param parallelism number of worker threads
+     * @param grain frontier slice handled by one task; narrower frontiers stay on the calling thread
+     * @param metrics collector supplied by the caller; {@link Metrics#disabled()} skips instrumentation
+     * @return the order grouped into levels
+     * @throws IllegalStateException if the graph has a cycle
+     */
+    public static LevelTopoResult levels(GraphView dag, int parallelism, int grain, Metrics metrics) {
+        if (parallelism < 1) throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        metrics.startTimer();
+
+        CSRGraph g = CSRGraph.of(dag);
+        int n = g.size();
+        int[] off = g.offsets(), tg = g.targets();
+        grain = Math.max(1, grain);
+
+        int[] counts = new int[n];
+        for (int i = 0; i < off[n]; i++) counts[tg[i]]++;
+        AtomicIntegerArray indeg = new AtomicIntegerArray(counts);
+
+        int[] order = new int[n];
+        AtomicInteger tail = new AtomicInteger();
+        int sources = 0;
+        for (int v = 0; v < n; v++) if (counts[v] == 0) order[sources++] = v;
+        tail.set(sources);
+
+        int[] levelStart = new int[n + 2];
+        int levels = 0, maxWidth = 0;
+        ForkJoinPool pool = parallelism > 1 ? new ForkJoinPool(parallelism) : null;
+        try {
+            int head = 0;
+            while (head < tail.get()) {
+                int end = tail.get();
+                levelStart[levels++] = head;
+                maxWidth = Math.max(maxWidth, end - head);
+                Level task = new Level(off, tg, indeg, order, tail, head, end, grain, pool != null);
+                if (pool == null || end - head <= grain) task.compute();
+                else pool.invoke(task);
+                Arrays.sort(order, end, tail.get());
+                head = end;
+            }
+            levelStart[levels] = head;
+        } finally {
+            if (pool != null) pool.shutdown();
+        }
+
+        metrics.add(metrics.register("Levels"), levels);
+        metrics.add(metrics.register("Max level width"), maxWidth);
+        metrics.add(metrics.register("Edges processed"), off[n]);
+        metrics.stopTimer();
+
+        if (tail.get() != n)
+            throw new IllegalStateException("Graph is not a DAG!");
+        return new LevelTopoResult(order, Arrays.copyOf(levelStart, levels + 1), metrics.getExecutionTime(), metrics);
+    }
+
+    /** Relaxes the out-edges of {@code order[lo, hi)} and appends newly freed vertices. */
+    private static final class Level extends RecursiveAction {
+        private final int[] off, tg, order;
+        private final AtomicIntegerArray indeg;
+        private final AtomicInteger tail;
+        private final int lo, hi, grain;
+        // explicit, since getPool() also answers for a caller that is itself a pool worker
+        private final boolean parallel;
+
+        Level(int[] off, int[] tg, AtomicIntegerArray indeg, int[] order, AtomicInteger tail,
+              int lo, int hi, int grain, boolean parallel) {
+            this.off = off;
+            this.tg = tg;
+            this.indeg = indeg;
+            this.order = order;
+            this.tail = tail;
+            this.lo = lo;
+            this.hi = hi;
+            this.grain = grain;
+            this.parallel = parallel;
+        }
+
+        @Override
+        protected void compute() {
+            if (parallel && hi - lo > grain) {
+                int mid = (lo + hi) >>> 1;
+                invokeAll(new Level(off, tg, indeg, order, tail, lo, mid, grain, true),
+                        new Level(off, tg, indeg, order, tail, mid, hi, grain, true));
+                return;
+            }
+            int[] found = new int[16];
+            int count = 0;
+            for (int p = lo; p < hi; p++) {
+                int u = order[p];
+                for (int i = off[u]; i < off[u + 1]; i++) {
+                    if (indeg.decrementAndGet(tg[i]) == 0) {
+                        if (count == found.length) found = Arrays.copyOf(found, count * 2);
+                        found[count++] = tg[i];
+                    }
+                }
+            }
+            if (count > 0) System.arraycopy(found, 0, order, tail.getAndAdd(count), count);
+        }
+    }
+}
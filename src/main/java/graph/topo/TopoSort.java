@@ -1,8 +1,7 @@
 package graph.topo;
 
-import graph.model.Graph;
+import graph.model.GraphView;
 import util.metrics.*;
-import util.metrics.MetricsInterface;
 
 import java.util.*;
 
@@ -12,59 +11,70 @@ import java.util.*;
  */
 public class TopoSort {
 
+    /**
+     * Performs topological sorting using Kahn's algorithm with fresh metrics.
+     * @param dag input directed acyclic graph
+     * @return topological order and execution time
+     */
+    public static TopoResult kahn(GraphView dag) {
+        return kahn(dag, new Metrics());
+    }
+
     /**
      * Performs topological sorting using Kahn's algorithm.
      * @param dag input directed acyclic graph
+     * @param metrics collector supplied by the caller; {@link Metrics#disabled()} skips instrumentation
      * @return topological order and execution time
      */
-    public static TopoResult kahn(Graph dag) {
-        Metrics metrics = new Metrics();
+    public static TopoResult kahn(GraphView dag, Metrics metrics) {
         metrics.startTimer();
 
         int n = dag.size();
         int[] indeg = new int[n];
+        // counted locally and flushed once, so instrumentation stays out of the loops
+        long edges = 0, pushes = 0, relaxations = 0;
 
         // Count indegrees
         for (int u = 0; u < n; u++) {
-            for (var e : dag.getEdges(u)) {
-                indeg[e.v]++;
-                metrics.incrementCounter("Edges processed");
+            int deg = dag.outDegree(u);
+            for (int i = 0; i < deg; i++) {
+                indeg[dag.target(u, i)]++;
             }
+            edges += deg;
         }
 
-        Queue<Integer> q = new ArrayDeque<>();
+        int[] queue = new int[n];
+        int head = 0, tail = 0;
         for (int i = 0; i < n; i++) {
-            if (indeg[i] == 0) {
-                q.add(i);
-                metrics.incrementCounter("Pushes");
-            }
+            if (indeg[i] == 0) queue[tail++] = i;
         }
-
-        List<Integer> order = new ArrayList<>();
-
-        while (!q.isEmpty()) {
-            int u = q.poll();
-            metrics.incrementCounter("Pops");
-            order.add(u);
-
-            for (var e : dag.getEdges(u)) {
-                indeg[e.v]--;
-                metrics.incrementCounter("Relaxations");
-                if (indeg[e.v] == 0) {
-                    q.add(e.v);
-                    metrics.incrementCounter("Pushes");
+        pushes += tail;
+
+        while (head < tail) {
+            int u = queue[head++];
+            int deg = dag.outDegree(u);
+            for (int i = 0; i < deg; i++) {
+                int v = dag.target(u, i);
+                if (--indeg[v] == 0) {
+                    queue[tail++] = v;
+                    pushes++;
                 }
             }
+            relaxations += deg;
         }
 
+        metrics.add(metrics.register("Edges processed"), edges);
+        metrics.add(metrics.register("Pushes"), pushes);
+        metrics.add(metrics.register("Pops"), head);
+        metrics.add(metrics.register("Relaxations"), relaxations);
         metrics.stopTimer();
         long time = metrics.getExecutionTime();
 
-        if (order.size() != n)
+        if (tail != n)
             throw new IllegalStateException("Graph is not a DAG!");
 
-
-
+        List<Integer> order = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) order.add(queue[i]);
 
         return new TopoResult(order, time, metrics);
     }
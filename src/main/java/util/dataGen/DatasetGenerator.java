@@ -13,7 +13,8 @@ import java.util.*;
 /**
  * Utility for generating multiple graph datasets for algorithm testing.
  *
- * Each dataset is saved as JSON in /data/{small,medium,large}/ folders.
+ * Each dataset is saved as JSON in /data/{small,medium,large}/ folders. For graphs too
+ * large to hold in memory use {@link StreamingGenerator}.
  * JSON structure example:
  * {
  *   "directed": true,
@@ -0,0 +1,102 @@
+package util.dataGen;
+
+import java.util.SplittableRandom;
+
+/**
+ * A random graph model that {@link StreamingGenerator} can produce shard by shard.
+ *
+ * <p>The generator splits the vertices into contiguous source ranges and calls
+ * {@link #generate} for each range with its own seeded random stream. A model emits the
+ * edges whose source lies in the range, sorted by source, and the number of edges per
+ * range must be known up front ({@link #edgesBefore}). This lets every shard write
+ * straight to its final place in the output without seeing the other shards.
+ */
+public interface EdgeModel {
+
+    /** Receives the edges of one shard. */
+    @FunctionalInterface
+    interface EdgeSink {
+        void edge(int u, int v, int w);
+    }
+
+    /** @return number of vertices */
+    int vertices();
+
+    /** @return total number of edges, at most {@link Integer#MAX_VALUE} */
+    long edges();
+
+    /**
+     * @param v vertex boundary, {@code 0 <= v <= vertices()}; the generator only asks at
+     *          shard boundaries, which are multiples of a power of two
+     * @return number of edges whose source is smaller than {@code v}
+     */
+    long edgesBefore(int v);
+
+    /**
+     * Emits exactly {@code edgesBefore(hi) - edgesBefore(lo)} edges with sources in
+     * {@code [lo, hi)}, in non-decreasing source order.
+     * @param rnd random stream of this shard; the same shard always gets the same stream
+     */
+    void generate(int lo, int hi, SplittableRandom rnd, EdgeSink sink);
+
+    /**
+     * Uniform random digraph: out-degrees are as even as possible, and targets are
+     * uniform over the other vertices (or over the later vertices when acyclic, which
+     * makes vertex order a topological order). No self-loops; parallel edges may occur.
+     *
+     * @param n vertices
+     * @param m edges
+     * @param maxWeight weights are uniform in {@code [1, maxWeight]}
+     * @param acyclic whether every edge goes from a lower to a higher vertex
+     */
+    static EdgeModel uniform(int n, long m, int maxWeight, boolean acyclic) {
+        // the last vertex has no later vertex, so an acyclic graph gives it no out-edges
+        int sources = acyclic ? n - 1 : n;
+        if (m < 0 || m > Integer.MAX_VALUE) throw new IllegalArgumentException("Edge count out of range: " + m);
+        if (m > 0 && (n < 2 || sources < 1)) throw new IllegalArgumentException("Need at least 2 vertices for edges");
+        if (maxWeight < 1) throw new IllegalArgumentException("maxWeight must be positive: " + maxWeight);
+
+        return new EdgeModel() {
+            @Override
+            public int vertices() {
+                return n;
+            }
+
+            @Override
+            public long edges() {
+                return m;
+            }
+
+            @Override
+            public long edgesBefore(int v) {
+                return sources == 0 ? 0 : m * Math.min(v, sources) / sources;
+            }
+
+            @Override
+            public void generate(int lo, int hi, SplittableRandom rnd, EdgeSink sink) {
+                int end = Math.min(hi, sources);
+                if (end <= lo) return;
+                long count = edgesBefore(hi) - edgesBefore(lo);
+                long base = count / (end - lo), extra = count % (end - lo);
+                for (int u = lo; u < end; u++) {
+                    // selection sampling: exactly `extra` of the remaining vertices get one more edge
+                    long deg = base;
+                    if (extra > 0 && rnd.nextLong(end - u) < extra) {
+                        deg++;
+                        extra--;
+                    }
+                    for (long i = 0; i < deg; i++) {
+                        int v;
+                        if (acyclic) {
+                            v = u + 1 + rnd.nextInt(n - u - 1);
+                        } else {
+                            v = rnd.nextInt(n - 1);
+                            if (v >= u) v++;
+                        }
+                        sink.edge(u, v, 1 + rnd.nextInt(maxWeight));
+                    }
+                }
+            }
+        };
+    }
+}
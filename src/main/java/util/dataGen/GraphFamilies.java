@@ -0,0 +1,444 @@
+package util.dataGen;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Parameterized synthetic graph families for scaling experiments, all as {@link EdgeModel}s
+ * so they can be streamed to disk ({@link StreamingGenerator#write}) or built in memory
+ * ({@link StreamingGenerator#build}) with identical results.
+ *
+ * <ul>
+ *   <li>{@link #rmat} — R-MAT power-law digraph: skewed degrees, a few hubs, one giant SCC.</li>
+ *   <li>{@link #layered} — DAG of {@code depth} layers of {@code width} vertices, edges between
+ *       consecutive layers: wide, shallow topological levels.</li>
+ *   <li>{@link #plantedScc} — known SCCs with a chosen size distribution, linked forward
+ *       so the condensation is a DAG over exactly the planted components.</li>
+ *   <li>{@link #chain} — one long path (optionally closed into a cycle), the worst case for
+ *       recursion depth of DFS-based algorithms.</li>
+ * </ul>
+ *
+ * <p>{@link Family} fixes sensible parameters per family so that a {@link Scale}
+ * (vertex count, average degree) is enough to build a ladder of sizes:
+ * <pre>
+ * for (Scale s : Scale.ladder(1 &lt;&lt; 16, 1 &lt;&lt; 22, 2, 8))
+ *     CSRGraph g = StreamingGenerator.build(Family.RMAT.model(s, 42), 42);
+ * </pre>
+ */
+public final class GraphFamilies {
+
+    private GraphFamilies() {
+    }
+
+    /** Problem size: vertex count and average out-degree. */
+    public static final class Scale {
+        private final int vertices;
+        private final double avgDegree;
+
+        public Scale(int vertices, double avgDegree) {
+            if (vertices < 0 || avgDegree < 0) throw new IllegalArgumentException("Negative scale");
+            this.vertices = vertices;
+            this.avgDegree = avgDegree;
+        }
+
+        public int vertices() {
+            return vertices;
+        }
+
+        public double avgDegree() {
+            return avgDegree;
+        }
+
+        /** @return {@code round(vertices * avgDegree)} */
+        public long edges() {
+            return Math.round(vertices * avgDegree);
+        }
+
+        /**
+         * Geometric ladder of vertex counts {@code from, from * factor, ...} up to {@code to},
+         * all with the same average degree.
+         */
+        public static List<Scale> ladder(int from, int to, int factor, double avgDegree) {
+            if (from < 1 || factor < 2) throw new IllegalArgumentException("Need from >= 1 and factor >= 2");
+            List<Scale> steps = new ArrayList<>();
+            for (long n = from; n <= to; n *= factor) steps.add(new Scale((int) n, avgDegree));
+            return steps;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "n=%d, deg=%.1f", vertices, avgDegree);
+        }
+    }
+
+    /** The families with default parameters, for ladders over a {@link Scale}. */
+    public enum Family {
+        /** Uniform random digraph. */
+        UNIFORM,
+        /** Uniform random DAG. */
+        UNIFORM_DAG,
+        /** R-MAT with a = 0.57, b = c = 0.19. */
+        RMAT,
+        /** Layered DAG of width about sqrt(n). */
+        LAYERED,
+        /** Planted SCCs, power-law sizes 1..1024 with exponent 2, 30% of extra edges internal. */
+        PLANTED_SCC,
+        /** A single path of n vertices; the degree is ignored. */
+        CHAIN;
+
+        /**
+         * @param scale vertex count and average degree
+         * @param seed seed for model-level randomness (component layout); edges use the generator's seed
+         */
+        public EdgeModel model(Scale scale, long seed) {
+            int n = scale.vertices();
+            long m = scale.edges();
+            return switch (this) {
+                case UNIFORM -> EdgeModel.uniform(n, m, 10, false);
+                case UNIFORM_DAG -> EdgeModel.uniform(n, m, 10, true);
+                case RMAT -> rmat(n, m, 0.57, 0.19, 0.19, 10);
+                case LAYERED -> {
+                    int width = Math.max(1, (int) Math.sqrt(n));
+                    yield layered(width, Math.max(1, n / width), scale.avgDegree(), 10);
+                }
+                case PLANTED_SCC -> plantedScc(n, m, SizeDistribution.powerLaw(1, 1024, 2.0), 0.3, 10, seed);
+                case CHAIN -> chain(n, false);
+            };
+        }
+
+        /** Parses a family name case-insensitively, with '-' for '_'. */
+        public static Family parse(String name) {
+            return valueOf(name.toUpperCase(Locale.ROOT).replace('-', '_'));
+        }
+    }
+
+    /** Distribution of planted component sizes. */
+    @FunctionalInterface
+    public interface SizeDistribution {
+        int next(SplittableRandom rnd);
+
+        static SizeDistribution fixed(int size) {
+            if (size < 1) throw new IllegalArgumentException("Size must be positive: " + size);
+            return rnd -> size;
+        }
+
+        static SizeDistribution uniform(int min, int max) {
+            if (min < 1 || max < min) throw new IllegalArgumentException("Need 1 <= min <= max");
+            return rnd -> min + rnd.nextInt(max - min + 1);
+        }
+
+        /** Discrete power law {@code P(s) ~ s^-exponent} on {@code [min, max]}, by inverse transform. */
+        static SizeDistribution powerLaw(int min, int max, double exponent) {
+            if (min < 1 || max < min) throw new IllegalArgumentException("Need 1 <= min <= max");
+            double[] cdf = new double[max - min + 1];
+            double sum = 0;
+            for (int s = min; s <= max; s++) cdf[s - min] = sum += Math.pow(s, -exponent);
+            for (int i = 0; i < cdf.length; i++) cdf[i] /= sum;
+            return rnd -> {
+                int i = Arrays.binarySearch(cdf, rnd.nextDouble());
+                return min + Math.min(cdf.length - 1, i < 0 ? -i - 1 : i);
+            };
+        }
+    }
+
+    /** Shared base: {@code m} edges spread as evenly as possible over sources {@code [0, sources)}. */
+    private abstract static class EvenModel implements EdgeModel {
+        final int n, sources, maxWeight;
+        final long m;
+
+        EvenModel(int n, int sources, long m, int maxWeight) {
+            if (m < 0 || m > Integer.MAX_VALUE) throw new IllegalArgumentException("Edge count out of range: " + m);
+            if (m > 0 && sources < 1) throw new IllegalArgumentException("No vertex can have out-edges");
+            if (maxWeight < 1) throw new IllegalArgumentException("maxWeight must be positive: " + maxWeight);
+            this.n = n;
+            this.sources = sources;
+            this.m = m;
+            this.maxWeight = maxWeight;
+        }
+
+        @Override
+        public int vertices() {
+            return n;
+        }
+
+        @Override
+        public long edges() {
+            return m;
+        }
+
+        @Override
+        public long edgesBefore(int v) {
+            return sources == 0 ? 0 : m * Math.min(v, sources) / sources;
+        }
+
+        @Override
+        public void generate(int lo, int hi, SplittableRandom rnd, EdgeSink sink) {
+            int end = Math.min(hi, sources);
+            if (end <= lo) return;
+            long count = edgesBefore(hi) - edgesBefore(lo);
+            long base = count / (end - lo), extra = count % (end - lo);
+            for (int u = lo; u < end; u++) {
+                long deg = base;
+                if (extra > 0 && rnd.nextLong(end - u) < extra) {
+                    deg++;
+                    extra--;
+                }
+                edges(u, deg, rnd, sink);
+            }
+        }
+
+        /** Emits the {@code deg} out-edges of {@code u}. */
+        abstract void edges(int u, long deg, SplittableRandom rnd, EdgeSink sink);
+
+        int weight(SplittableRandom rnd) {
+            return 1 + rnd.nextInt(maxWeight);
+        }
+    }
+
+    /**
+     * R-MAT digraph (Chakrabarti et al.): each edge picks one of four quadrants of the
+     * adjacency matrix with probabilities a, b, c, d = 1 - a - b - c, recursively, one bit
+     * of source and target per level.
+     *
+     * <p>To stream in source order, each vertex gets its share of the {@code m} edges under
+     * R-MAT's source distribution (cumulative rounding, so the total is exact). Its targets
+     * are then drawn from the R-MAT distribution conditioned on the source; out-of-range
+     * targets and self-loops are redrawn. Degrees follow R-MAT's skewed profile without
+     * sampling noise. Parallel edges may occur.
+     */
+    public static EdgeModel rmat(int n, long m, double a, double b, double c, int maxWeight) {
+        double d = 1 - a - b - c;
+        if (a <= 0 || b <= 0 || c <= 0 || d <= 0) throw new IllegalArgumentException("Need a, b, c, d > 0");
+        if (m > 0 && n < 2) throw new IllegalArgumentException("Need at least 2 vertices for edges");
+        int levels = n <= 1 ? 0 : 32 - Integer.numberOfLeadingZeros(n - 1);
+        double total = rmatMass(n, levels, a + b);
+        // P(target bit = 1 | source bit) as unsigned 32-bit thresholds
+        long oneAfterZero = (long) (b / (a + b) * 0x1p32), oneAfterOne = (long) (d / (c + d) * 0x1p32);
+
+        return new EvenModel(n, n, m, maxWeight) {
+            @Override
+            public long edgesBefore(int v) {
+                if (v >= n) return m;
+                return Math.round(m * (rmatMass(v, levels, a + b) / total));
+            }
+
+            @Override
+            public void generate(int lo, int hi, SplittableRandom rnd, EdgeSink sink) {
+                long before = edgesBefore(lo);
+                for (int u = lo; u < hi; u++) {
+                    long after = edgesBefore(u + 1);
+                    edges(u, after - before, rnd, sink);
+                    before = after;
+                }
+            }
+
+            @Override
+            void edges(int u, long deg, SplittableRandom rnd, EdgeSink sink) {
+                for (long i = 0; i < deg; i++) {
+                    int v;
+                    do {
+                        v = 0;
+                        long bits = 0;
+                        for (int l = levels - 1; l >= 0; l--) {
+                            // two levels per 64-bit draw
+                            if (((levels - 1 - l) & 1) == 0) bits = rnd.nextLong();
+                            else bits >>>= 32;
+                            long threshold = (u >>> l & 1) == 0 ? oneAfterZero : oneAfterOne;
+                            if ((bits & 0xFFFFFFFFL) < threshold) v |= 1 << l;
+                        }
+                    } while (v >= n || v == u);
+                    sink.edge(u, v, weight(rnd));
+                }
+            }
+        };
+    }
+
+    /**
+     * Probability that an R-MAT edge has a source {@code < v} (at most {@code 2^levels}):
+     * each source bit is 0 with probability {@code top = a + b}, independently per level.
+     */
+    static double rmatMass(long v, int levels, double top) {
+        double mass = 0, prefix = 1;
+        if (v >= 1L << levels) return 1;
+        for (int l = levels - 1; l >= 0; l--) {
+            if ((v >>> l & 1) != 0) {
+                mass += prefix * top;   // this bit 0, everything below free
+                prefix *= 1 - top;
+            } else {
+                prefix *= top;
+            }
+        }
+        return mass;
+    }
+
+    /**
+     * Layered DAG: vertex {@code u} is in layer {@code u / width}; edges go from each layer
+     * to the next, targets uniform in that layer. The last layer has no out-edges.
+     *
+     * @param avgDegree average out-degree over all vertices, carried by the first depth - 1 layers
+     */
+    public static EdgeModel layered(int width, int depth, double avgDegree, int maxWeight) {
+        if (width < 1 || depth < 1) throw new IllegalArgumentException("Need width, depth >= 1");
+        long nl = (long) width * depth;
+        if (nl > Integer.MAX_VALUE) throw new IllegalArgumentException("Too many vertices: " + nl);
+        int n = (int) nl;
+        return new EvenModel(n, n - width, Math.round(n * avgDegree), maxWeight) {
+            @Override
+            void edges(int u, long deg, SplittableRandom rnd, EdgeSink sink) {
+                int next = (u / width + 1) * width;
+                for (long i = 0; i < deg; i++) sink.edge(u, next + rnd.nextInt(width), weight(rnd));
+            }
+        };
+    }
+
+    /**
+     * Planted SCCs: vertices are cut into consecutive components with sizes drawn from
+     * {@code sizes}. Every component of two or more vertices is closed by a cycle through
+     * its members; the remaining edges go, with probability {@code internal}, to another
+     * member of the same component, otherwise to a random vertex of a later component.
+     * Edges never point backwards between components, so the SCCs are exactly the planted
+     * ones and the condensation is topologically ordered by vertex id.
+     *
+     * @param m total edge count, at least the number of cycle edges
+     * @param seed seed for the component layout
+     */
+    public static EdgeModel plantedScc(int n, long m, SizeDistribution sizes, double internal,
+                                       int maxWeight, long seed) {
+        return new PlantedScc(n, m, sizes, internal, maxWeight, seed);
+    }
+
+    private static final class PlantedScc implements EdgeModel {
+        private final int n, sources, maxWeight;
+        private final long extra, total;
+        private final double internal;
+        private final int[] compStart;      // component c is [compStart[c], compStart[c + 1])
+        private final long[] cyclesBefore;  // cycle edges of the components before c
+
+        PlantedScc(int n, long m, SizeDistribution sizes, double internal, int maxWeight, long seed) {
+            if (internal < 0 || internal > 1) throw new IllegalArgumentException("internal must be in [0, 1]");
+            if (m > Integer.MAX_VALUE) throw new IllegalArgumentException("Edge count out of range: " + m);
+            if (maxWeight < 1) throw new IllegalArgumentException("maxWeight must be positive: " + maxWeight);
+            this.n = n;
+            this.total = m;
+            this.internal = internal;
+            this.maxWeight = maxWeight;
+            this.compStart = layout(n, sizes, seed);
+            int comps = compStart.length - 1;
+            this.cyclesBefore = new long[comps + 1];
+            for (int c = 0; c < comps; c++) cyclesBefore[c + 1] = cyclesBefore[c] + (size(c) > 1 ? size(c) : 0);
+            this.extra = m - cyclesBefore[comps];
+            if (extra < 0)
+                throw new IllegalArgumentException("Need at least " + cyclesBefore[comps] + " edges for the planted cycles, got " + m);
+            // a singleton last component has nowhere to send extra edges
+            this.sources = comps > 0 && size(comps - 1) == 1 ? n - 1 : n;
+            if (extra > 0 && sources < 1) throw new IllegalArgumentException("No vertex can have extra edges");
+        }
+
+        private static int[] layout(int n, SizeDistribution sizes, long seed) {
+            SplittableRandom rnd = new SplittableRandom(seed);
+            int[] start = new int[16];
+            int count = 0;
+            for (int s = 0; s < n; ) {
+                if (count + 2 > start.length) start = Arrays.copyOf(start, start.length * 2);
+                start[count++] = s;
+                s += Math.min(n - s, sizes.next(rnd));
+            }
+            start[count] = n;
+            return Arrays.copyOf(start, count + 1);
+        }
+
+        private int size(int c) {
+            return compStart[c + 1] - compStart[c];
+        }
+
+        /** @return component of {@code v}, by binary search over the starts */
+        private int comp(int v) {
+            int i = Arrays.binarySearch(compStart, v);
+            return i >= 0 ? i : -i - 2;
+        }
+
+        private long extraBefore(int v) {
+            return sources == 0 ? 0 : extra * Math.min(v, sources) / sources;
+        }
+
+        @Override
+        public int vertices() {
+            return n;
+        }
+
+        @Override
+        public long edges() {
+            return total;
+        }
+
+        @Override
+        public long edgesBefore(int v) {
+            if (v <= 0) return 0;
+            int c = comp(v - 1);
+            long cycles = cyclesBefore[c] + (size(c) > 1 ? v - compStart[c] : 0);
+            return extraBefore(v) + cycles;
+        }
+
+        @Override
+        public void generate(int lo, int hi, SplittableRandom rnd, EdgeSink sink) {
+            // per vertex: its cycle edge, then its share of the extra edges (spread as in EvenModel)
+            int end = Math.min(hi, sources);
+            long count = end > lo ? extraBefore(hi) - extraBefore(lo) : 0;
+            long base = end > lo ? count / (end - lo) : 0, rest = end > lo ? count % (end - lo) : 0;
+            int c = comp(lo);
+            for (int u = lo; u < hi; u++) {
+                if (u == compStart[c + 1]) c++;
+                int from = compStart[c], to = compStart[c + 1];
+                if (to - from > 1) sink.edge(u, u + 1 == to ? from : u + 1, 1 + rnd.nextInt(maxWeight));
+                if (u >= end) continue;
+                long deg = base;
+                if (rest > 0 && rnd.nextLong(end - u) < rest) {
+                    deg++;
+                    rest--;
+                }
+                for (long i = 0; i < deg; i++) {
+                    int v;
+                    if (to - from > 1 && (to == n || rnd.nextDouble() < internal)) {
+                        v = from + rnd.nextInt(to - from - 1);
+                        if (v >= u) v++;
+                    } else {
+                        v = to + rnd.nextInt(n - to);
+                    }
+                    sink.edge(u, v, 1 + rnd.nextInt(maxWeight));
+                }
+            }
+        }
+    }
+
+    /**
+     * A path {@code 0 -> 1 -> ... -> n-1} with unit weights; if {@code closed}, also
+     * {@code n-1 -> 0}, which makes the whole graph one SCC found by a single deep DFS.
+     */
+    public static EdgeModel chain(int n, boolean closed) {
+        long m = n < 2 ? 0 : closed ? n : n - 1;
+        return new EdgeModel() {
+            @Override
+            public int vertices() {
+                return n;
+            }
+
+            @Override
+            public long edges() {
+                return m;
+            }
+
+            @Override
+            public long edgesBefore(int v) {
+                return Math.min(v, m);
+            }
+
+            @Override
+            public void generate(int lo, int hi, SplittableRandom rnd, EdgeSink sink) {
+                for (int u = lo; u < hi && u < m; u++) sink.edge(u, u + 1 == n ? 0 : u + 1, 1);
+            }
+        };
+    }
+}
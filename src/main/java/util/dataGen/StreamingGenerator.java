@@ -0,0 +1,335 @@
+package util.dataGen;
+
+import graph.model.CSRGraph;
+import util.io.BinaryGraphFormat;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+/**
+ * Writes large random graphs straight to disk, without building them in memory.
+ *
+ * <p>The vertices are cut into shards of a power-of-two size. Shard {@code s} draws from
+ * {@code new SplittableRandom(mix(seed, s))}, so its edges depend only on the seed and the
+ * model, never on the number of threads or on scheduling: the same arguments always give
+ * byte-identical files. Shards run in parallel on a fixed pool.
+ *
+ * <ul>
+ *   <li>{@code .bin} ({@link BinaryGraphFormat}): the model knows how many edges come
+ *       before each shard, so every shard writes its offsets, targets and weights
+ *       directly to their final file positions.</li>
+ *   <li>{@code .json}: each shard writes its edges to a temporary file next to the output;
+ *       the shard files are appended in order as they finish and then deleted.</li>
+ * </ul>
+ * Heap use is a few buffers per worker, independent of the graph size.
+ *
+ * <pre>
+ * java -cp target/classes util.dataGen.StreamingGenerator --n 10000000 --m 100000000 --seed 42 --out data/huge.bin
+ * </pre>
+ */
+public class StreamingGenerator {
+
+    /** Largest shard, in vertices. */
+    public static final int MAX_SHARD_VERTICES = 1 << 16;
+    /** Shards are made smaller until they hold about this many edges. */
+    private static final long SHARD_EDGES = 1 << 20;
+    private static final int BUFFER_INTS = 1 << 14;
+
+    /**
+     * Writes the graph of {@code model} to {@code out}, choosing the format by extension.
+     * @param model what to generate
+     * @param seed base seed; shard seeds are derived from it with {@link #mix}
+     * @param out destination {@code .bin} or {@code .json} file; replaced if it exists
+     * @param threads number of shards generated at once
+     */
+    public static void write(EdgeModel model, long seed, Path out, int threads) throws IOException {
+        if (model.edges() > Integer.MAX_VALUE) throw new IllegalArgumentException("Too many edges: " + model.edges());
+        Path parent = out.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+
+        int n = model.vertices();
+        int shardSize = shardSize(n, model.edges());
+        int shards = n == 0 ? 0 : (int) (((long) n + shardSize - 1) / shardSize);
+        boolean json = out.toString().endsWith(".json");
+
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, threads));
+        try (FileChannel ch = FileChannel.open(out, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            List<Future<Path>> results = new ArrayList<>();
+            for (int s = 0; s < shards; s++) {
+                int shard = s, lo = s * shardSize, hi = (int) Math.min(n, (long) lo + shardSize);
+                results.add(pool.submit(() -> json
+                        ? jsonShard(model, new SplittableRandom(mix(seed, shard)), lo, hi, out, shard)
+                        : binaryShard(model, new SplittableRandom(mix(seed, shard)), lo, hi, ch)));
+            }
+            if (json) {
+                appendJson(ch, n, results);
+            } else {
+                int m = (int) model.edges();
+                BinaryGraphFormat.writeHeader(ch, true, n, m, m);
+                for (Future<Path> f : results) await(f);
+                if (n == 0) writeInt(ch, BinaryGraphFormat.offsetPosition(0), 0);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Builds the graph of {@code model} in memory. The result is identical to reading back
+     * a file written by {@link #write} with the same seed. Shards fill disjoint ranges of the
+     * CSR arrays, in parallel on the common pool.
+     */
+    public static CSRGraph build(EdgeModel model, long seed) {
+        if (model.edges() > Integer.MAX_VALUE) throw new IllegalArgumentException("Too many edges: " + model.edges());
+        int n = model.vertices(), m = (int) model.edges();
+        int shardSize = shardSize(n, m);
+        int shards = n == 0 ? 0 : (int) (((long) n + shardSize - 1) / shardSize);
+        int[] off = new int[n + 1], tg = new int[m], wt = new int[m];
+        IntStream.range(0, shards).parallel().forEach(s -> {
+            int lo = s * shardSize, hi = (int) Math.min(n, (long) lo + shardSize);
+            int first = (int) model.edgesBefore(lo), expected = (int) (model.edgesBefore(hi) - first);
+            int[] at = {first};
+            int[] next = {lo};
+            model.generate(lo, hi, new SplittableRandom(mix(seed, s)), (u, v, w) -> {
+                check(u, v, lo, hi, next[0] - 1, n);
+                if (at[0] - first == expected) throw new IllegalStateException("Shard [" + lo + ", " + hi
+                        + ") produced more than " + expected + " edges");
+                while (next[0] <= u) off[next[0]++] = at[0];
+                tg[at[0]] = v;
+                wt[at[0]++] = w;
+            });
+            while (next[0] < hi) off[next[0]++] = at[0];
+            if (at[0] - first != expected)
+                throw new IllegalStateException("Shard [" + lo + ", " + hi + ") produced " + (at[0] - first)
+                        + " edges, expected " + expected);
+        });
+        off[n] = m;
+        return CSRGraph.wrap(n, true, m, off, tg, wt);
+    }
+
+    /** Power-of-two shard size: small enough for parallelism, at most {@link #MAX_SHARD_VERTICES}. */
+    static int shardSize(int n, long m) {
+        long byEdges = m == 0 ? MAX_SHARD_VERTICES : Math.max(1, (long) n * SHARD_EDGES / m);
+        return Integer.highestOneBit((int) Math.min(MAX_SHARD_VERTICES, byEdges));
+    }
+
+    /** SplitMix64 finalizer of {@code seed + shard * golden gamma}: well-spread, independent shard seeds. */
+    public static long mix(long seed, int shard) {
+        long z = seed + (shard + 1L) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static Path binaryShard(EdgeModel model, SplittableRandom rnd, int lo, int hi, FileChannel ch)
+            throws IOException {
+        int n = model.vertices(), m = (int) model.edges();
+        long first = model.edgesBefore(lo), expected = model.edgesBefore(hi) - first;
+        IntSection offsets = new IntSection(ch, BinaryGraphFormat.offsetPosition(lo));
+        IntSection targets = new IntSection(ch, BinaryGraphFormat.targetPosition(n, first));
+        IntSection weights = new IntSection(ch, BinaryGraphFormat.weightPosition(n, m, first));
+        long[] count = {0};
+        int[] next = {lo};   // next vertex whose offset is still unwritten
+        try {
+            model.generate(lo, hi, rnd, (u, v, w) -> {
+                check(u, v, lo, hi, next[0] - 1, n);
+                while (next[0] <= u) {
+                    offsets.put((int) (first + count[0]));
+                    next[0]++;
+                }
+                targets.put(v);
+                weights.put(w);
+                count[0]++;
+            });
+            for (; next[0] < hi; next[0]++) offsets.put((int) (first + count[0]));
+            if (hi == n) offsets.put(m);
+            offsets.flush();
+            targets.flush();
+            weights.flush();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        if (count[0] != expected)
+            throw new IllegalStateException("Shard [" + lo + ", " + hi + ") produced " + count[0]
+                    + " edges, expected " + expected);
+        return null;
+    }
+
+    private static Path jsonShard(EdgeModel model, SplittableRandom rnd, int lo, int hi, Path out, int shard)
+            throws IOException {
+        Path tmp = out.resolveSibling(out.getFileName() + ".shard" + shard + ".tmp");
+        long expected = model.edgesBefore(hi) - model.edgesBefore(lo);
+        long[] count = {0};
+        int[] last = {lo - 1};
+        try (Writer w = Files.newBufferedWriter(tmp, StandardCharsets.US_ASCII)) {
+            StringBuilder line = new StringBuilder(48);
+            model.generate(lo, hi, rnd, (u, v, wt) -> {
+                check(u, v, lo, hi, last[0], model.vertices());
+                last[0] = u;
+                line.setLength(0);
+                if (count[0]++ > 0) line.append(",\n");
+                line.append("    {\"u\": ").append(u).append(", \"v\": ").append(v)
+                        .append(", \"w\": ").append(wt).append('}');
+                try {
+                    w.append(line);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        if (count[0] != expected)
+            throw new IllegalStateException("Shard [" + lo + ", " + hi + ") produced " + count[0]
+                    + " edges, expected " + expected);
+        if (count[0] > 0) return tmp;
+        Files.delete(tmp);
+        return null;
+    }
+
+    private static void check(int u, int v, int lo, int hi, int previous, int n) {
+        if (u < lo || u >= hi || u < previous || v < 0 || v >= n)
+            throw new IllegalStateException("Edge " + u + " -> " + v + " out of order or range for shard ["
+                    + lo + ", " + hi + ")");
+    }
+
+    /** Writes the JSON envelope and appends the shard files in order as they complete. */
+    private static void appendJson(FileChannel ch, int n, List<Future<Path>> shards) throws IOException {
+        Writer head = new BufferedWriter(Channels.newWriter(ch, StandardCharsets.US_ASCII));
+        head.write("{\n  \"directed\": true,\n  \"n\": " + n + ",\n  \"edges\": [\n");
+        head.flush();
+        boolean first = true;
+        for (Future<Path> f : shards) {
+            Path tmp = await(f);
+            if (tmp == null) continue;
+            if (!first) ch.write(ByteBuffer.wrap(",\n".getBytes(StandardCharsets.US_ASCII)));
+            first = false;
+            try (FileChannel in = FileChannel.open(tmp, StandardOpenOption.READ)) {
+                for (long pos = 0, size = in.size(); pos < size; )
+                    pos += in.transferTo(pos, size - pos, ch);
+            }
+            Files.delete(tmp);
+        }
+        head.write("\n  ],\n  \"source\": 0,\n  \"weight_model\": \"edge\"\n}\n");
+        head.flush();
+    }
+
+    private static <T> T await(Future<T> f) throws IOException {
+        try {
+            return f.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) throw io;
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new IOException(e.getCause());
+        }
+    }
+
+    private static void writeInt(FileChannel ch, long pos, int value) throws IOException {
+        ByteBuffer b = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN).putInt(0, value);
+        while (b.hasRemaining()) pos += ch.write(b, pos);
+    }
+
+    /** Buffered run of consecutive little-endian ints written at a fixed file position. */
+    private static final class IntSection {
+        private final FileChannel ch;
+        private final ByteBuffer bytes = ByteBuffer.allocate(BUFFER_INTS * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        private final IntBuffer ints = bytes.asIntBuffer();
+        private long pos;
+
+        IntSection(FileChannel ch, long pos) {
+            this.ch = ch;
+            this.pos = pos;
+        }
+
+        void put(int value) {
+            if (!ints.hasRemaining()) flush();
+            ints.put(value);
+        }
+
+        void flush() {
+            bytes.position(0).limit(ints.position() * Integer.BYTES);
+            try {
+                while (bytes.hasRemaining()) pos += ch.write(bytes, pos);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            bytes.clear();
+            ints.clear();
+        }
+    }
+
+    /**
+     * Command line: {@code --n N (--m M | --degree D) --out FILE [--family F] [--seed S]
+     * [--max-weight W] [--dag] [--threads T]}. Families are those of {@link GraphFamilies.Family};
+     * without {@code --family} a uniform digraph ({@code --dag}: DAG) with {@code --max-weight} is written.
+     */
+    public static void main(String[] args) {
+        int n = 0, maxWeight = 10, threads = Runtime.getRuntime().availableProcessors();
+        long m = -1, seed = 42;
+        double degree = -1;
+        boolean dag = false;
+        String family = null;
+        Path out = null;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--n" -> n = Integer.parseInt(args[++i]);
+                    case "--m" -> m = Long.parseLong(args[++i]);
+                    case "--degree" -> degree = Double.parseDouble(args[++i]);
+                    case "--family" -> family = args[++i];
+                    case "--seed" -> seed = Long.parseLong(args[++i]);
+                    case "--max-weight" -> maxWeight = Integer.parseInt(args[++i]);
+                    case "--dag" -> dag = true;
+                    case "--threads" -> threads = Integer.parseInt(args[++i]);
+                    case "--out" -> out = Paths.get(args[++i]);
+                    default -> throw new IllegalArgumentException("Unknown argument: " + args[i]);
+                }
+            }
+            if (out == null) throw new IllegalArgumentException("--out is required");
+            if ((m < 0) == (degree < 0)) throw new IllegalArgumentException("Give exactly one of --m and --degree");
+            GraphFamilies.Scale scale = new GraphFamilies.Scale(n, degree >= 0 ? degree : n == 0 ? 0 : (double) m / n);
+            if (m < 0) m = scale.edges();
+            EdgeModel model = family == null
+                    ? EdgeModel.uniform(n, m, maxWeight, dag)
+                    : GraphFamilies.Family.parse(family).model(scale, seed);
+            long start = System.nanoTime();
+            write(model, seed, out, threads);
+            double sec = (System.nanoTime() - start) / 1e9;
+            System.out.printf(Locale.ROOT, "%s: %d vertices, %d edges in %.2f s (%.1f M edges/s)%n",
+                    out, n, model.edges(), sec, model.edges() / sec / 1e6);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Usage: StreamingGenerator --n N (--m M | --degree D) --out FILE.bin|FILE.json"
+                    + " [--family " + Arrays.toString(GraphFamilies.Family.values()) + "]"
+                    + " [--seed S] [--max-weight W] [--dag] [--threads T]");
+        } catch (IOException e) {
+            System.err.println("Error: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,314 @@
+package util.io;
+
+import graph.model.CSRGraph;
+import graph.model.GraphView;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Compact binary graph format with a memory-mapped, zero-copy reader.
+ *
+ * <p>Layout (all values little-endian 32-bit ints):
+ * <pre>
+ * header : magic "DAAG", version, flags (bit 0 = directed), n, entries, edgeCount
+ * offsets: n + 1 ints
+ * targets: entries ints
+ * weights: entries ints
+ * </pre>
+ * {@code entries} is the number of adjacency slots ({@code offsets[n]}); for undirected
+ * graphs it is twice {@code edgeCount}. The sections are exactly the arrays of a
+ * {@link CSRGraph}, so {@link #map(Path)} can expose them without parsing or copying.
+ *
+ * <p>Convert JSON datasets from the command line:
+ * <pre>
+ * java -cp target/classes util.io.BinaryGraphFormat data/
+ * </pre>
+ */
+public class BinaryGraphFormat {
+
+    /** "DAAG" read as a little-endian int. */
+    public static final int MAGIC = 0x47414144;
+    public static final int VERSION = 1;
+    public static final String EXTENSION = ".bin";
+
+    private static final int HEADER_BYTES = 6 * Integer.BYTES;
+    private static final int FLAG_DIRECTED = 1;
+    private static final int CHUNK_INTS = 1 << 16;
+
+    /**
+     * Writes a graph in the binary format.
+     * @param g graph to write
+     * @param out destination file; replaced if it exists
+     */
+    public static void write(CSRGraph g, Path out) throws IOException {
+        Path parent = out.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+
+        try (FileChannel ch = FileChannel.open(out, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            writeHeader(ch, g.isDirected(), g.size(), g.offsets()[g.size()], g.getEdgeCount());
+            ch.position(HEADER_BYTES);
+
+            ByteBuffer chunk = ByteBuffer.allocateDirect(CHUNK_INTS * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            writeInts(ch, chunk, g.offsets());
+            writeInts(ch, chunk, g.targets());
+            writeInts(ch, chunk, g.weights());
+        }
+    }
+
+    /**
+     * Writes the header at position 0 of {@code ch}. Together with the section positions
+     * below this lets a writer fill the sections in any order, e.g. in parallel.
+     */
+    public static void writeHeader(FileChannel ch, boolean directed, int n, int entries, int edgeCount)
+            throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putInt(VERSION)
+                .putInt(directed ? FLAG_DIRECTED : 0)
+                .putInt(n).putInt(entries).putInt(edgeCount);
+        header.flip();
+        for (long pos = 0; header.hasRemaining(); ) pos += ch.write(header, pos);
+    }
+
+    /** @return byte position of {@code offsets[v]} */
+    public static long offsetPosition(int v) {
+        return HEADER_BYTES + (long) v * Integer.BYTES;
+    }
+
+    /** @return byte position of {@code targets[i]} in a file with {@code n} vertices */
+    public static long targetPosition(int n, long i) {
+        return HEADER_BYTES + ((long) n + 1 + i) * Integer.BYTES;
+    }
+
+    /** @return byte position of {@code weights[i]} in a file with {@code n} vertices and {@code entries} slots */
+    public static long weightPosition(int n, int entries, long i) {
+        return HEADER_BYTES + ((long) n + 1 + entries + i) * Integer.BYTES;
+    }
+
+    private static void writeInts(FileChannel ch, ByteBuffer chunk, int[] values) throws IOException {
+        for (int from = 0; from < values.length; from += CHUNK_INTS) {
+            int len = Math.min(CHUNK_INTS, values.length - from);
+            chunk.clear();
+            chunk.asIntBuffer().put(values, from, len);
+            chunk.limit(len * Integer.BYTES);
+            writeFully(ch, chunk);
+        }
+    }
+
+    private static void writeFully(FileChannel ch, ByteBuffer buf) throws IOException {
+        while (buf.hasRemaining()) ch.write(buf);
+    }
+
+    /**
+     * Memory-maps a binary graph file. The returned graph reads directly from the
+     * page cache; nothing is copied onto the heap.
+     *
+     * @param file binary graph file
+     * @return a read-only view of the mapped graph
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if the file is not a valid binary graph
+     */
+    public static MappedGraph map(Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = ch.size();
+            if (size < HEADER_BYTES)
+                throw new IllegalArgumentException("File too small for a graph header: " + file);
+
+            ByteBuffer header = ch.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            if (header.getInt() != MAGIC)
+                throw new IllegalArgumentException("Not a binary graph file (bad magic): " + file);
+            int version = header.getInt();
+            if (version != VERSION)
+                throw new IllegalArgumentException("Unsupported binary graph version " + version + ": " + file);
+            boolean directed = (header.getInt() & FLAG_DIRECTED) != 0;
+            int n = header.getInt();
+            int entries = header.getInt();
+            int edgeCount = header.getInt();
+
+            long expected = HEADER_BYTES + ((long) n + 1 + 2L * entries) * Integer.BYTES;
+            if (n < 0 || entries < 0 || size != expected)
+                throw new IllegalArgumentException("Corrupt binary graph (expected " + expected
+                        + " bytes, found " + size + "): " + file);
+
+            long pos = HEADER_BYTES;
+            IntBuffer offsets = section(ch, pos, n + 1);
+            pos += (long) (n + 1) * Integer.BYTES;
+            IntBuffer targets = section(ch, pos, entries);
+            pos += (long) entries * Integer.BYTES;
+            IntBuffer weights = section(ch, pos, entries);
+            // the mapping stays valid after the channel is closed
+            return new MappedGraph(n, directed, edgeCount, offsets, targets, weights);
+        }
+    }
+
+    private static IntBuffer section(FileChannel ch, long pos, int ints) throws IOException {
+        MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, pos, (long) ints * Integer.BYTES);
+        return buf.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+    }
+
+    /**
+     * Converts one JSON dataset into the binary format.
+     * @param json source JSON file
+     * @param bin destination binary file
+     */
+    public static void convertJson(Path json, Path bin) throws IOException {
+        write(StreamingGraphLoader.loadCSRGraph(json), bin);
+    }
+
+    /**
+     * Converts JSON datasets to binary files next to them ({@code x.json -> x.bin}).
+     * Arguments are JSON files or directories searched recursively.
+     */
+    public static void main(String[] args) {
+        System.exit(run(args, System.out));
+    }
+
+    /**
+     * Runs the converter with {@link #main} arguments.
+     * @return 0, 1 on I/O failure, 2 on bad arguments
+     */
+    public static int run(String[] args, PrintStream out) {
+        if (args.length == 0) {
+            out.println("Usage: BinaryGraphFormat <file.json|dir>...");
+            return 2;
+        }
+        try {
+            List<Path> inputs = new ArrayList<>();
+            for (String arg : args) {
+                Path p = Paths.get(arg);
+                if (Files.isDirectory(p)) {
+                    try (Stream<Path> files = Files.walk(p)) {
+                        files.filter(BinaryGraphFormat::isJson).sorted().forEach(inputs::add);
+                    }
+                } else if (isJson(p)) {
+                    inputs.add(p);
+                } else {
+                    out.println("Error: not a .json file: " + arg);
+                    out.println("Usage: BinaryGraphFormat <file.json|dir>...");
+                    return 2;
+                }
+            }
+            for (Path json : inputs) {
+                String name = json.getFileName().toString();
+                Path bin = json.resolveSibling(name.substring(0, name.length() - ".json".length()) + EXTENSION);
+                long start = System.nanoTime();
+                convertJson(json, bin);
+                out.printf(Locale.ROOT, "%s -> %s (%.3f ms)%n", json, bin, (System.nanoTime() - start) / 1_000_000.0);
+            }
+            return 0;
+        } catch (IOException e) {
+            out.println("Error: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    private static boolean isJson(Path p) {
+        return p.getFileName() != null && p.getFileName().toString().endsWith(".json");
+    }
+
+    /**
+     * A graph backed by memory-mapped CSR sections of a binary graph file.
+     */
+    public static final class MappedGraph implements GraphView {
+        private final int n;
+        private final boolean directed;
+        private final int edgeCount;
+        private final IntBuffer offsets;
+        private final IntBuffer targets;
+        private final IntBuffer weights;
+        private volatile CSRGraph reversed;
+
+        private MappedGraph(int n, boolean directed, int edgeCount,
+                            IntBuffer offsets, IntBuffer targets, IntBuffer weights) {
+            this.n = n;
+            this.directed = directed;
+            this.edgeCount = edgeCount;
+            this.offsets = offsets;
+            this.targets = targets;
+            this.weights = weights;
+        }
+
+        @Override
+        public int size() {
+            return n;
+        }
+
+        @Override
+        public int getEdgeCount() {
+            return edgeCount;
+        }
+
+        @Override
+        public boolean isDirected() {
+            return directed;
+        }
+
+        @Override
+        public int outDegree(int u) {
+            return offsets.get(u + 1) - offsets.get(u);
+        }
+
+        @Override
+        public int target(int u, int i) {
+            return targets.get(offsets.get(u) + i);
+        }
+
+        @Override
+        public int weight(int u, int i) {
+            return weights.get(offsets.get(u) + i);
+        }
+
+        /**
+         * Builds the transposed graph on the heap once, straight from the mapped sections,
+         * and caches it. Edges of each reversed row keep the order of their original sources.
+         */
+        @Override
+        public CSRGraph getReversed() {
+            CSRGraph rev = reversed;
+            if (rev == null) {
+                int entries = targets.capacity();
+                int[] revOffsets = new int[n + 1];
+                for (int i = 0; i < entries; i++) revOffsets[targets.get(i) + 1]++;
+                for (int v = 0; v < n; v++) revOffsets[v + 1] += revOffsets[v];
+
+                int[] cursor = Arrays.copyOf(revOffsets, n);
+                int[] revTargets = new int[entries];
+                int[] revWeights = new int[entries];
+                for (int u = 0; u < n; u++) {
+                    for (int i = offsets.get(u), end = offsets.get(u + 1); i < end; i++) {
+                        int pos = cursor[targets.get(i)]++;
+                        revTargets[pos] = u;
+                        revWeights[pos] = weights.get(i);
+                    }
+                }
+                rev = CSRGraph.wrap(n, directed, edgeCount, revOffsets, revTargets, revWeights);
+                reversed = rev;
+            }
+            return rev;
+        }
+
+        /** @return a heap copy of the mapped arrays */
+        public CSRGraph toCSRGraph() {
+            int[] off = new int[n + 1];
+            int[] tg = new int[targets.capacity()];
+            int[] wt = new int[weights.capacity()];
+            offsets.get(0, off);
+            targets.get(0, tg);
+            weights.get(0, wt);
+            return CSRGraph.wrap(n, directed, edgeCount, off, tg, wt);
+        }
+    }
+}
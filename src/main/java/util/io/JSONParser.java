@@ -1,8 +1,9 @@
 package util.io;
 
+import graph.model.CSRGraph;
 import graph.model.Graph;
-import com.google.gson.*;
-import java.io.FileReader;
+
+import java.nio.file.Path;
 
 /**
  * Utility parser to load a graph from a JSON file.
@@ -19,8 +20,9 @@ import java.io.FileReader;
  * }
  * </pre>
  *
- * <p>Provides a single static method {@link #loadGraph(String)} to read the file and
- * construct a {@link Graph} instance.
+ * <p>{@link #loadGraph(String)} reads the file into a mutable {@link Graph};
+ * {@link #loadCSRGraph(String)} packs the same edges into an immutable {@link CSRGraph}.
+ * Both stream the file through {@link StreamingGraphLoader}, so no JSON tree is built.
  */
 public class JSONParser {
     /**
@@ -37,37 +39,24 @@ public class JSONParser {
      * </pre>
      */
     public static Graph loadGraph(String path) {
-        try (FileReader reader = new FileReader(path)) {
-            JsonObject obj = JsonParser.parseReader(reader).getAsJsonObject();
-
-            // Check essential fields
-            if (!obj.has("n"))
-                throw new IllegalArgumentException("Missing field 'n' (number of vertices).");
-            if (!obj.has("directed"))
-                throw new IllegalArgumentException("Missing field 'directed' (true/false).");
-            if (!obj.has("edges"))
-                throw new IllegalArgumentException("Missing field 'edges' (edge list).");
-
-            boolean directed = obj.get("directed").getAsBoolean();
-            int n = obj.get("n").getAsInt();
-
-            Graph graph = new Graph(n, directed);
-
-            JsonArray edges = obj.getAsJsonArray("edges");
-            for (JsonElement e : edges) {
-                JsonObject edge = e.getAsJsonObject();
-
-                // Validate edge fields
-                if (!edge.has("u") || !edge.has("v"))
-                    throw new IllegalArgumentException("Edge missing 'u' or 'v' field: " + edge);
-
-                int u = edge.get("u").getAsInt();
-                int v = edge.get("v").getAsInt();
-                int w = edge.has("w") ? edge.get("w").getAsInt() : 1; // default weight = 1
-                graph.addEdge(u, v, w);
-            }
+        try {
+            return StreamingGraphLoader.loadGraph(Path.of(path));
+        } catch (Exception e) {
+            throw new RuntimeException("Error reading JSON: " + e.getMessage(), e);
+        }
+    }
 
-            return graph;
+    /**
+     * Loads a graph from the JSON file at the given path straight into CSR form,
+     * without creating an {@link graph.model.Edge} per edge.
+     *
+     * @param path path to the JSON file
+     * @return an immutable {@link CSRGraph}
+     * @throws RuntimeException if an I/O or JSON parsing error occurs
+     */
+    public static CSRGraph loadCSRGraph(String path) {
+        try {
+            return StreamingGraphLoader.loadCSRGraph(Path.of(path));
         } catch (Exception e) {
             throw new RuntimeException("Error reading JSON: " + e.getMessage(), e);
         }
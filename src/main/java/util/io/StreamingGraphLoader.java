@@ -0,0 +1,236 @@
+package util.io;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import graph.model.CSRGraph;
+import graph.model.Graph;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.StringJoiner;
+
+/**
+ * Token-by-token graph loader built on Gson's {@link JsonReader}.
+ *
+ * <p>Reads the same format as {@link JSONParser} without building a DOM: each edge is
+ * handed to the target graph as soon as its object closes. Top-level fields may come in
+ * any order and unknown fields are skipped. Extra memory is bounded by the read buffer,
+ * except when a {@link Graph} is requested and {@code edges} appears before {@code n} or
+ * {@code directed}: those edges are buffered in primitive arrays until the header is complete.
+ *
+ * <pre>
+ * CSRGraph g = StreamingGraphLoader.loadCSRGraph(Path.of("data/graph.json"));
+ * </pre>
+ */
+public class StreamingGraphLoader {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Streams a graph file into a mutable {@link Graph}.
+     * @param path JSON file
+     * @throws IOException on read or syntax errors
+     * @throws IllegalArgumentException if a required field is missing
+     */
+    public static Graph loadGraph(Path path) throws IOException {
+        try (InputStream in = Files.newInputStream(path)) {
+            return loadGraph(in);
+        }
+    }
+
+    /**
+     * Streams a graph from an input stream into a mutable {@link Graph}.
+     * The stream is buffered internally and is not closed.
+     */
+    public static Graph loadGraph(InputStream in) throws IOException {
+        GraphTarget target = new GraphTarget();
+        read(in, target);
+        return target.graph;
+    }
+
+    /**
+     * Streams a graph file straight into an immutable {@link CSRGraph}.
+     * @param path JSON file
+     * @throws IOException on read or syntax errors
+     * @throws IllegalArgumentException if a required field is missing
+     */
+    public static CSRGraph loadCSRGraph(Path path) throws IOException {
+        try (InputStream in = Files.newInputStream(path)) {
+            return loadCSRGraph(in);
+        }
+    }
+
+    /**
+     * Streams a graph from an input stream into an immutable {@link CSRGraph}.
+     * The stream is buffered internally and is not closed.
+     */
+    public static CSRGraph loadCSRGraph(InputStream in) throws IOException {
+        CSRTarget target = new CSRTarget();
+        read(in, target);
+        return target.builder.build();
+    }
+
+    // ---------- TARGETS ----------
+
+    private interface Target {
+        /** Called once, as soon as both {@code n} and {@code directed} are known. */
+        void header(int n, boolean directed);
+
+        void edge(int u, int v, int w);
+
+        /** @return false if edges may be delivered before {@link #header} */
+        default boolean needsHeaderFirst() {
+            return true;
+        }
+    }
+
+    private static final class GraphTarget implements Target {
+        Graph graph;
+
+        @Override
+        public void header(int n, boolean directed) {
+            graph = new Graph(n, directed);
+        }
+
+        @Override
+        public void edge(int u, int v, int w) {
+            graph.addEdge(u, v, w);
+        }
+    }
+
+    private static final class CSRTarget implements Target {
+        final CSRGraph.Builder builder = new CSRGraph.Builder(0, true);
+
+        // the builder only needs n at build time, so edges never have to be re-buffered
+        @Override
+        public boolean needsHeaderFirst() {
+            return false;
+        }
+
+        @Override
+        public void header(int n, boolean directed) {
+            builder.vertices(n).directed(directed);
+        }
+
+        @Override
+        public void edge(int u, int v, int w) {
+            builder.addEdge(u, v, w);
+        }
+    }
+
+    // ---------- PARSING ----------
+
+    private static void read(InputStream in, Target target) throws IOException {
+        Reader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), BUFFER_SIZE);
+        JsonReader json = new JsonReader(reader);
+
+        Integer n = null;
+        Boolean directed = null;
+        boolean hasEdges = false;
+        boolean headerSent = false;
+        // edges seen before the header; replayed once it is complete
+        CSRGraph.Builder pending = null;
+
+        json.beginObject();
+        while (json.hasNext()) {
+            switch (json.nextName()) {
+                case "n" -> n = readInt(json);
+                case "directed" -> directed = readBoolean(json);
+                case "edges" -> {
+                    hasEdges = true;
+                    if (n != null && directed != null) {
+                        if (!headerSent) target.header(n, directed);
+                        headerSent = true;
+                        readEdges(json, target);
+                    } else if (!target.needsHeaderFirst()) {
+                        readEdges(json, target);
+                    } else {
+                        pending = new CSRGraph.Builder(0, true);
+                        CSRGraph.Builder buffer = pending;
+                        readEdges(json, new Target() {
+                            @Override
+                            public void header(int n, boolean directed) {
+                            }
+
+                            @Override
+                            public void edge(int u, int v, int w) {
+                                buffer.addEdge(u, v, w);
+                            }
+                        });
+                    }
+                }
+                default -> json.skipValue();
+            }
+        }
+        json.endObject();
+
+        // Check essential fields
+        if (n == null)
+            throw new IllegalArgumentException("Missing field 'n' (number of vertices).");
+        if (directed == null)
+            throw new IllegalArgumentException("Missing field 'directed' (true/false).");
+        if (!hasEdges)
+            throw new IllegalArgumentException("Missing field 'edges' (edge list).");
+
+        if (!headerSent) {
+            target.header(n, directed);
+            if (pending != null) pending.forEachEdge(target::edge);
+        }
+    }
+
+    /**
+     * Reads a number the way Gson's {@code getAsInt()} does, as the tree-based parser did:
+     * numeric strings are accepted and fractions are truncated ({@code 2.5} reads as 2).
+     */
+    private static int readInt(JsonReader json) throws IOException {
+        try {
+            return json.nextInt();
+        } catch (NumberFormatException e) {
+            // a failed nextInt() leaves the value buffered, so it can still be read as text
+            return new BigDecimal(json.nextString()).intValue();
+        }
+    }
+
+    /**
+     * Reads a flag the way Gson's {@code getAsBoolean()} does: {@code "true"} given as a
+     * string is accepted, any other string reads as false.
+     */
+    private static boolean readBoolean(JsonReader json) throws IOException {
+        if (json.peek() == JsonToken.STRING) return Boolean.parseBoolean(json.nextString());
+        return json.nextBoolean();
+    }
+
+    private static void readEdges(JsonReader json, Target target) throws IOException {
+        json.beginArray();
+        int index = 0;
+        while (json.hasNext()) {
+            int u = -1, v = -1, w = 1; // default weight = 1
+            boolean hasU = false, hasV = false, hasW = false;
+            json.beginObject();
+            while (json.hasNext()) {
+                switch (json.nextName()) {
+                    case "u" -> { u = readInt(json); hasU = true; }
+                    case "v" -> { v = readInt(json); hasV = true; }
+                    case "w" -> { w = readInt(json); hasW = true; }
+                    default -> json.skipValue();
+                }
+            }
+            json.endObject();
+
+            // Validate edge fields
+            if (!hasU || !hasV) {
+                StringJoiner fields = new StringJoiner(",", "{", "}");
+                if (hasU) fields.add("\"u\":" + u);
+                if (hasV) fields.add("\"v\":" + v);
+                if (hasW) fields.add("\"w\":" + w);
+                throw new IllegalArgumentException("Edge missing 'u' or 'v' field: " + fields + " (edge #" + index + ")");
+            }
+            target.edge(u, v, w);
+            index++;
+        }
+        json.endArray();
+    }
+}
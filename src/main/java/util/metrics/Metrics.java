@@ -1,17 +1,31 @@
 package util.metrics;
 
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
  * Default implementation of the Metrics interface.
  * Tracks counters for operations and measures execution time.
+ *
+ * <p>Counters live in a primitive {@code long[]} indexed by the handles returned from
+ * {@link #register(String)}. {@link #disabled()} returns a shared no-op instance for
+ * uninstrumented runs.
  */
 public class Metrics implements MetricsInterface {
-    private final Map<String, Long> counters = new HashMap<>();
+    private final Map<String, Integer> handles = new HashMap<>();
+    private String[] names = new String[8];
+    private long[] counters = new long[8];
+    private int count;
     private long startTime;
     private long totalTime;
 
+    /** @return a shared instance whose methods do nothing */
+    public static Metrics disabled() {
+        return Disabled.INSTANCE;
+    }
+
     @Override
     public void startTimer() {
         startTime = System.nanoTime();
@@ -27,6 +41,39 @@ public class Metrics implements MetricsInterface {
         return totalTime;
     }
 
+    @Override
+    public int register(String operationName) {
+        Integer handle = handles.get(operationName);
+        if (handle != null) return handle;
+        if (count == counters.length) {
+            counters = Arrays.copyOf(counters, count * 2);
+            names = Arrays.copyOf(names, count * 2);
+        }
+        names[count] = operationName;
+        handles.put(operationName, count);
+        return count++;
+    }
+
+    @Override
+    public void increment(int handle) {
+        counters[handle]++;
+    }
+
+    @Override
+    public void add(int handle, long value) {
+        counters[handle] += value;
+    }
+
+    @Override
+    public long get(int handle) {
+        return counters[handle];
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
     @Override
     public void incrementCounter(String operationName) {
         addToCounter(operationName, 1);
@@ -34,21 +81,88 @@ public class Metrics implements MetricsInterface {
 
     @Override
     public void addToCounter(String operationName, long value) {
-        counters.put(operationName, counters.getOrDefault(operationName, 0L) + value);
+        add(register(operationName), value);
     }
 
     @Override
     public long getCounter(String operationName) {
-        return counters.getOrDefault(operationName, 0L);
+        Integer handle = handles.get(operationName);
+        return handle == null ? 0L : counters[handle];
+    }
+
+    /** @return a copy of all counters by name, in registration order */
+    public Map<String, Long> snapshot() {
+        Map<String, Long> copy = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) copy.put(names[i], counters[i]);
+        return copy;
     }
 
     @Override
     public void printMetrics() {
         System.out.println("=== Metrics Report ===");
         System.out.printf("Execution time: %.3f ms%n", totalTime / 1_000_000.0);
-        for (var entry : counters.entrySet()) {
-            System.out.printf("%s: %d%n", entry.getKey(), entry.getValue());
+        for (int i = 0; i < count; i++) {
+            System.out.printf("%s: %d%n", names[i], counters[i]);
         }
         System.out.println("======================");
     }
+
+    /** No-op metrics: every update is discarded and every query returns zero. */
+    private static final class Disabled extends Metrics {
+        static final Disabled INSTANCE = new Disabled();
+
+        @Override
+        public void startTimer() {
+        }
+
+        @Override
+        public void stopTimer() {
+        }
+
+        @Override
+        public long getExecutionTime() {
+            return 0;
+        }
+
+        @Override
+        public int register(String operationName) {
+            return 0;
+        }
+
+        @Override
+        public void increment(int handle) {
+        }
+
+        @Override
+        public void add(int handle, long value) {
+        }
+
+        @Override
+        public long get(int handle) {
+            return 0;
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return false;
+        }
+
+        @Override
+        public void incrementCounter(String operationName) {
+        }
+
+        @Override
+        public void addToCounter(String operationName, long value) {
+        }
+
+        @Override
+        public long getCounter(String operationName) {
+            return 0;
+        }
+
+        @Override
+        public void printMetrics() {
+            System.out.println("=== Metrics disabled ===");
+        }
+    }
 }
@@ -3,6 +3,15 @@ package util.metrics;
 /**
  * Metrics interface for tracking algorithm performance.
  * Provides operation counters and timing methods.
+ *
+ * <p>Counters are registered once and then updated through an int handle, so hot
+ * loops pay for an array slot update rather than a map lookup:
+ * <pre>
+ * int edges = metrics.register("Edges processed");
+ * ...
+ * metrics.increment(edges);
+ * </pre>
+ * The name-based methods remain for reporting and occasional updates.
  */
 public interface MetricsInterface {
     /** Start measuring execution time. */
@@ -14,6 +23,35 @@ public interface MetricsInterface {
     /** @return total execution time in nanoseconds */
     long getExecutionTime();
 
+    /**
+     * Registers a counter, or looks up an existing one with the same name.
+     * @param operationName name of the operation
+     * @return handle for {@link #increment(int)}, {@link #add(int, long)} and {@link #get(int)}
+     */
+    int register(String operationName);
+
+    /**
+     * Increment a registered counter by 1.
+     * @param handle handle returned by {@link #register(String)}
+     */
+    void increment(int handle);
+
+    /**
+     * Add a value to a registered counter.
+     * @param handle handle returned by {@link #register(String)}
+     * @param value amount to add
+     */
+    void add(int handle, long value);
+
+    /**
+     * @param handle handle returned by {@link #register(String)}
+     * @return the current counter value
+     */
+    long get(int handle);
+
+    /** @return false if this instance discards everything it is given */
+    boolean isEnabled();
+
     /**
      * Increment a specific operation counter by 1.
      * @param operationName name of the operation
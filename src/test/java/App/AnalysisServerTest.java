@@ -0,0 +1,136 @@
+package App;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import graph.analysis.AnalysisContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import util.io.JSONParser;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * End-to-end tests of the HTTP analysis service on a loopback port.
+ */
+public class AnalysisServerTest {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private AnalysisServer server;
+
+    @BeforeEach
+    void start() throws IOException {
+        server = new AnalysisServer(0, 2, 8);
+        server.start();
+    }
+
+    @AfterEach
+    void stop() {
+        server.stop();
+    }
+
+    private HttpResponse<String> send(String method, String path, HttpRequest.BodyPublisher body) throws Exception {
+        HttpRequest req = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + server.getPort() + path))
+                .method(method, body).build();
+        return client.send(req, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        return send("GET", path, HttpRequest.BodyPublishers.noBody());
+    }
+
+    private String upload(String file) throws Exception {
+        HttpResponse<String> res = send("POST", "/graphs", HttpRequest.BodyPublishers.ofFile(Path.of(file)));
+        assertEquals(201, res.statusCode(), res.body());
+        Matcher m = Pattern.compile("\"handle\":\"(\\w+)\"").matcher(res.body());
+        assertTrue(m.find(), res.body());
+        return m.group(1);
+    }
+
+    /** Distances as the service renders them: unreached components are null. */
+    private static Integer[] expected(int[] dist, int unreached) {
+        Integer[] res = new Integer[dist.length];
+        for (int c = 0; c < dist.length; c++) res[c] = dist[c] == unreached ? null : dist[c];
+        return res;
+    }
+
+    /** Parses the {@code dist} array of a path response and checks its source component. */
+    private static Integer[] dist(HttpResponse<String> res, int sourceComponent) {
+        assertEquals(200, res.statusCode(), res.body());
+        JsonObject body = JsonParser.parseString(res.body()).getAsJsonObject();
+        assertEquals(sourceComponent, body.get("sourceComponent").getAsInt());
+        JsonArray arr = body.getAsJsonArray("dist");
+        Integer[] dist = new Integer[arr.size()];
+        for (int c = 0; c < dist.length; c++) dist[c] = arr.get(c).isJsonNull() ? null : arr.get(c).getAsInt();
+        return dist;
+    }
+
+    @Test
+    void testQueriesMatchAnalysisContext() throws Exception {
+        String file = "data/medium/medium_multiple_scc.json";
+        String h = upload(file);
+        AnalysisContext ctx = AnalysisContext.of(JSONParser.loadCSRGraph(file));
+
+        HttpResponse<String> scc = get("/graphs/" + h + "/scc");
+        assertEquals(200, scc.statusCode());
+        assertTrue(scc.body().contains("\"count\":" + ctx.scc().getComponents().size()));
+
+        String order = ctx.topoOrder().getOrder().toString().replace(" ", "");
+        assertTrue(get("/graphs/" + h + "/topo").body().contains(order));
+
+        int comp = ctx.scc().getCompOfVertex()[0];
+        assertArrayEquals(expected(ctx.shortestFrom(comp).getDist(), Integer.MAX_VALUE),
+                dist(get("/graphs/" + h + "/shortest?source=0"), comp));
+        assertArrayEquals(expected(ctx.longestFrom(comp).getDist(), Integer.MIN_VALUE),
+                dist(get("/graphs/" + h + "/longest?source=0"), comp));
+        assertTrue(get("/graphs/" + h + "/reaches?u=0&v=0").body().contains("true"));
+        assertTrue(get("/graphs/" + h + "/stats").body().contains("\"components\":" + ctx.scc().getComponents().size()));
+
+        // the second identical query is served from the per-handle cache
+        get("/graphs/" + h + "/scc");
+        assertTrue(get("/stats").body().contains("\"resultHits\":1"));
+    }
+
+    @Test
+    void testErrorsAndEviction() throws Exception {
+        String a = upload("data/small/small_cyclic_1.json");
+        assertEquals(400, get("/graphs/" + a + "/shortest").statusCode());
+        assertEquals(400, get("/graphs/" + a + "/shortest?source=999").statusCode());
+        assertEquals(404, get("/graphs/" + a + "/nothing").statusCode());
+        assertEquals(404, get("/graphs/zzz/scc").statusCode());
+        assertEquals(400, send("POST", "/graphs", HttpRequest.BodyPublishers.ofString("{\"n\": 2, \"edges\": [")).statusCode());
+
+        // capacity is two graphs: a third upload evicts the least recently used one
+        String b = upload("data/small/small_cyclic_1.json");
+        get("/graphs/" + a + "/scc");
+        upload("data/tasks.json");
+        assertEquals(200, get("/graphs/" + a + "/scc").statusCode());
+        assertEquals(404, get("/graphs/" + b + "/scc").statusCode());
+
+        assertEquals(200, send("DELETE", "/graphs/" + a, HttpRequest.BodyPublishers.noBody()).statusCode());
+        assertEquals(404, get("/graphs/" + a + "/scc").statusCode());
+    }
+
+    @Test
+    void testRunRejectsBadArgumentsAndBindFailure() {
+        PrintStream console = new PrintStream(new ByteArrayOutputStream(), true);
+        assertEquals(2, AnalysisServer.run(new String[]{"--serve", "--port"}, console));
+        assertEquals(2, AnalysisServer.run(new String[]{"--serve", "--port", "eighty"}, console));
+        assertEquals(2, AnalysisServer.run(new String[]{"--serve", "--max-graphs", "0"}, console));
+        assertEquals(2, AnalysisServer.run(new String[]{"--serve", "--verbose"}, console));
+        // the server started by @BeforeEach already holds its port
+        assertEquals(1, AnalysisServer.run(new String[]{"--serve", "--port", Integer.toString(server.getPort())}, console));
+    }
+}
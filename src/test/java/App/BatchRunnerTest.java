@@ -0,0 +1,77 @@
+package App;
+
+import graph.analysis.AnalysisContext;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import util.io.BinaryGraphFormat;
+import util.io.JSONParser;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the headless batch mode.
+ */
+public class BatchRunnerTest {
+
+    @Test
+    void testResolveDirectoryAndGlob() throws IOException {
+        List<Path> all = BatchRunner.resolve("data");
+        List<Path> small = BatchRunner.resolve("data/small/*.json");
+        assertFalse(small.isEmpty());
+        assertTrue(all.containsAll(small));
+        assertTrue(small.stream().allMatch(p -> p.startsWith(Paths.get("data/small"))));
+        assertEquals(List.of(Paths.get("data/tasks.json")), BatchRunner.resolve("data/tasks.json"));
+        assertTrue(BatchRunner.resolve("data/nothing/*.json").isEmpty());
+    }
+
+    @Test
+    void testReportsMatchAnalysisContext() throws IOException {
+        List<Path> files = BatchRunner.resolve("data/small");
+        BatchRunner.BatchReport report = BatchRunner.run(files,
+                BatchRunner.Options.parse(new String[]{"--batch", "data/small", "--threads", "3"}));
+        assertEquals(files.size(), report.getFiles().size());
+        assertEquals(0, report.getFailures());
+        for (int i = 0; i < files.size(); i++) {
+            BatchRunner.FileReport r = report.getFiles().get(i);
+            assertEquals(files.get(i).toString(), r.getFile());
+            AnalysisContext ctx = AnalysisContext.of(JSONParser.loadCSRGraph(r.getFile()));
+            assertEquals(ctx.scc().getComponents().size(), r.getComponents());
+            assertEquals(ctx.condensation().size(), r.getDagVertices());
+        }
+    }
+
+    @Test
+    void testWritesCsvAndJsonAndRecordsFailures(@TempDir Path dir) throws IOException {
+        Path json = Paths.get("data/tasks.json");
+        Path bin = dir.resolve("tasks.bin");
+        BinaryGraphFormat.convertJson(json, bin);
+        Files.writeString(dir.resolve("broken.json"), "{\"n\": 2, \"edges\": [");
+
+        ByteArrayOutputStream console = new ByteArrayOutputStream();
+        int code = BatchRunner.run(new String[]{"--batch", dir.toString(), "--out", dir.resolve("out.csv").toString()},
+                new PrintStream(console, true));
+        assertEquals(1, code);
+        List<String> csv = Files.readAllLines(dir.resolve("out.csv"));
+        assertEquals(3, csv.size());
+        assertTrue(csv.get(0).startsWith("file,vertices,edges"));
+        assertFalse(csv.get(1).endsWith(","), "broken.json should carry an error");
+        assertTrue(csv.get(2).endsWith(","), "tasks.bin should succeed");
+
+        BatchRunner.run(new String[]{"--batch", bin.toString(), "--out", dir.resolve("out.json").toString(),
+                "--engine", "tarjan", "--trim"}, new PrintStream(console, true));
+        String report = Files.readString(dir.resolve("out.json"));
+        assertTrue(report.contains("\"engine\": \"TARJAN\""));
+        assertTrue(report.contains("\"sccMs\""));
+
+        assertEquals(2, BatchRunner.run(new String[]{"--threads", "2"}, new PrintStream(console, true)));
+        assertEquals(2, BatchRunner.run(new String[]{"--batch"}, new PrintStream(console, true)));
+    }
+}
@@ -0,0 +1,69 @@
+package App;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ScalingReport — option parsing, the exponent fit and the written report.
+ */
+public class ScalingReportTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testSmallLadderWritesCsvAndCharts() throws Exception {
+        ByteArrayOutputStream buf = new ByteArrayOutputStream();
+        int code = ScalingReport.run(new String[]{"--scaling", "--families", "uniform,planted-scc",
+                "--from", "256", "--to", "1024", "--degree", "4", "--warmup", "1", "--warmup-ms", "10", "--reps", "2",
+                "--out", dir.toString()}, new PrintStream(buf, true));
+        assertEquals(0, code, buf.toString());
+
+        List<String> rows = Files.readAllLines(dir.resolve("scaling.csv"));
+        int stages = ScalingReport.Stage.values().length;
+        assertEquals(1 + 2 * 3 * stages, rows.size(), "header + families x sizes x stages");
+        assertTrue(rows.get(0).startsWith("family,stage,n,m,"));
+        String tarjan = rows.stream().filter(r -> r.startsWith("uniform,scc-tarjan,1024,4096,")).findFirst().orElseThrow();
+        assertTrue(tarjan.contains("DFS edges=4096"), tarjan);
+
+        assertEquals(1 + 2 * stages, Files.readAllLines(dir.resolve("summary.csv")).size());
+        for (String family : List.of("uniform", "planted-scc")) {
+            for (String chart : List.of("-time-vs-n", "-time-vs-m", "-edges-vs-m", "-ns-per-edge")) {
+                Path png = dir.resolve(family + chart + ".png");
+                assertTrue(Files.size(png) > 0, png.toString());
+            }
+        }
+    }
+
+    @Test
+    void testExponentOfPowerLaw() {
+        ScalingReport.Row a = row(5000, 1_000), b = row(20_000, 16_000), c = row(80_000, 256_000);
+        assertEquals(2.0, ScalingReport.exponent(List.of(a, b, c)), 1e-9);
+        assertTrue(Double.isNaN(ScalingReport.exponent(List.of(a))));
+        assertTrue(Double.isNaN(ScalingReport.exponent(List.of(row(10, 5), row(20, 10)))), "too small to fit");
+    }
+
+    @Test
+    void testBadArguments() {
+        ByteArrayOutputStream buf = new ByteArrayOutputStream();
+        PrintStream out = new PrintStream(buf, true);
+        assertEquals(2, ScalingReport.run(new String[]{"--scaling", "--factor", "1"}, out));
+        assertEquals(2, ScalingReport.run(new String[]{"--scaling", "--families", "grid"}, out));
+        assertEquals(2, ScalingReport.run(new String[]{"--scaling", "--from"}, out));
+    }
+
+    private static ScalingReport.Row row(int size, long ns) {
+        ScalingReport.Row r = new ScalingReport.Row();
+        r.stageN = size;
+        r.medianNs = ns;
+        return r;
+    }
+}
@@ -0,0 +1,102 @@
+package graph.analysis;
+
+import graph.dagsp.DAGLongestPath;
+import graph.dagsp.DAGShortestPaths;
+import graph.dagsp.PathResult;
+import graph.model.CSRGraph;
+import graph.model.Graph;
+import graph.scc.CondensationGraph;
+import graph.scc.SCCEngine;
+import graph.scc.SCCResult;
+import org.junit.jupiter.api.Test;
+import util.metrics.Metrics;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AnalysisContext and AnalysisCache.
+ */
+public class AnalysisContextTest {
+
+    private static Graph sample() {
+        Graph g = new Graph(6, true);
+        g.addEdge(0, 1, 2);
+        g.addEdge(1, 2, 3);
+        g.addEdge(2, 0, 1);
+        g.addEdge(2, 3, 4);
+        g.addEdge(3, 4, 5);
+        g.addEdge(4, 3, 1);
+        g.addEdge(1, 5, 7);
+        g.addEdge(4, 5, 2);
+        return g;
+    }
+
+    @Test
+    void testStagesAreComputedOnce() {
+        AnalysisContext ctx = AnalysisContext.of(sample());
+        assertSame(ctx.scc(), ctx.scc());
+        assertSame(ctx.condensation(), ctx.condensation());
+        assertSame(ctx.topoOrder(), ctx.topoOrder());
+        assertEquals(3, ctx.scc().getComponents().size());
+        assertEquals(ctx.scc().getComponents().size(), ctx.condensation().size());
+    }
+
+    @Test
+    void testPathsMatchUncachedPipeline() {
+        Graph g = sample();
+        for (SCCEngine engine : SCCEngine.values()) {
+            AnalysisContext ctx = AnalysisContext.of(g, engine, true);
+            SCCResult scc = engine.create(g).run();
+            Graph dag = CondensationGraph.build(g, scc);
+
+            PathResult shortest = DAGShortestPaths.computeShortest(dag, 0, new Metrics());
+            PathResult longest = DAGLongestPath.computeLongest(dag, 0, new Metrics());
+            assertArrayEquals(shortest.getDist(), ctx.shortestFrom(0).getDist(), engine.name());
+            assertArrayEquals(longest.getDist(), ctx.longestFrom(0).getDist(), engine.name());
+        }
+    }
+
+    @Test
+    void testContextIsFrozen() {
+        Graph g = sample();
+        AnalysisContext ctx = AnalysisContext.of(g);
+        int edges = ctx.graph().getEdgeCount();
+        g.addEdge(5, 0, 1);
+        assertEquals(edges, ctx.graph().getEdgeCount());
+        assertEquals(3, ctx.scc().getComponents().size());
+    }
+
+    @Test
+    void testCacheLoadsOncePerKey() {
+        AnalysisCache<String> cache = new AnalysisCache<>(4);
+        AtomicInteger loads = new AtomicInteger();
+        AnalysisContext a = cache.get("a", k -> { loads.incrementAndGet(); return sample(); });
+        AnalysisContext b = cache.get("a", k -> { loads.incrementAndGet(); return sample(); });
+        assertSame(a, b);
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    void testCacheEvictsLeastRecentlyUsed() {
+        AnalysisCache<Integer> cache = new AnalysisCache<>(2);
+        CSRGraph g = CSRGraph.of(sample());
+        cache.get(1, k -> g);
+        cache.get(2, k -> g);
+        cache.get(1, k -> g);   // 2 is now the eldest
+        cache.get(3, k -> g);
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictions());
+        assertNotNull(cache.getIfPresent(1));
+        assertNull(cache.getIfPresent(2));
+        assertNotNull(cache.getIfPresent(3));
+
+        cache.invalidate(1);
+        assertNull(cache.getIfPresent(1));
+        assertThrows(IllegalArgumentException.class, () -> new AnalysisCache<String>(0));
+    }
+}
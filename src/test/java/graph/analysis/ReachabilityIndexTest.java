@@ -0,0 +1,168 @@
+package graph.analysis;
+
+import graph.model.CSRGraph;
+import graph.model.Graph;
+import graph.scc.CondensationGraph;
+import graph.scc.SCCEngine;
+import graph.scc.SCCResult;
+import org.junit.jupiter.api.Test;
+import util.io.JSONParser;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks both layouts of ReachabilityIndex against a BFS from every vertex.
+ */
+public class ReachabilityIndexTest {
+
+    /** Reference: reach[u][v] by BFS from every vertex. */
+    private static boolean[][] closure(Graph g) {
+        int n = g.size();
+        boolean[][] reach = new boolean[n][n];
+        for (int s = 0; s < n; s++) {
+            ArrayDeque<Integer> queue = new ArrayDeque<>();
+            reach[s][s] = true;
+            queue.add(s);
+            while (!queue.isEmpty()) {
+                int u = queue.poll();
+                for (int i = 0; i < g.outDegree(u); i++) {
+                    int v = g.target(u, i);
+                    if (!reach[s][v]) {
+                        reach[s][v] = true;
+                        queue.add(v);
+                    }
+                }
+            }
+        }
+        return reach;
+    }
+
+    private static void assertMatches(Graph g, ReachabilityIndex index, String label) {
+        boolean[][] reach = closure(g);
+        for (int u = 0; u < g.size(); u++)
+            for (int v = 0; v < g.size(); v++)
+                assertEquals(reach[u][v], index.reaches(u, v), label + ": " + u + " -> " + v);
+    }
+
+    private static Graph random(long seed, int n, int m) {
+        Random rand = new Random(seed);
+        Graph g = new Graph(n, true);
+        for (int i = 0; i < m; i++) g.addEdge(rand.nextInt(n), rand.nextInt(n), 1);
+        return g;
+    }
+
+    @Test
+    void testBothLayoutsMatchBfsOnRandomGraphs() {
+        for (int seed = 0; seed < 6; seed++) {
+            // sparse graphs keep many small components and long chains in the condensation
+            Graph g = random(seed, 300, 330 + 40 * seed);
+            SCCResult scc = SCCEngine.TARJAN.create(g).run();
+            CSRGraph dag = CondensationGraph.buildCSR(g, scc);
+
+            ReachabilityIndex bits = ReachabilityIndex.build(dag, scc, Long.MAX_VALUE, true);
+            ReachabilityIndex intervals = ReachabilityIndex.build(dag, scc, 0, true);
+            assertEquals(ReachabilityIndex.Mode.BITSET, bits.getMode());
+            assertEquals(ReachabilityIndex.Mode.INTERVAL, intervals.getMode());
+            assertMatches(g, bits, "bitset " + seed);
+            assertMatches(g, intervals, "interval " + seed);
+        }
+    }
+
+    @Test
+    void testSequentialAndParallelAgreeOnWideDag() {
+        Random rand = new Random(11);
+        Graph g = new Graph(2000, true);
+        for (int i = 0; i < 6000; i++) {
+            int u = rand.nextInt(1999);
+            g.addEdge(u, u + 1 + rand.nextInt(Math.min(300, 1999 - u)), 1);
+        }
+        SCCResult scc = SCCEngine.KOSARAJU.create(g).run();
+        CSRGraph dag = CondensationGraph.buildCSR(g, scc);
+        ReachabilityIndex seq = ReachabilityIndex.build(dag, scc, Long.MAX_VALUE, false);
+        ReachabilityIndex par = ReachabilityIndex.build(dag, scc, Long.MAX_VALUE, true);
+        ReachabilityIndex intervals = ReachabilityIndex.build(dag, scc, 0, false);
+        Random q = new Random(3);
+        for (int i = 0; i < 20000; i++) {
+            int u = q.nextInt(2000), v = q.nextInt(2000);
+            assertEquals(seq.reaches(u, v), par.reaches(u, v));
+            assertEquals(seq.reaches(u, v), intervals.reaches(u, v));
+        }
+        assertTrue(seq.getSizeBytes() > intervals.getSizeBytes());
+    }
+
+    @Test
+    void testConcurrentIntervalQueries() throws Exception {
+        Graph g = random(5, 400, 460);
+        SCCResult scc = SCCEngine.TARJAN.create(g).run();
+        ReachabilityIndex intervals = ReachabilityIndex.build(CondensationGraph.buildCSR(g, scc), scc, 0, false);
+        boolean[][] reach = closure(g);
+
+        // more threads than pooled scratch, so searches share, hand back and drop scratch
+        ExecutorService threads = Executors.newFixedThreadPool(32);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < 32; t++) {
+                int seed = t;
+                results.add(threads.submit(() -> {
+                    Random q = new Random(seed);
+                    int wrong = 0;
+                    for (int i = 0; i < 5000; i++) {
+                        int u = q.nextInt(400), v = q.nextInt(400);
+                        if (intervals.reaches(u, v) != reach[u][v]) wrong++;
+                    }
+                    return wrong;
+                }));
+            }
+            for (Future<Integer> r : results) assertEquals(0, r.get());
+        } finally {
+            threads.shutdownNow();
+        }
+    }
+
+    @Test
+    void testDatasetsAndContext() throws IOException {
+        List<Path> files;
+        try (Stream<Path> s = Files.walk(Paths.get("data"))) {
+            files = s.filter(p -> p.toString().endsWith(".json")).sorted().collect(Collectors.toList());
+        }
+        for (Path file : files) {
+            Graph g = JSONParser.loadGraph(file.toString());
+            ReachabilityIndex index = AnalysisContext.of(g).reachability();
+            assertMatches(g, index, file.toString());
+            assertTrue(index.getBuildTimeNs() > 0);
+            assertTrue(index.getSizeBytes() > 0);
+        }
+    }
+
+    @Test
+    void testSameComponentAndEmptyGraph() {
+        Graph g = new Graph(4, true);
+        g.addEdge(0, 1, 1);
+        g.addEdge(1, 0, 1);
+        g.addEdge(1, 2, 1);
+        AnalysisContext ctx = AnalysisContext.of(g);
+        assertSame(ctx.reachability(), ctx.reachability());
+        assertTrue(ctx.reachability().reaches(1, 0));
+        assertTrue(ctx.reachability().reaches(0, 2));
+        assertFalse(ctx.reachability().reaches(2, 0));
+        assertFalse(ctx.reachability().reaches(3, 2));
+        assertEquals(3, ctx.reachability().getComponentCount());
+
+        Graph empty = new Graph(0, true);
+        assertEquals(0, ReachabilityIndex.build(empty, SCCEngine.TARJAN.create(empty).run()).getComponentCount());
+    }
+}
@@ -0,0 +1,98 @@
+package graph.dagsp;
+
+import graph.model.Graph;
+import graph.scc.SCCResult;
+import graph.scc.SCCTarjan;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CriticalPath (CPM).
+ */
+public class CriticalPathTest {
+
+    @Test
+    void testTextbookSchedule() {
+        // A=0 (3), B=1 (2), C=2 (4), D=3 (2), E=4 (3)
+        Graph g = new Graph(5, true);
+        g.addEdge(0, 2, 0);
+        g.addEdge(0, 3, 0);
+        g.addEdge(1, 3, 0);
+        g.addEdge(2, 4, 0);
+        g.addEdge(3, 4, 0);
+        long[] durations = {3, 2, 4, 2, 3};
+
+        CriticalPathResult res = CriticalPath.compute(g, durations);
+        assertEquals(10, res.getProjectDuration());
+        assertArrayEquals(new long[]{0, 0, 3, 3, 7}, res.getEarliestStart());
+        assertArrayEquals(new long[]{0, 3, 3, 5, 7}, res.getLatestStart());
+        assertEquals(3, res.getSlack(1));
+        assertEquals(2, res.getSlack(3));
+        assertEquals(5, res.getEarliestFinish(3));
+        assertEquals(7, res.getLatestFinish(3));
+        assertTrue(res.isCritical(2));
+        assertFalse(res.isCritical(1));
+        assertArrayEquals(new int[]{0, 2, 4}, res.getCriticalPath());
+        assertEquals(3, res.getMetrics().getCounter("Critical tasks"));
+    }
+
+    @Test
+    void testEdgeLagsMatchLongestPathsWithoutDurations() {
+        Graph g = new Graph(6, true);
+        g.addEdge(0, 1, 2);
+        g.addEdge(0, 2, 3);
+        g.addEdge(1, 3, 4);
+        g.addEdge(2, 3, 1);
+        g.addEdge(3, 4, 5);
+        g.addEdge(5, 4, 1); // second root
+
+        CriticalPathResult res = CriticalPath.compute(g, null);
+        PathResult longest = DAGLongestPath.computeLongest(g, 0);
+        for (int v = 0; v < 5; v++) assertEquals(longest.getDist()[v], res.getEarliestStart()[v]);
+        assertEquals(11, res.getProjectDuration());
+        assertEquals(0, res.getEarliestStart()[5]);
+        assertEquals(10, res.getSlack(5));
+        assertArrayEquals(new int[]{0, 1, 3, 4}, res.getCriticalPath());
+    }
+
+    @Test
+    void testZeroWeightsKeepWholeChain() {
+        // no durations and zero lags: every task starts at 0 and has zero slack
+        Graph g = new Graph(3, true);
+        g.addEdge(0, 1, 0);
+        g.addEdge(1, 2, 0);
+
+        CriticalPathResult res = CriticalPath.compute(g, null);
+        assertEquals(0, res.getProjectDuration());
+        for (int v = 0; v < 3; v++) assertTrue(res.isCritical(v));
+        assertArrayEquals(new int[]{0, 1, 2}, res.getCriticalPath());
+    }
+
+    @Test
+    void testCondensedCyclicGraph() {
+        Graph g = new Graph(4, true);
+        g.addEdge(0, 1, 0);
+        g.addEdge(1, 2, 0);
+        g.addEdge(2, 1, 0); // {1, 2} must run as one block
+        g.addEdge(2, 3, 1);
+        SCCResult scc = new SCCTarjan(g).run();
+
+        CriticalPathResult res = CriticalPath.computeCondensed(g, scc, new long[]{1, 2, 3, 4});
+        int[] compOf = scc.getCompOfVertex();
+        assertEquals(1 + 5 + 1 + 4, res.getProjectDuration());
+        assertEquals(1, res.getEarliestStart()[compOf[1]]);
+        assertEquals(7, res.getEarliestStart()[compOf[3]]);
+        assertEquals(3, res.getCriticalPath().length);
+    }
+
+    @Test
+    void testWrongDurationCount() {
+        assertThrows(IllegalArgumentException.class, () -> CriticalPath.compute(new Graph(3, true), new long[2]));
+
+        Graph g = new Graph(3, true);
+        SCCResult scc = new SCCTarjan(g).run();
+        assertThrows(IllegalArgumentException.class, () -> CriticalPath.computeCondensed(g, scc, new long[2]));
+        assertThrows(IllegalArgumentException.class, () -> CriticalPath.computeCondensed(g, scc, new long[4]));
+    }
+}
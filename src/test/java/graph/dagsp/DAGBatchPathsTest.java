@@ -0,0 +1,77 @@
+package graph.dagsp;
+
+import graph.model.Graph;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for DAGBatchPaths — every row must match the single-source algorithms.
+ */
+public class DAGBatchPathsTest {
+
+    private static Graph randomDag(int n, int m, long seed) {
+        Random rand = new Random(seed);
+        Graph g = new Graph(n, true);
+        for (int i = 0; i < m; i++) {
+            int u = rand.nextInt(n - 1);
+            int v = u + 1 + rand.nextInt(n - u - 1);
+            g.addEdge(u, v, rand.nextInt(21) - 5);
+        }
+        return g;
+    }
+
+    @Test
+    void testAllSourcesMatchSingleSource() {
+        Graph g = randomDag(40, 120, 3);
+        DistanceMatrix shortest = DAGBatchPaths.computeShortestFromAll(g);
+        DistanceMatrix longest = DAGBatchPaths.computeLongestFromAll(g);
+
+        assertEquals(40, shortest.rows());
+        for (int s = 0; s < g.size(); s++) {
+            assertArrayEquals(DAGShortestPaths.computeShortest(g, s).getDist(), shortest.row(s), "source " + s);
+            assertArrayEquals(DAGLongestPath.computeLongest(g, s).getDist(), longest.row(s), "source " + s);
+        }
+    }
+
+    @Test
+    void testSelectedSources() {
+        Graph g = randomDag(30, 80, 5);
+        int[] sources = {7, 0, 29};
+        DistanceMatrix m = DAGBatchPaths.computeShortest(g, sources);
+
+        assertArrayEquals(sources, m.sources());
+        for (int r = 0; r < sources.length; r++) {
+            int[] expected = DAGShortestPaths.computeShortest(g, sources[r]).getDist();
+            for (int v = 0; v < g.size(); v++) assertEquals(expected[v], m.get(r, v));
+        }
+    }
+
+    @Test
+    void testStreamingDeliversRowsInSourceOrder() {
+        Graph g = randomDag(50, 150, 9);
+        int[] sources = new int[20];
+        for (int i = 0; i < sources.length; i++) sources[i] = (i * 7) % 50;
+
+        List<Integer> seen = new ArrayList<>();
+        DAGBatchPaths.streamLongest(g, sources, (src, dist) -> {
+            seen.add(src);
+            assertArrayEquals(DAGLongestPath.computeLongest(g, src).getDist(), dist, "source " + src);
+        });
+
+        assertEquals(sources.length, seen.size());
+        for (int i = 0; i < sources.length; i++) assertEquals(sources[i], seen.get(i));
+    }
+
+    @Test
+    void testCycleRejected() {
+        Graph g = new Graph(2, true);
+        g.addEdge(0, 1, 1);
+        g.addEdge(1, 0, 1);
+        assertThrows(IllegalStateException.class, () -> DAGBatchPaths.computeShortest(g, new int[]{0}));
+    }
+}
@@ -0,0 +1,77 @@
+package graph.dagsp;
+
+import graph.model.Graph;
+import graph.topo.TopoResult;
+import graph.topo.TopoSort;
+import org.junit.jupiter.api.Test;
+import util.metrics.Metrics;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for DAGParallelPaths — results must be identical to the sequential classes.
+ */
+public class DAGParallelPathsTest {
+
+    /** Random DAG with few distinct weights and parallel edges, so ties are frequent. */
+    private static Graph randomDag(int n, int m, long seed) {
+        Random rand = new Random(seed);
+        Graph g = new Graph(n, true);
+        for (int i = 0; i < m; i++) {
+            int u = rand.nextInt(n - 1);
+            int v = u + 1 + rand.nextInt(Math.min(n - u - 1, 30));
+            g.addEdge(u, v, rand.nextInt(4) - 1);
+        }
+        return g;
+    }
+
+    private static void assertSame(PathResult expected, PathResult actual, String label) {
+        assertArrayEquals(expected.getDist(), actual.getDist(), label + " dist");
+        assertArrayEquals(expected.getPrev(), actual.getPrev(), label + " prev");
+        assertEquals(expected.getMetrics().getCounter("Edges processed"),
+                actual.getMetrics().getCounter("Edges processed"), label);
+        assertEquals(expected.getMetrics().getCounter("Relaxations"),
+                actual.getMetrics().getCounter("Relaxations"), label);
+    }
+
+    @Test
+    void testMatchesSequential() {
+        Graph g = randomDag(3000, 15000, 9);
+        TopoResult topo = TopoSort.kahn(g);
+        for (int width : new int[]{1, 64, Integer.MAX_VALUE}) {
+            DAGParallelPaths.Plan plan = DAGParallelPaths.plan(g, topo, width);
+            for (int src : new int[]{0, 1, 17, 1500, 2999}) {
+                String label = "width " + width + ", src " + src;
+                assertSame(DAGShortestPaths.computeShortest(g, src, topo, new Metrics()),
+                        plan.shortest(src, new Metrics()), label + " shortest");
+                assertSame(DAGLongestPath.computeLongest(g, src, topo, new Metrics()),
+                        plan.longest(src, new Metrics()), label + " longest");
+            }
+        }
+    }
+
+    @Test
+    void testLevels() {
+        Graph g = new Graph(5, true);
+        g.addEdge(0, 1, 2);
+        g.addEdge(0, 2, 3);
+        g.addEdge(1, 3, 1);
+        g.addEdge(2, 3, 0);
+        g.addEdge(3, 4, 1);
+        DAGParallelPaths.Plan plan = DAGParallelPaths.plan(g);
+        assertEquals(4, plan.getLevelCount());
+
+        PathResult res = DAGParallelPaths.computeShortest(g, 0);
+        assertArrayEquals(new int[]{0, 2, 3, 3, 4}, res.getDist());
+        // 1 comes before 2 in Kahn's order, so the tie at 3 keeps 1 as predecessor
+        assertEquals(1, res.getPrev()[3]);
+        assertEquals(List.of(0, 1, 3, 4), res.reconstructPath(4));
+
+        PathResult longest = DAGParallelPaths.computeLongest(g, 2);
+        assertEquals(Integer.MIN_VALUE, longest.getDist()[0]);
+        assertEquals(1, longest.getDist()[4]);
+    }
+}
@@ -0,0 +1,123 @@
+package graph.dagsp;
+
+import graph.model.Graph;
+import graph.topo.TopoResult;
+import org.junit.jupiter.api.Test;
+import util.metrics.Metrics;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for DAGSemiringPaths.
+ */
+public class DAGSemiringPathsTest {
+
+    /** k diamonds in a row: 2^k distinct paths from 0 to the last vertex. */
+    private static Graph diamonds(int k) {
+        Graph g = new Graph(3 * k + 1, true);
+        for (int d = 0; d < k; d++) {
+            int a = 3 * d;
+            g.addEdge(a, a + 1, 1);
+            g.addEdge(a, a + 2, 2);
+            g.addEdge(a + 1, a + 3, 1);
+            g.addEdge(a + 2, a + 3, 1);
+        }
+        return g;
+    }
+
+    @Test
+    void testMatchesIntShortestAndLongest() {
+        Random rand = new Random(4);
+        Graph g = new Graph(60, true);
+        for (int i = 0; i < 240; i++) {
+            int u = rand.nextInt(59);
+            g.addEdge(u, u + 1 + rand.nextInt(59 - u), rand.nextInt(21) - 5);
+        }
+        Map<Semiring, SemiringResult> all = DAGSemiringPaths.computeAll(g, 0, Semiring.MIN_PLUS, Semiring.MAX_PLUS);
+        PathResult shortest = DAGShortestPaths.computeShortest(g, 0);
+        PathResult longest = DAGLongestPath.computeLongest(g, 0);
+        for (int v = 0; v < g.size(); v++) {
+            SemiringResult min = all.get(Semiring.MIN_PLUS), max = all.get(Semiring.MAX_PLUS);
+            if (shortest.getDist()[v] == Integer.MAX_VALUE) {
+                assertFalse(min.isReachable(v));
+                assertFalse(max.isReachable(v));
+                continue;
+            }
+            assertEquals(shortest.getDist()[v], min.getValues()[v]);
+            assertEquals(shortest.getPrev()[v], min.getPrev()[v]);
+            assertEquals(longest.getDist()[v], max.getValues()[v]);
+            assertEquals(longest.getPrev()[v], max.getPrev()[v]);
+        }
+    }
+
+    @Test
+    void testLongSumsDoNotOverflow() {
+        Graph g = new Graph(4, true);
+        g.addEdge(0, 1, Integer.MAX_VALUE);
+        g.addEdge(1, 2, Integer.MAX_VALUE);
+        g.addEdge(2, 3, Integer.MAX_VALUE);
+        SemiringResult res = DAGSemiringPaths.compute(g, 0, Semiring.MAX_PLUS);
+        assertEquals(3L * Integer.MAX_VALUE, res.getValues()[3]);
+        assertEquals(List.of(0, 1, 2, 3), res.reconstructPath(3));
+    }
+
+    @Test
+    void testPathCountAndSaturation() {
+        Graph g = diamonds(10);
+        SemiringResult res = DAGSemiringPaths.compute(g, 0, Semiring.PATH_COUNT);
+        assertEquals(1024, res.getValues()[30]);
+        assertEquals(2, res.getValues()[3]);
+        assertNull(res.getPrev());
+        assertThrows(UnsupportedOperationException.class, () -> res.reconstructPath(3));
+
+        SemiringResult huge = DAGSemiringPaths.compute(diamonds(70), 0, Semiring.PATH_COUNT);
+        assertEquals(Long.MAX_VALUE, huge.getValues()[210]);
+        assertEquals(1L << 62, huge.getValues()[3 * 62]);
+    }
+
+    @Test
+    void testBottleneckAndSinglePass() {
+        Graph g = new Graph(5, true);
+        g.addEdge(0, 1, 10);
+        g.addEdge(1, 3, 2);
+        g.addEdge(0, 2, 5);
+        g.addEdge(2, 3, 4);
+        g.addEdge(3, 4, 7);
+
+        Map<Semiring, SemiringResult> all = DAGSemiringPaths.computeAll(g, 0, Semiring.values());
+        SemiringResult widest = all.get(Semiring.BOTTLENECK);
+        assertEquals(Long.MAX_VALUE, widest.getValues()[0]);
+        assertEquals(4, widest.getValues()[3]);
+        assertEquals(4, widest.getValues()[4]);
+        assertEquals(List.of(0, 2, 3, 4), widest.reconstructPath(4));
+
+        assertEquals(2, all.get(Semiring.PATH_COUNT).getValues()[4]);
+        assertEquals(19, all.get(Semiring.MAX_PLUS).getValues()[4]);
+        assertEquals(16, all.get(Semiring.MIN_PLUS).getValues()[4]);
+        assertEquals(5, all.get(Semiring.MIN_PLUS).getMetrics().getCounter("Edges processed"));
+
+        SemiringResult fromTwo = DAGSemiringPaths.compute(g, 2, Semiring.MIN_PLUS);
+        assertFalse(fromTwo.isReachable(1));
+        assertTrue(fromTwo.reconstructPath(1).isEmpty());
+    }
+
+    @Test
+    void testRejectsBadSourceAndPartialOrder() {
+        Graph g = diamonds(2);
+        assertThrows(IllegalArgumentException.class, () -> DAGSemiringPaths.compute(g, -1, Semiring.MIN_PLUS));
+        assertThrows(IllegalArgumentException.class, () -> DAGSemiringPaths.compute(g, 7, Semiring.MIN_PLUS));
+
+        // a partial order, as Kahn leaves on a cyclic graph, and a stale one of the right length
+        Metrics off = Metrics.disabled();
+        TopoResult partial = new TopoResult(List.of(0, 1, 2), 0, off);
+        assertThrows(IllegalArgumentException.class,
+                () -> DAGSemiringPaths.compute(g, 0, partial, off, Semiring.MIN_PLUS));
+        TopoResult stale = new TopoResult(List.of(0, 1, 2, 3, 4, 5, 5), 0, off);
+        assertThrows(IllegalArgumentException.class,
+                () -> DAGSemiringPaths.compute(g, 6, stale, off, Semiring.MIN_PLUS));
+    }
+}
@@ -0,0 +1,112 @@
+package graph.model;
+
+import graph.dagsp.DAGShortestPaths;
+import graph.scc.CondensationGraph;
+import graph.scc.SCCKosaraju;
+import graph.scc.SCCResult;
+import org.junit.jupiter.api.Test;
+import util.io.JSONParser;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CSRGraph — layout, reversal and agreement with the list-based Graph.
+ */
+public class CSRGraphTest {
+
+    private static Graph sample() {
+        Graph g = new Graph(5, true);
+        g.addEdge(0, 1, 4);
+        g.addEdge(0, 2, 1);
+        g.addEdge(2, 1, 2);
+        g.addEdge(1, 3, 5);
+        g.addEdge(3, 4, 3);
+        return g;
+    }
+
+    @Test
+    void testFromGraphPreservesAdjacency() {
+        Graph g = sample();
+        CSRGraph csr = CSRGraph.fromGraph(g);
+
+        assertEquals(g.size(), csr.size());
+        assertEquals(g.getEdgeCount(), csr.getEdgeCount());
+        for (int u = 0; u < g.size(); u++) {
+            assertEquals(g.outDegree(u), csr.outDegree(u));
+            for (int i = 0; i < g.outDegree(u); i++) {
+                assertEquals(g.getEdges(u).get(i).v, csr.target(u, i));
+                assertEquals(g.getEdges(u).get(i).w, csr.weight(u, i));
+            }
+        }
+    }
+
+    @Test
+    void testBuilderMatchesFromGraph() {
+        CSRGraph built = new CSRGraph.Builder(5, true)
+                .addEdge(0, 1, 4).addEdge(0, 2, 1).addEdge(2, 1, 2)
+                .addEdge(1, 3, 5).addEdge(3, 4, 3)
+                .build();
+        CSRGraph copied = CSRGraph.fromGraph(sample());
+
+        assertArrayEquals(copied.offsets(), built.offsets());
+        assertArrayEquals(copied.targets(), built.targets());
+        assertArrayEquals(copied.weights(), built.weights());
+    }
+
+    @Test
+    void testUndirectedBuilderStoresBothDirections() {
+        CSRGraph g = new CSRGraph.Builder(3, false).addEdge(0, 1, 7).build();
+
+        assertEquals(1, g.getEdgeCount());
+        assertEquals(1, g.outDegree(0));
+        assertEquals(1, g.outDegree(1));
+        assertEquals(0, g.target(1, 0));
+        assertEquals(7, g.weight(1, 0));
+    }
+
+    @Test
+    void testUndirectedSelfLoopRoundTrip() {
+        Graph g = new Graph(3, false);
+        g.addEdge(0, 1, 7);
+        g.addEdge(1, 1, 3);
+        CSRGraph csr = CSRGraph.fromGraph(g);
+        assertEquals(3, csr.outDegree(1), "edge to 0 plus two copies of the self-loop");
+
+        CSRGraph again = CSRGraph.fromGraph(csr.toGraph());
+        assertArrayEquals(csr.offsets(), again.offsets());
+        assertArrayEquals(csr.targets(), again.targets());
+        assertArrayEquals(csr.weights(), again.weights());
+    }
+
+    @Test
+    void testReversed() {
+        CSRGraph rev = CSRGraph.fromGraph(sample()).getReversed();
+
+        assertEquals(2, rev.outDegree(1), "Vertex 1 has two incoming edges");
+        assertEquals(0, rev.target(1, 0));
+        assertEquals(2, rev.target(1, 1));
+        assertEquals(0, rev.outDegree(0));
+    }
+
+    @Test
+    void testOutOfRangeEdgeRejected() {
+        CSRGraph.Builder b = new CSRGraph.Builder(2, true).addEdge(0, 2, 1);
+        assertThrows(IllegalArgumentException.class, b::build);
+    }
+
+    @Test
+    void testAlgorithmsAgreeOnDataset() {
+        String path = "data/medium/medium_multiple_scc.json";
+        Graph g = JSONParser.loadGraph(path);
+        CSRGraph csr = JSONParser.loadCSRGraph(path);
+
+        SCCResult a = new SCCKosaraju(g).run();
+        SCCResult b = new SCCKosaraju(csr).run();
+        assertArrayEquals(a.getCompOfVertex(), b.getCompOfVertex());
+
+        Graph dagA = CondensationGraph.build(g, a);
+        Graph dagB = CondensationGraph.build(csr, b);
+        assertArrayEquals(DAGShortestPaths.computeShortest(dagA, 0).getDist(),
+                DAGShortestPaths.computeShortest(CSRGraph.fromGraph(dagB), 0).getDist());
+    }
+}
@@ -1,7 +1,15 @@
 package graph.scc;
 
+import graph.model.CSRGraph;
 import graph.model.Graph;
+import graph.scc.CondensationGraph.WeightPolicy;
 import org.junit.jupiter.api.Test;
+import util.io.JSONParser;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -54,4 +62,91 @@ public class CondensationGraphTest {
                     "Single SCC should result in a DAG with no edges");
         }
     }
+
+    /** Reference: the original string-keyed construction, first edge wins. */
+    private static Map<Integer, List<int[]>> reference(CSRGraph g, SCCResult res) {
+        int[] compOf = res.getCompOfVertex();
+        Map<Integer, List<int[]>> out = new HashMap<>();
+        Set<String> seen = new HashSet<>();
+        for (int u = 0; u < g.size(); u++) {
+            for (int i = 0; i < g.outDegree(u); i++) {
+                int cu = compOf[u], cv = compOf[g.target(u, i)];
+                if (cu != cv && seen.add(cu + "-" + cv)) {
+                    out.computeIfAbsent(cu, c -> new ArrayList<>()).add(new int[]{cv, g.weight(u, i)});
+                }
+            }
+        }
+        return out;
+    }
+
+    @Test
+    void testMatchesStringKeyedBuilderOnDatasets() throws IOException {
+        for (Path file : SCCEngineTest.datasets()) {
+            CSRGraph g = JSONParser.loadCSRGraph(file.toString());
+            SCCResult res = new SCCTarjan(g).run();
+            Map<Integer, List<int[]>> expected = reference(g, res);
+
+            CSRGraph seq = CondensationGraph.buildCSR(g, res, WeightPolicy.FIRST, false);
+            CSRGraph par = CondensationGraph.buildCSR(g, res, WeightPolicy.FIRST, true);
+            assertEquals(res.size(), seq.size(), file.toString());
+            for (int c = 0; c < seq.size(); c++) {
+                List<int[]> edges = expected.getOrDefault(c, List.of());
+                assertEquals(edges.size(), seq.outDegree(c), file + " component " + c);
+                for (int i = 0; i < edges.size(); i++) {
+                    assertEquals(edges.get(i)[0], seq.target(c, i), file.toString());
+                    assertEquals(edges.get(i)[1], seq.weight(c, i), file.toString());
+                }
+            }
+            assertArrayEquals(seq.offsets(), par.offsets(), file.toString());
+            assertArrayEquals(seq.targets(), par.targets(), file.toString());
+            assertArrayEquals(seq.weights(), par.weights(), file.toString());
+        }
+    }
+
+    @Test
+    void testWeightPolicies() {
+        Graph g = new Graph(4, true);
+        g.addEdge(0, 1, 1);
+        g.addEdge(1, 0, 1); // SCC: 0-1
+        g.addEdge(0, 2, 4); // three parallel edges into 2
+        g.addEdge(1, 2, 9);
+        g.addEdge(0, 2, 2);
+        g.addEdge(2, 3, 7);
+        SCCResult res = new SCCTarjan(g).run();
+        int from = res.getCompOfVertex()[0], to = res.getCompOfVertex()[2];
+
+        int[] expected = {4, 2, 9, 15};
+        WeightPolicy[] policies = {WeightPolicy.FIRST, WeightPolicy.MIN, WeightPolicy.MAX, WeightPolicy.SUM};
+        for (int p = 0; p < policies.length; p++) {
+            for (boolean parallel : new boolean[]{false, true}) {
+                CSRGraph dag = CondensationGraph.buildCSR(g, res, policies[p], parallel);
+                assertEquals(2, dag.getEdgeCount());
+                assertEquals(1, dag.outDegree(from));
+                assertEquals(to, dag.target(from, 0));
+                assertEquals(expected[p], dag.weight(from, 0), policies[p] + (parallel ? " parallel" : ""));
+            }
+        }
+    }
+
+    @Test
+    void testSumPolicyOverflow() {
+        Graph g = new Graph(2, true);
+        g.addEdge(0, 1, Integer.MAX_VALUE);
+        g.addEdge(0, 1, 1);
+        SCCResult res = new SCCTarjan(g).run();
+        assertThrows(ArithmeticException.class, () -> CondensationGraph.buildCSR(g, res, WeightPolicy.SUM, false));
+    }
+
+    @Test
+    void testChunksBalanceMembers() {
+        // component sizes 1, 1, 6, 1, 1: the big one gets a chunk of its own
+        int[] start = {0, 1, 2, 8, 9, 10};
+        int[] bounds = CondensationGraph.chunks(start, 5, 4);
+        assertEquals(0, bounds[0]);
+        assertEquals(5, bounds[bounds.length - 1]);
+        for (int t = 0; t + 1 < bounds.length; t++) assertTrue(bounds[t] <= bounds[t + 1]);
+        assertArrayEquals(new int[]{0, 3, 5}, CondensationGraph.chunks(start, 5, 2));
+        assertArrayEquals(new int[]{0, 5}, CondensationGraph.chunks(start, 5, 1));
+        assertArrayEquals(new int[]{0, 0}, CondensationGraph.chunks(new int[]{0}, 0, 8));
+    }
 }
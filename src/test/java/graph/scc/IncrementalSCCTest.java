@@ -0,0 +1,89 @@
+package graph.scc;
+
+import graph.model.CSRGraph;
+import graph.model.Graph;
+import org.junit.jupiter.api.Test;
+import util.io.JSONParser;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks IncrementalSCC against a full Tarjan run after batches of insertions.
+ */
+public class IncrementalSCCTest {
+
+    private static void assertMatchesBatch(IncrementalSCC inc, Graph g, String label) {
+        SCCResult expected = new SCCTarjan(g).run();
+        SCCResult actual = inc.snapshot();
+        assertEquals(expected.size(), inc.componentCount(), label);
+        assertEquals(SCCEngineTest.partition(expected), SCCEngineTest.partition(actual), label);
+        SCCEngineTest.assertConsistent(actual, label);
+        SCCEngineTest.assertTopologicallyNumbered(g, actual, label);
+
+        CSRGraph dag = inc.condensation();
+        Graph batch = CondensationGraph.build(g, actual);
+        assertEquals(batch.getEdgeCount(), dag.getEdgeCount(), label);
+        for (int u = 0; u < dag.size(); u++) {
+            for (int i = 0; i < dag.outDegree(u); i++) assertTrue(u < dag.target(u, i), label);
+        }
+    }
+
+    @Test
+    void testEdgeClosingCycleMergesComponents() {
+        IncrementalSCC inc = new IncrementalSCC(5);
+        inc.addEdge(0, 1);
+        inc.addEdge(1, 2);
+        inc.addEdge(2, 3);
+        assertEquals(5, inc.componentCount());
+
+        inc.addEdge(3, 1);
+        assertEquals(3, inc.componentCount());
+        assertTrue(inc.sameComponent(1, 3));
+        assertTrue(inc.sameComponent(2, 3));
+        assertFalse(inc.sameComponent(0, 1));
+        assertTrue(inc.precedes(0, 2));
+        assertEquals(3, inc.members(2).length);
+        assertEquals(2, inc.getMetrics().getCounter("Merges"));
+
+        inc.addEdge(4, 0);
+        inc.addEdge(2, 4);
+        assertEquals(1, inc.componentCount());
+    }
+
+    @Test
+    void testRandomInsertionsMatchTarjan() {
+        Random rnd = new Random(11);
+        int n = 400;
+        IncrementalSCC inc = new IncrementalSCC(n);
+        Graph g = new Graph(n, true);
+        for (int k = 1; k <= 1200; k++) {
+            int u = rnd.nextInt(n), v = rnd.nextInt(n);
+            int w = 1 + rnd.nextInt(10);
+            inc.addEdge(u, v, w);
+            g.addEdge(u, v, w);
+            if (k % 100 == 0) assertMatchesBatch(inc, g, "after " + k + " edges");
+        }
+        assertEquals(1200, inc.getEdgeCount());
+    }
+
+    @Test
+    void testSeededFromDatasets() throws IOException {
+        for (Path file : SCCEngineTest.datasets()) {
+            Graph g = JSONParser.loadGraph(file.toString());
+            IncrementalSCC inc = IncrementalSCC.of(g);
+            assertMatchesBatch(inc, g, file.toString());
+
+            Random rnd = new Random(file.hashCode());
+            for (int k = 0; k < 20 && g.size() > 0; k++) {
+                int u = rnd.nextInt(g.size()), v = rnd.nextInt(g.size());
+                inc.addEdge(u, v, 1);
+                g.addEdge(u, v, 1);
+            }
+            assertMatchesBatch(inc, g, file + " + insertions");
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package graph.scc;
+
+import graph.model.CSRGraph;
+import graph.model.Graph;
+import org.junit.jupiter.api.Test;
+import util.io.JSONParser;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that every SCC engine produces the same partition as Kosaraju
+ * on all datasets under data/.
+ */
+public class SCCEngineTest {
+
+    static List<Path> datasets() throws IOException {
+        try (Stream<Path> files = Files.walk(Paths.get("data"))) {
+            return files.filter(p -> p.toString().endsWith(".json")).sorted().collect(Collectors.toList());
+        }
+    }
+
+    /** Canonical form of a decomposition: the set of vertex sets. */
+    static Set<Set<Integer>> partition(SCCResult res) {
+        Set<Set<Integer>> parts = new HashSet<>();
+        for (List<Integer> comp : res.getComponents()) parts.add(new HashSet<>(comp));
+        return parts;
+    }
+
+    /** Component ids must be consistent with the component lists. */
+    static void assertConsistent(SCCResult res, String label) {
+        int[] compOf = res.getCompOfVertex();
+        for (int c = 0; c < res.size(); c++) {
+            for (int v : res.getComponents().get(c)) assertEquals(c, compOf[v], label);
+        }
+    }
+
+    /** Every cross-component edge must go from a lower to a higher component id. */
+    static void assertTopologicallyNumbered(Graph g, SCCResult res, String label) {
+        int[] compOf = res.getCompOfVertex();
+        for (int u = 0; u < g.size(); u++) {
+            for (var e : g.getEdges(u)) {
+                assertTrue(compOf[u] <= compOf[e.v], label + ": edge " + u + "->" + e.v);
+            }
+        }
+    }
+
+    @Test
+    void testEnginesAgreeOnAllDatasets() throws IOException {
+        List<Path> files = datasets();
+        assertFalse(files.isEmpty(), "Expected datasets under data/");
+
+        for (Path file : files) {
+            Graph g = JSONParser.loadGraph(file.toString());
+            SCCResult expected = SCCEngine.KOSARAJU.create(g).run();
+
+            for (SCCEngine engine : SCCEngine.values()) {
+                String label = file + " / " + engine;
+                SCCResult res = engine.create(CSRGraph.fromGraph(g)).run();
+                assertEquals(expected.size(), res.size(), label);
+                assertEquals(partition(expected), partition(res), label);
+                assertConsistent(res, label);
+                assertTopologicallyNumbered(g, res, label);
+
+                SCCResult trimmed = engine.createTrimmed(g).run();
+                assertEquals(partition(expected), partition(trimmed), label + " (trimmed)");
+                assertConsistent(trimmed, label + " (trimmed)");
+                assertTopologicallyNumbered(g, trimmed, label + " (trimmed)");
+            }
+        }
+    }
+
+    @Test
+    void testTarjanOnRandomGraphs() {
+        Random rand = new Random(42);
+        for (int round = 0; round < 50; round++) {
+            int n = 1 + rand.nextInt(60);
+            Graph g = new Graph(n, true);
+            int m = rand.nextInt(n * 3 + 1);
+            for (int i = 0; i < m; i++) g.addEdge(rand.nextInt(n), rand.nextInt(n), 1);
+
+            SCCResult a = new SCCKosaraju(g).run();
+            SCCResult b = new SCCTarjan(g).run();
+            assertEquals(partition(a), partition(b), "round " + round);
+            assertTopologicallyNumbered(g, b, "round " + round);
+        }
+    }
+
+    @Test
+    void testTarjanMetricsCollected() {
+        Graph g = new Graph(3, true);
+        g.addEdge(0, 1, 1);
+        g.addEdge(1, 2, 1);
+        g.addEdge(2, 0, 1);
+
+        SCCAlgorithm algo = SCCEngine.TARJAN.create(g);
+        algo.run();
+
+        assertEquals(3, algo.getMetrics().getCounter("DFS visits"));
+        assertEquals(3, algo.getMetrics().getCounter("DFS edges"));
+    }
+
+    @Test
+    void testParallelForwardBackwardOnRandomGraphs() {
+        Random rand = new Random(7);
+        for (int round = 0; round < 50; round++) {
+            int n = 1 + rand.nextInt(300);
+            Graph g = new Graph(n, true);
+            int m = rand.nextInt(n * 3 + 1);
+            for (int i = 0; i < m; i++) g.addEdge(rand.nextInt(n), rand.nextInt(n), 1);
+
+            SCCResult expected = new SCCKosaraju(g).run();
+            // threshold 1 forces the forward-backward split all the way down
+            SCCParallel par = new SCCParallel(g, 4, 1);
+            SCCResult res = par.run();
+            assertEquals(partition(expected), partition(res), "round " + round);
+            assertConsistent(res, "round " + round);
+            assertTopologicallyNumbered(g, res, "round " + round);
+        }
+    }
+
+    @Test
+    void testParallelReportsTrimming() {
+        Graph g = new Graph(5, true);
+        g.addEdge(0, 1, 1);
+        g.addEdge(1, 2, 1);
+        g.addEdge(2, 1, 1);
+        g.addEdge(2, 3, 1);
+
+        SCCParallel par = new SCCParallel(g, 2, 1);
+        SCCResult res = par.run();
+
+        assertEquals(4, res.size());
+        assertEquals(3, par.getMetrics().getCounter("Trimmed vertices"),
+                "Vertices 0, 3 and 4 have no in- or out-edges and are trimmed");
+    }
+
+    @Test
+    void testTrimOnRandomGraphs() {
+        Random rand = new Random(11);
+        for (int round = 0; round < 50; round++) {
+            int n = 1 + rand.nextInt(80);
+            Graph g = new Graph(n, true);
+            int m = rand.nextInt(n * 2 + 1);
+            for (int i = 0; i < m; i++) g.addEdge(rand.nextInt(n), rand.nextInt(n), 1);
+
+            SCCResult expected = new SCCKosaraju(g).run();
+            SCCResult res = new SCCTrim(g, SCCEngine.TARJAN).run();
+            assertEquals(partition(expected), partition(res), "round " + round);
+            assertTopologicallyNumbered(g, res, "round " + round);
+        }
+    }
+
+    @Test
+    void testTrimReportsCounts() {
+        Graph g = JSONParser.loadGraph("data/large/large_sparse_dag.json");
+        SCCTrim trim = new SCCTrim(g, SCCEngine.KOSARAJU);
+        SCCResult res = trim.run();
+
+        var m = trim.getMetrics();
+        assertEquals(g.size(), res.size(), "A DAG has only singleton components");
+        assertEquals(g.size(), m.getCounter("Trimmed (zero in)") + m.getCounter("Trimmed (zero out)"));
+        assertEquals(0, m.getCounter("Core vertices"));
+        assertNull(trim.getCoreMetrics(), "Nothing is left for the core engine");
+    }
+}
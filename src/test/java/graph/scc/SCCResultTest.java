@@ -0,0 +1,72 @@
+package graph.scc;
+
+import graph.model.CSRGraph;
+import org.junit.jupiter.api.Test;
+import util.io.JSONParser;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SCCResult — the counting-sort layout, primitive accessors and the list view.
+ */
+public class SCCResultTest {
+
+    @Test
+    void testCountingSortLayout() {
+        SCCResult r = new SCCResult(new int[]{1, 0, 1, 2, 0}, 3);
+
+        assertEquals(3, r.size());
+        assertArrayEquals(new int[]{0, 2, 4, 5}, r.getCompStart());
+        assertArrayEquals(new int[]{1, 4, 0, 2, 3}, r.getMembers());
+        assertEquals(2, r.componentSize(1));
+        assertEquals(2, r.componentOf(3));
+        assertArrayEquals(new int[]{0, 2}, r.membersOf(1));
+        assertEquals(List.of(3), r.members(2).boxed().collect(Collectors.toList()));
+        assertEquals(2, r.largestComponentSize());
+        assertEquals(List.of(2, 2, 1), r.sizes());
+    }
+
+    @Test
+    void testListViewIsReadOnly() {
+        SCCResult r = new SCCResult(new int[]{1, 0, 1, 2, 0}, 3);
+        List<List<Integer>> comps = r.getComponents();
+
+        assertEquals(List.of(List.of(1, 4), List.of(0, 2), List.of(3)), comps);
+        assertSame(comps, r.getComponents());
+        assertThrows(UnsupportedOperationException.class, () -> comps.get(0).add(7));
+        assertThrows(IndexOutOfBoundsException.class, () -> comps.get(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> comps.get(2).get(1));
+        assertEquals("SCCs found: 3\nComponent 0 (size 2): [1, 4]\nComponent 1 (size 2): [0, 2]\n"
+                + "Component 2 (size 1): [3]\n", r.toString());
+    }
+
+    @Test
+    void testEmptyGraph() {
+        SCCResult r = new SCCResult(new int[0], 0);
+        assertEquals(0, r.size());
+        assertEquals(0, r.largestComponentSize());
+        assertTrue(r.getComponents().isEmpty());
+    }
+
+    @Test
+    void testEnginesProduceConsistentLayout() {
+        CSRGraph g = JSONParser.loadCSRGraph("data/large/large_mixed_scc.json");
+        for (SCCEngine engine : SCCEngine.values()) {
+            for (SCCResult r : List.of(engine.create(g).run(), engine.createTrimmed(g).run())) {
+                int[] start = r.getCompStart(), members = r.getMembers();
+                assertEquals(g.size(), members.length, engine.name());
+                assertEquals(g.size(), start[r.size()], engine.name());
+                for (int c = 0; c < r.size(); c++) {
+                    assertTrue(r.componentSize(c) > 0, engine + " component " + c);
+                    for (int k = start[c]; k < start[c + 1]; k++) {
+                        assertEquals(c, r.componentOf(members[k]), engine.name());
+                        if (k > start[c]) assertTrue(members[k - 1] < members[k], "members in increasing order");
+                    }
+                }
+            }
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package graph.scc;
 
+import graph.model.CSRGraph;
 import graph.model.Graph;
 import org.junit.jupiter.api.Test;
+import util.io.JSONParser;
 import static org.junit.jupiter.api.Assertions.*;
 
 public class SCCTest {
@@ -77,4 +79,40 @@ public class SCCTest {
         assertTrue(m.getCounter("DFS2 visits") > 0);
         assertTrue(m.getExecutionTime() > 0);
     }
+
+    @Test
+    void testIterativeMatchesRecursive() {
+        String[] files = {
+                "data/small/small_cyclic_1.json",
+                "data/medium/medium_multiple_scc.json",
+                "data/large/large_cyclic_dense.json",
+                "data/large/large_mixed_scc.json"
+        };
+        for (String file : files) {
+            Graph g = JSONParser.loadGraph(file);
+            SCCKosaraju rec = new SCCKosaraju(g, SCCKosaraju.Mode.RECURSIVE);
+            SCCKosaraju it = new SCCKosaraju(g, SCCKosaraju.Mode.ITERATIVE);
+            SCCResult a = rec.run();
+            SCCResult b = it.run();
+
+            assertEquals(a.getComponents(), b.getComponents(), file);
+            assertArrayEquals(a.getCompOfVertex(), b.getCompOfVertex(), file);
+            for (String c : new String[]{"DFS1 visits", "DFS1 edges", "DFS2 visits", "DFS2 edges"}) {
+                assertEquals(rec.getMetrics().getCounter(c), it.getMetrics().getCounter(c), file + " " + c);
+            }
+        }
+    }
+
+    @Test
+    void testLongChainDoesNotOverflowStack() {
+        int n = 500_000;
+        CSRGraph.Builder b = new CSRGraph.Builder(n, true);
+        for (int i = 0; i + 1 < n; i++) b.addEdge(i, i + 1, 1);
+        b.addEdge(n - 1, 0, 1); // close the chain into one big cycle
+
+        var scc = new SCCKosaraju(b.build()).run();
+
+        assertEquals(1, scc.size(), "A closed chain is a single component");
+        assertEquals(n, scc.getComponents().get(0).size());
+    }
 }
@@ -0,0 +1,113 @@
+package graph.topo;
+
+import graph.model.Graph;
+import org.junit.jupiter.api.Test;
+import util.metrics.Metrics;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for IncrementalTopoOrder (Pearce-Kelly).
+ */
+public class IncrementalTopoOrderTest {
+
+    private static void assertValidOrder(IncrementalTopoOrder t) {
+        int[] order = t.order();
+        boolean[] seen = new boolean[t.size()];
+        for (int p = 0; p < order.length; p++) {
+            assertEquals(p, t.position(order[p]));
+            assertFalse(seen[order[p]], "Vertex listed twice");
+            seen[order[p]] = true;
+        }
+        for (int u = 0; u < t.size(); u++) {
+            for (int i = 0; i < t.outDegree(u); i++) {
+                assertTrue(t.precedes(u, t.target(u, i)), "Edge " + u + "->" + t.target(u, i) + " points backwards");
+            }
+        }
+    }
+
+    private static boolean hasEdge(IncrementalTopoOrder t, int u, int v) {
+        for (int i = 0; i < t.outDegree(u); i++) if (t.target(u, i) == v) return true;
+        return false;
+    }
+
+    @Test
+    void testReordersOnBackwardEdge() {
+        IncrementalTopoOrder t = new IncrementalTopoOrder(4);
+        t.addEdge(3, 2);
+        t.addEdge(2, 1);
+        t.addEdge(1, 0);
+        assertValidOrder(t);
+        assertEquals(List.of(3, 2, 1, 0), t.toTopoResult().getOrder());
+        assertEquals(3, t.getMetrics().getCounter("Edges inserted"));
+        assertTrue(t.getMetrics().getCounter("Reorders") > 0);
+    }
+
+    @Test
+    void testCycleIsRejectedAndReported() {
+        IncrementalTopoOrder t = new IncrementalTopoOrder(5);
+        t.addEdge(0, 1);
+        t.addEdge(1, 2);
+        t.addEdge(2, 3);
+        int[] before = t.order();
+
+        CycleDetectedException e = assertThrows(CycleDetectedException.class, () -> t.addEdge(3, 1));
+        assertEquals(List.of(1, 2, 3), e.getCycle());
+        assertArrayEquals(before, t.order(), "A rejected edge must not change the order");
+        assertEquals(3, t.getEdgeCount());
+
+        assertThrows(CycleDetectedException.class, () -> t.addEdge(4, 4));
+        assertThrows(IllegalStateException.class, () -> t.addEdge(2, 0));
+    }
+
+    @Test
+    void testRandomInsertionsMatchKahn() {
+        Random rnd = new Random(7);
+        int n = 300;
+        IncrementalTopoOrder t = new IncrementalTopoOrder(n, new Metrics());
+        Graph accepted = new Graph(n, true);
+        int rejected = 0;
+        for (int k = 0; k < 3000; k++) {
+            int u = rnd.nextInt(n), v = rnd.nextInt(n);
+            try {
+                t.addEdge(u, v, k);
+                accepted.addEdge(u, v, k);
+            } catch (CycleDetectedException e) {
+                rejected++;
+                List<Integer> cycle = e.getCycle();
+                assertEquals(v, cycle.get(0));
+                assertEquals(u, cycle.get(cycle.size() - 1));
+                for (int i = 0; i + 1 < cycle.size(); i++) {
+                    assertTrue(hasEdge(t, cycle.get(i), cycle.get(i + 1)), "Cycle uses a missing edge");
+                }
+            }
+            if (k % 100 == 0) assertValidOrder(t);
+        }
+        assertTrue(rejected > 0);
+        assertValidOrder(t);
+        assertEquals(accepted.getEdgeCount(), t.getEdgeCount());
+        // the accepted edges form a DAG, so a full sort must succeed
+        assertEquals(n, TopoSort.kahn(t.toCSRGraph()).getOrder().size());
+    }
+
+    @Test
+    void testSeededFromExistingDag() {
+        Graph g = new Graph(6, true);
+        g.addEdge(5, 2, 1);
+        g.addEdge(5, 0, 1);
+        g.addEdge(4, 0, 1);
+        g.addEdge(4, 1, 1);
+        g.addEdge(2, 3, 1);
+        g.addEdge(3, 1, 1);
+
+        IncrementalTopoOrder t = IncrementalTopoOrder.of(g);
+        assertValidOrder(t);
+        assertEquals(6, t.getEdgeCount());
+        t.addEdge(1, 0);
+        assertValidOrder(t);
+        assertThrows(CycleDetectedException.class, () -> t.addEdge(3, 5));
+    }
+}
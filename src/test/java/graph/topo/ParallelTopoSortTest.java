@@ -0,0 +1,112 @@
+package graph.topo;
+
+import graph.model.CSRGraph;
+import graph.model.Graph;
+import org.junit.jupiter.api.Test;
+import util.metrics.Metrics;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ParallelTopoSort (level-synchronous Kahn).
+ */
+public class ParallelTopoSortTest {
+
+    /** Every edge must go to a later level, and every non-source must have a parent one level up. */
+    private static void assertLevels(CSRGraph g, LevelTopoResult res) {
+        assertEquals(g.size(), res.getOrder().size());
+        int[] levelOf = res.getLevelOf();
+        boolean[] hasParentAbove = new boolean[g.size()];
+        for (int u = 0; u < g.size(); u++) {
+            for (int i = 0; i < g.outDegree(u); i++) {
+                int v = g.target(u, i);
+                assertTrue(levelOf[u] < levelOf[v], "Edge " + u + "->" + v + " does not go down a level");
+                if (levelOf[v] == levelOf[u] + 1) hasParentAbove[v] = true;
+            }
+        }
+        for (int v = 0; v < g.size(); v++) {
+            assertTrue(levelOf[v] == 0 || hasParentAbove[v], "Vertex " + v + " placed too late");
+        }
+    }
+
+    private static CSRGraph randomDag(int n, int degree, long seed) {
+        Random rnd = new Random(seed);
+        CSRGraph.Builder b = new CSRGraph.Builder(n, true);
+        for (int u = 0; u + 1 < n; u++) {
+            for (int k = 0; k < degree; k++) b.addEdge(u, u + 1 + rnd.nextInt(Math.min(n - u - 1, 200)), 1);
+        }
+        return b.build();
+    }
+
+    @Test
+    void testSimpleLevels() {
+        Graph g = new Graph(6, true);
+        g.addEdge(5, 2, 1);
+        g.addEdge(5, 0, 1);
+        g.addEdge(4, 0, 1);
+        g.addEdge(4, 1, 1);
+        g.addEdge(2, 3, 1);
+        g.addEdge(3, 1, 1);
+
+        LevelTopoResult res = ParallelTopoSort.levels(g);
+        assertEquals(4, res.getLevelCount());
+        assertArrayEquals(new int[]{4, 5}, res.getLevel(0));
+        assertArrayEquals(new int[]{0, 2}, res.getLevel(1));
+        assertArrayEquals(new int[]{3}, res.getLevel(2));
+        assertArrayEquals(new int[]{1}, res.getLevel(3));
+        assertArrayEquals(new int[]{0, 2, 4, 5, 6}, res.getLevelStart());
+        assertEquals(4, res.getMetrics().getCounter("Levels"));
+        assertEquals(6, res.getMetrics().getCounter("Edges processed"));
+    }
+
+    @Test
+    void testParallelMatchesSequential() {
+        CSRGraph g = randomDag(20_000, 3, 5);
+        LevelTopoResult seq = ParallelTopoSort.levels(g, 1, new Metrics());
+        assertLevels(g, seq);
+        for (int threads : new int[]{2, 4}) {
+            // a tiny grain forces every level to be split across tasks
+            LevelTopoResult par = ParallelTopoSort.levels(g, threads, 16, Metrics.disabled());
+            assertEquals(seq.getOrder(), par.getOrder());
+            assertArrayEquals(seq.getLevelStart(), par.getLevelStart());
+        }
+        assertEquals(g.size(), TopoSort.kahn(g).getOrder().size());
+    }
+
+    @Test
+    void testSingleThreadStaysOnCallingWorker() throws Exception {
+        CSRGraph g = randomDag(20_000, 3, 5);
+        LevelTopoResult seq = ParallelTopoSort.levels(g, 1, Metrics.disabled());
+        ForkJoinPool outer = new ForkJoinPool(4);
+        try {
+            // the caller is a pool worker; parallelism 1 must still not fork into its pool
+            LevelTopoResult inside = outer.submit(() -> ParallelTopoSort.levels(g, 1, 16, Metrics.disabled())).get();
+            assertEquals(seq.getOrder(), inside.getOrder());
+            // the submitted task itself counts as one steal; forked levels would add dozens
+            assertTrue(outer.getStealCount() <= 1, "level tasks ran on other workers: " + outer.getStealCount());
+        } finally {
+            outer.shutdown();
+        }
+    }
+
+    @Test
+    void testCycleDetected() {
+        Graph g = new Graph(4, true);
+        g.addEdge(0, 1, 1);
+        g.addEdge(1, 2, 1);
+        g.addEdge(2, 1, 1);
+        g.addEdge(2, 3, 1);
+        assertThrows(IllegalStateException.class, () -> ParallelTopoSort.levels(g, 2, 1, new Metrics()));
+    }
+
+    @Test
+    void testEmptyAndIsolated() {
+        assertEquals(0, ParallelTopoSort.levels(new Graph(0, true)).getLevelCount());
+        LevelTopoResult res = ParallelTopoSort.levels(new Graph(3, true));
+        assertEquals(1, res.getLevelCount());
+        assertEquals(3, res.getLevelWidth(0));
+    }
+}
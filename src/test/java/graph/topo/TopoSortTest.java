@@ -66,4 +66,22 @@ public class TopoSortTest {
         assertThrows(IllegalStateException.class, () -> TopoSort.kahn(g),
                 "Cyclic graph should throw an exception");
     }
+
+    @Test
+    void testCallerSuppliedMetrics() {
+        Graph g = new Graph(4, true);
+        g.addEdge(0, 1, 1);
+        g.addEdge(1, 2, 1);
+        g.addEdge(0, 3, 1);
+
+        Metrics m = new Metrics();
+        TopoResult res = TopoSort.kahn(g, m);
+        assertSame(m, res.getMetrics());
+        assertEquals(3, m.getCounter("Edges processed"));
+        assertEquals(4, m.getCounter("Pops"));
+
+        TopoResult quiet = TopoSort.kahn(g, Metrics.disabled());
+        assertEquals(res.getOrder(), quiet.getOrder(), "Disabled metrics must not change the result");
+        assertEquals(0, quiet.getMetrics().getCounter("Edges processed"));
+    }
 }
@@ -0,0 +1,117 @@
+package util.dataGen;
+
+import graph.model.CSRGraph;
+import graph.scc.SCCEngine;
+import graph.scc.SCCResult;
+import graph.topo.ParallelTopoSort;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import util.dataGen.GraphFamilies.Family;
+import util.dataGen.GraphFamilies.Scale;
+import util.dataGen.GraphFamilies.SizeDistribution;
+import util.io.BinaryGraphFormat;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the synthetic graph families.
+ */
+public class GraphFamiliesTest {
+
+    @Test
+    void testRmatMassMatchesEnumeration() {
+        double top = 0.76;
+        int levels = 5, size = 1 << levels;
+        double expected = 0;
+        for (int v = 0; v <= size; v++) {
+            assertEquals(expected, GraphFamilies.rmatMass(v, levels, top), 1e-12, "v = " + v);
+            if (v == size) break;
+            double p = 1;
+            for (int l = 0; l < levels; l++) p *= (v >>> l & 1) == 0 ? top : 1 - top;
+            expected += p;
+        }
+        assertEquals(1, GraphFamilies.rmatMass(size, levels, top), 1e-12);
+    }
+
+    @Test
+    void testRmatIsSkewedAndReproducible(@TempDir Path dir) throws IOException {
+        EdgeModel model = GraphFamilies.rmat(100_000, 800_000, 0.57, 0.19, 0.19, 10);
+        CSRGraph g = StreamingGenerator.build(model, 5);
+        assertEquals(800_000, g.getEdgeCount());
+        int max = 0;
+        for (int u = 0; u < g.size(); u++) {
+            max = Math.max(max, g.outDegree(u));
+            for (int i = 0; i < g.outDegree(u); i++) assertNotEquals(u, g.target(u, i));
+        }
+        assertEquals(max, g.outDegree(0), "vertex 0 is the R-MAT hub");
+        assertTrue(max > 100 * 8, "power-law head: max out-degree " + max);
+
+        StreamingGenerator.write(model, 5, dir.resolve("rmat.bin"), 2);
+        CSRGraph read = BinaryGraphFormat.map(dir.resolve("rmat.bin")).toCSRGraph();
+        assertArrayEquals(g.offsets(), read.offsets());
+        assertArrayEquals(g.targets(), read.targets());
+        assertArrayEquals(g.weights(), read.weights());
+    }
+
+    @Test
+    void testLayeredHasExactlyDepthLevels() {
+        CSRGraph g = StreamingGenerator.build(GraphFamilies.layered(50, 40, 3, 10), 1);
+        assertEquals(2000, g.size());
+        assertEquals(6000, g.getEdgeCount());
+        for (int u = 0; u < g.size(); u++)
+            for (int i = 0; i < g.outDegree(u); i++) assertEquals(u / 50 + 1, g.target(u, i) / 50);
+        assertEquals(40, ParallelTopoSort.levels(g).getLevelCount());
+    }
+
+    @Test
+    void testPlantedComponentsAreRecovered() {
+        CSRGraph g = StreamingGenerator.build(GraphFamilies.plantedScc(10_000, 40_000,
+                SizeDistribution.fixed(8), 0.5, 10, 3), 3);
+        assertEquals(40_000, g.getEdgeCount());
+        SCCResult scc = SCCEngine.TARJAN.create(g).run();
+        assertEquals(1250, scc.getComponents().size());
+        for (int v = 0; v < g.size(); v++) assertEquals(scc.getCompOfVertex()[v / 8 * 8], scc.getCompOfVertex()[v]);
+
+        CSRGraph skewed = StreamingGenerator.build(GraphFamilies.plantedScc(20_000, 60_000,
+                SizeDistribution.powerLaw(1, 500, 1.5), 0.3, 10, 9), 9);
+        SCCResult parts = SCCEngine.KOSARAJU.create(skewed).run();
+        int largest = 0;
+        for (List<Integer> comp : parts.getComponents()) {
+            largest = Math.max(largest, comp.size());
+            // planted components are contiguous id ranges
+            assertEquals(comp.size() - 1, comp.stream().mapToInt(Integer::intValue).max().getAsInt()
+                    - comp.stream().mapToInt(Integer::intValue).min().getAsInt());
+        }
+        assertTrue(largest > 100 && largest <= 500, "largest " + largest);
+        assertThrows(IllegalArgumentException.class, () -> GraphFamilies.plantedScc(100, 10,
+                SizeDistribution.fixed(10), 0.5, 1, 0));
+    }
+
+    @Test
+    void testChain() {
+        CSRGraph open = StreamingGenerator.build(GraphFamilies.chain(100_000, false), 0);
+        CSRGraph closed = StreamingGenerator.build(GraphFamilies.chain(100_000, true), 0);
+        assertEquals(99_999, open.getEdgeCount());
+        assertEquals(100_000, SCCEngine.TARJAN.create(open).run().getComponents().size());
+        assertEquals(1, SCCEngine.TARJAN.create(closed).run().getComponents().size());
+        assertEquals(0, closed.target(99_999, 0));
+    }
+
+    @Test
+    void testEveryFamilyOnALadder() {
+        List<Scale> ladder = Scale.ladder(1_000, 16_000, 4, 4);
+        assertEquals(List.of(1_000, 4_000, 16_000), ladder.stream().map(Scale::vertices).toList());
+        for (Family f : Family.values()) {
+            for (Scale s : ladder) {
+                CSRGraph g = StreamingGenerator.build(f.model(s, 7), 7);
+                assertTrue(Math.abs(g.size() - s.vertices()) <= 2 * Math.sqrt(s.vertices()), f + " " + s);
+                if (f != Family.CHAIN && f != Family.LAYERED) assertEquals(s.edges(), g.getEdgeCount(), f + " " + s);
+            }
+        }
+        assertEquals(Family.PLANTED_SCC, Family.parse("planted-scc"));
+    }
+}
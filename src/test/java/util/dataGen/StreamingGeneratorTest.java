@@ -0,0 +1,84 @@
+package util.dataGen;
+
+import graph.model.CSRGraph;
+import graph.topo.TopoSort;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import util.io.BinaryGraphFormat;
+import util.io.StreamingGraphLoader;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for StreamingGenerator and the uniform EdgeModel.
+ */
+public class StreamingGeneratorTest {
+
+    private static void assertSameGraph(CSRGraph a, CSRGraph b) {
+        assertEquals(a.size(), b.size());
+        assertEquals(a.getEdgeCount(), b.getEdgeCount());
+        assertArrayEquals(a.offsets(), b.offsets());
+        assertArrayEquals(a.targets(), b.targets());
+        assertArrayEquals(a.weights(), b.weights());
+    }
+
+    @Test
+    void testBinaryAndJsonDescribeTheSameGraph(@TempDir Path dir) throws IOException {
+        // several shards, including vertices without edges
+        EdgeModel model = EdgeModel.uniform(200_000, 150_000, 9, false);
+        StreamingGenerator.write(model, 7, dir.resolve("g.bin"), 3);
+        StreamingGenerator.write(model, 7, dir.resolve("g.json"), 2);
+
+        CSRGraph bin = BinaryGraphFormat.map(dir.resolve("g.bin")).toCSRGraph();
+        CSRGraph json = StreamingGraphLoader.loadCSRGraph(dir.resolve("g.json"));
+        assertSameGraph(bin, json);
+        assertEquals(150_000, bin.getEdgeCount());
+        for (int u = 0; u < bin.size(); u++)
+            for (int i = 0; i < bin.outDegree(u); i++) {
+                assertNotEquals(u, bin.target(u, i));
+                assertTrue(bin.weight(u, i) >= 1 && bin.weight(u, i) <= 9);
+            }
+        try (var files = Files.list(dir)) {
+            assertEquals(2, files.count(), "shard temp files are removed");
+        }
+    }
+
+    @Test
+    void testOutputDependsOnlyOnSeed(@TempDir Path dir) throws IOException {
+        EdgeModel model = EdgeModel.uniform(5_000, 400_000, 100, false);
+        StreamingGenerator.write(model, 1, dir.resolve("a.bin"), 1);
+        StreamingGenerator.write(model, 1, dir.resolve("b.bin"), 4);
+        StreamingGenerator.write(model, 2, dir.resolve("c.bin"), 4);
+        assertEquals(-1, Files.mismatch(dir.resolve("a.bin"), dir.resolve("b.bin")));
+        assertNotEquals(-1, Files.mismatch(dir.resolve("a.bin"), dir.resolve("c.bin")));
+    }
+
+    @Test
+    void testAcyclicModel(@TempDir Path dir) throws IOException {
+        StreamingGenerator.write(EdgeModel.uniform(3_000, 20_000, 5, true), 3, dir.resolve("dag.bin"), 2);
+        CSRGraph g = BinaryGraphFormat.map(dir.resolve("dag.bin")).toCSRGraph();
+        assertEquals(20_000, g.getEdgeCount());
+        assertEquals(0, g.outDegree(g.size() - 1));
+        assertEquals(g.size(), TopoSort.kahn(g).getOrder().size());
+    }
+
+    @Test
+    void testModelContractIsChecked(@TempDir Path dir) {
+        EdgeModel liar = new EdgeModel() {
+            public int vertices() { return 4; }
+            public long edges() { return 2; }
+            public long edgesBefore(int v) { return v == 0 ? 0 : 2; }
+            public void generate(int lo, int hi, SplittableRandom rnd, EdgeSink sink) {
+                sink.edge(2, 3, 1);
+                sink.edge(1, 3, 1);   // out of source order
+            }
+        };
+        assertThrows(IllegalStateException.class, () -> StreamingGenerator.write(liar, 0, dir.resolve("x.bin"), 1));
+        assertThrows(IllegalArgumentException.class, () -> EdgeModel.uniform(1, 1, 1, false));
+    }
+}
@@ -0,0 +1,107 @@
+package util.io;
+
+import graph.model.CSRGraph;
+import graph.scc.SCCKosaraju;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for BinaryGraphFormat — round trip, mapping and header validation.
+ */
+public class BinaryGraphFormatTest {
+
+    @TempDir
+    Path tmp;
+
+    @Test
+    void testRoundTripThroughMapping() throws Exception {
+        CSRGraph g = JSONParser.loadCSRGraph("data/medium/medium_multiple_scc.json");
+        Path file = tmp.resolve("graph.bin");
+        BinaryGraphFormat.write(g, file);
+
+        BinaryGraphFormat.MappedGraph mapped = BinaryGraphFormat.map(file);
+        assertEquals(g.size(), mapped.size());
+        assertEquals(g.getEdgeCount(), mapped.getEdgeCount());
+        assertTrue(mapped.isDirected());
+        for (int u = 0; u < g.size(); u++) {
+            assertEquals(g.outDegree(u), mapped.outDegree(u));
+            for (int i = 0; i < g.outDegree(u); i++) {
+                assertEquals(g.target(u, i), mapped.target(u, i));
+                assertEquals(g.weight(u, i), mapped.weight(u, i));
+            }
+        }
+
+        CSRGraph copy = mapped.toCSRGraph();
+        assertArrayEquals(g.offsets(), copy.offsets());
+        assertArrayEquals(g.targets(), copy.targets());
+        assertArrayEquals(g.weights(), copy.weights());
+
+        assertArrayEquals(new SCCKosaraju(g).run().getCompOfVertex(),
+                new SCCKosaraju(mapped).run().getCompOfVertex());
+
+        CSRGraph rev = mapped.getReversed();
+        assertSame(rev, mapped.getReversed(), "the transpose is built once");
+        assertArrayEquals(g.getReversed().offsets(), rev.offsets());
+        assertArrayEquals(g.getReversed().targets(), rev.targets());
+        assertArrayEquals(g.getReversed().weights(), rev.weights());
+    }
+
+    @Test
+    void testConvertJson() throws Exception {
+        Path bin = tmp.resolve("dag.bin");
+        BinaryGraphFormat.convertJson(Path.of("data/small/small_dag_2.json"), bin);
+
+        var mapped = BinaryGraphFormat.map(bin);
+        assertEquals(10, mapped.size());
+        assertEquals(9, mapped.getEdgeCount());
+        assertEquals(Files.size(bin), 24 + (11 + 2 * 9) * 4L);
+    }
+
+    @Test
+    void testRunConvertsOnlyJsonFiles() throws Exception {
+        PrintStream console = new PrintStream(new ByteArrayOutputStream(), true);
+        Path json = tmp.resolve("dag.json");
+        Files.copy(Path.of("data/small/small_dag_2.json"), json);
+        Files.writeString(tmp.resolve("graph.txt"), "not a graph");
+
+        assertEquals(0, BinaryGraphFormat.run(new String[]{json.toString()}, console));
+        assertEquals(10, BinaryGraphFormat.map(tmp.resolve("dag.bin")).size());
+        assertEquals(2, BinaryGraphFormat.run(new String[]{tmp.resolve("graph.txt").toString()}, console));
+        assertEquals(2, BinaryGraphFormat.run(new String[]{tmp.resolve("a.js").toString()}, console));
+        assertFalse(Files.exists(tmp.resolve("gr.bin")));
+        assertEquals(1, BinaryGraphFormat.run(new String[]{tmp.resolve("missing.json").toString()}, console));
+        assertEquals(2, BinaryGraphFormat.run(new String[0], console));
+    }
+
+    @Test
+    void testUndirectedGraph() throws Exception {
+        CSRGraph g = new CSRGraph.Builder(3, false).addEdge(0, 1, 2).addEdge(1, 2, 5).build();
+        Path file = tmp.resolve("undirected.bin");
+        BinaryGraphFormat.write(g, file);
+
+        var mapped = BinaryGraphFormat.map(file);
+        assertFalse(mapped.isDirected());
+        assertEquals(2, mapped.getEdgeCount());
+        assertEquals(2, mapped.outDegree(1));
+    }
+
+    @Test
+    void testRejectsInvalidFiles() throws Exception {
+        Path junk = tmp.resolve("junk.bin");
+        Files.write(junk, new byte[64]);
+        assertThrows(IllegalArgumentException.class, () -> BinaryGraphFormat.map(junk));
+
+        Path truncated = tmp.resolve("truncated.bin");
+        BinaryGraphFormat.write(new CSRGraph.Builder(2, true).addEdge(0, 1, 1).build(), truncated);
+        byte[] bytes = Files.readAllBytes(truncated);
+        Files.write(truncated, java.util.Arrays.copyOf(bytes, bytes.length - 4));
+        assertThrows(IllegalArgumentException.class, () -> BinaryGraphFormat.map(truncated));
+    }
+}
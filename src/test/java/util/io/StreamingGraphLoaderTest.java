@@ -0,0 +1,101 @@
+package util.io;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import graph.model.CSRGraph;
+import graph.model.Graph;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for StreamingGraphLoader.
+ */
+public class StreamingGraphLoaderTest {
+
+    private static InputStream json(String s) {
+        return new ByteArrayInputStream(s.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testFieldsInAnyOrder() throws Exception {
+        String text = "{\"edges\": [{\"v\": 1, \"u\": 0, \"w\": 4}, {\"u\": 1, \"v\": 2}],"
+                + " \"source\": 0, \"n\": 3, \"directed\": true}";
+
+        Graph g = StreamingGraphLoader.loadGraph(json(text));
+        assertEquals(3, g.size());
+        assertEquals(2, g.getEdgeCount());
+        assertEquals(4, g.weight(0, 0));
+        assertEquals(1, g.weight(1, 0), "Missing weight defaults to 1");
+
+        CSRGraph csr = StreamingGraphLoader.loadCSRGraph(json(text));
+        assertEquals(3, csr.size());
+        assertEquals(2, csr.target(1, 0));
+    }
+
+    @Test
+    void testUndirected() throws Exception {
+        Graph g = StreamingGraphLoader.loadGraph(json(
+                "{\"directed\": false, \"n\": 2, \"edges\": [{\"u\": 0, \"v\": 1, \"w\": 3}]}"));
+        assertEquals(1, g.getEdgeCount());
+        assertEquals(0, g.target(1, 0));
+    }
+
+    @Test
+    void testDirectedAsString() throws Exception {
+        // getAsBoolean() in the tree-based parser also took the flag as a string
+        String text = "{\"directed\": \"true\", \"n\": 2, \"edges\": [{\"u\": 0, \"v\": 1}]}";
+        assertTrue(StreamingGraphLoader.loadCSRGraph(json(text)).isDirected());
+        assertFalse(StreamingGraphLoader.loadCSRGraph(json(text.replace("\"true\"", "\"yes\""))).isDirected());
+    }
+
+    @Test
+    void testValidationErrors() {
+        var missingN = assertThrows(IllegalArgumentException.class,
+                () -> StreamingGraphLoader.loadGraph(json("{\"directed\": true, \"edges\": []}")));
+        assertEquals("Missing field 'n' (number of vertices).", missingN.getMessage());
+
+        var missingDirected = assertThrows(IllegalArgumentException.class,
+                () -> StreamingGraphLoader.loadCSRGraph(json("{\"n\": 1, \"edges\": []}")));
+        assertEquals("Missing field 'directed' (true/false).", missingDirected.getMessage());
+
+        var missingEdges = assertThrows(IllegalArgumentException.class,
+                () -> StreamingGraphLoader.loadGraph(json("{\"n\": 1, \"directed\": true}")));
+        assertEquals("Missing field 'edges' (edge list).", missingEdges.getMessage());
+
+        var badEdge = assertThrows(IllegalArgumentException.class,
+                () -> StreamingGraphLoader.loadGraph(json(
+                        "{\"n\": 2, \"directed\": true, \"edges\": [{\"u\": 0}]}")));
+        assertEquals("Edge missing 'u' or 'v' field: {\"u\":0} (edge #0)", badEdge.getMessage());
+    }
+
+    @Test
+    void testNumbersReadLikeGsonTree() throws Exception {
+        // the tree-based parser used getAsInt(): fractions truncate, numeric strings parse
+        String text = "{\"n\": 3, \"directed\": true, \"edges\": ["
+                + "{\"u\": 0, \"v\": 1, \"w\": 2.5}, {\"u\": \"1\", \"v\": 2.0, \"w\": \"7\"}]}";
+        Graph streamed = StreamingGraphLoader.loadGraph(json(text));
+        assertEquals(2, streamed.weight(0, 0));
+        assertEquals(2, streamed.target(1, 0));
+        assertEquals(7, streamed.weight(1, 0));
+
+        JsonObject tree = JsonParser.parseString(text).getAsJsonObject();
+        assertEquals(tree.getAsJsonArray("edges").get(0).getAsJsonObject().get("w").getAsInt(), streamed.weight(0, 0));
+    }
+
+    @Test
+    void testMatchesJSONParserOnDataset() throws Exception {
+        Path path = Path.of("data/large/large_cyclic_dense.json");
+        CSRGraph streamed = StreamingGraphLoader.loadCSRGraph(path);
+        CSRGraph copied = CSRGraph.fromGraph(StreamingGraphLoader.loadGraph(path));
+
+        assertArrayEquals(copied.offsets(), streamed.offsets());
+        assertArrayEquals(copied.targets(), streamed.targets());
+        assertArrayEquals(copied.weights(), streamed.weights());
+    }
+}
@@ -0,0 +1,64 @@
+package util.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for Metrics — counter handles and the disabled instance.
+ */
+public class MetricsTest {
+
+    @Test
+    void testHandlesAndNamesShareCounters() {
+        Metrics m = new Metrics();
+        int edges = m.register("Edges processed");
+        assertEquals(edges, m.register("Edges processed"), "Registering twice returns the same handle");
+
+        m.increment(edges);
+        m.add(edges, 4);
+        m.incrementCounter("Edges processed");
+
+        assertEquals(6, m.get(edges));
+        assertEquals(6, m.getCounter("Edges processed"));
+        assertEquals(0, m.getCounter("Unknown"));
+    }
+
+    @Test
+    void testSnapshotKeepsRegistrationOrder() {
+        Metrics m = new Metrics();
+        m.add(m.register("Pushes"), 3);
+        m.register("Pops");
+        m.addToCounter("Edges processed", 7);
+
+        assertEquals(List.of("Pushes", "Pops", "Edges processed"), List.copyOf(m.snapshot().keySet()));
+        assertEquals(List.of(3L, 0L, 7L), List.copyOf(m.snapshot().values()));
+    }
+
+    @Test
+    void testManyCounters() {
+        Metrics m = new Metrics();
+        for (int i = 0; i < 100; i++) m.add(m.register("c" + i), i);
+        for (int i = 0; i < 100; i++) assertEquals(i, m.getCounter("c" + i));
+    }
+
+    @Test
+    void testDisabledDiscardsEverything() {
+        Metrics m = Metrics.disabled();
+        assertFalse(m.isEnabled());
+
+        int h = m.register("Edges processed");
+        m.increment(h);
+        m.addToCounter("Pushes", 10);
+        m.startTimer();
+        m.stopTimer();
+
+        assertEquals(0, m.get(h));
+        assertEquals(0, m.getCounter("Pushes"));
+        assertEquals(0, m.getExecutionTime());
+        assertTrue(m.snapshot().isEmpty());
+        assertSame(m, Metrics.disabled());
+    }
+}